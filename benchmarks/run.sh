@@ -0,0 +1,12 @@
+#!/bin/sh
+# Build the library and the benchmarks, then run JMH with the allocation profiler.
+# Arguments are given to JMH, for example:
+#   benchmarks/run.sh                          all benchmarks
+#   benchmarks/run.sh HelpersBenchmark -p corpus=EPISODES
+#   benchmarks/run.sh -wi 1 -i 2 FacadeBenchmark
+# Results are written to benchmarks/target/jmh-result.json to be compared between two versions.
+set -e
+cd "$(dirname "$0")/.."
+mvn -B -q install -DskipTests
+mvn -B -q -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar -prof gc -rf json -rff benchmarks/target/jmh-result.json "$@"
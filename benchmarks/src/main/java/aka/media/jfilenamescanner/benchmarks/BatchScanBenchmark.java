@@ -0,0 +1,87 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aka.media.jfilenamescanner.BatchScanner;
+import aka.media.jfilenamescanner.ScanResult;
+import aka.media.jfilenamescanner.ScannerEngine;
+
+/**
+ * Throughput of {@link BatchScanner} for an increasing number of threads.
+ *
+ * Compare the scores of the parallelism values: on a machine with enough cores the time per batch should drop close to 1 / parallelism.
+ *
+ * @author Charlotte
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchScanBenchmark {
+
+    private static final String[] TEMPLATES = {
+            "The.Office.US.S%02dE%02d.720p.HDTV.x264.mkv",
+            "Breaking.Bad.S%02dE%02d.Pilot.1080p.BluRay.x264-DEMAND.mkv",
+            "Lost %dx%02d Walkabout FRENCH DVDRip XviD.avi",
+            "Dexter.s%02d.e%02d.HDTV.avi",
+            "Game of Thrones - Season %d Episode %d - The Rains of Castamere [1080p].mkv",
+            "Alpha.Dog.%d%03d.Multi.720p.BluRay.x264.mkv" };
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    @Param({ "10000" })
+    public int size;
+
+    private List<String> names;
+    private BatchScanner batchScanner;
+
+    /**
+     * Build the corpus and the scanner.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.names = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            final var template = TEMPLATES[i % TEMPLATES.length];
+            this.names.add(String.format(template, 1 + i % 9, i % 1000));
+        }
+        this.batchScanner = new BatchScanner(ScannerEngine.getDefault(), this.parallelism);
+    }
+
+    /**
+     * Release the threads of the scanner.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.batchScanner.close();
+    }
+
+    /**
+     * Scan of the whole corpus.
+     *
+     * @return results
+     */
+    @Benchmark
+    public List<ScanResult> scanAll() {
+        return this.batchScanner.scanAll(this.names);
+    }
+}
@@ -0,0 +1,100 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corpora of names used by the benchmarks.
+ *
+ * @author Charlotte
+ */
+public enum Corpus {
+
+    /**
+     * Movie releases with a year.
+     */
+    MOVIES(
+            "28 Jours Plus Tard 2002 Multi  1080p BluRay HDlight.x264~Tonyk~.mkv",
+            "3 Idiots (2009) 1080p BRRiP x264 AAC-AMEET6233 (T.M.R.G)",
+            "500 Days of Summer (2009) [1080] BluRay MULTi x264-PopHD.mkv",
+            "99 Francs 2007 BluRay 1080p x264-Nyu.mkv",
+            "A La Recherche Du Bonheur (2006) [1080p] BluRay MULTi x264-PopHD (Pursuit of Happyness).mkv",
+            "Alceste A Bicyclette 2013 Mkv x264 HD 720p FRENCH AAC 5.1 Subs FR Forc ENG 1280X692 Sprlove.mkv",
+            "Alpha.Dog.2006.Multi.720p.BluRay.x264.mkv",
+            "Star Wars Episode IV (1977) [1080p] MULTi BluRay x264-PopHD.mkv"),
+
+    /**
+     * TV show episodes.
+     */
+    EPISODES(
+            "The.Office.US.S05E10.720p.HDTV.x264.mkv",
+            "Breaking.Bad.S01E01.Pilot.1080p.BluRay.x264-DEMAND.mkv",
+            "Lost 1x05 Walkabout FRENCH DVDRip XviD.avi",
+            "Dexter.s02.e03.HDTV.avi",
+            "Game of Thrones - Season 3 Episode 9 - The Rains of Castamere (2013) [1080p].mkv",
+            "Mr.Robot.S03E01.REPACK.720p.WEB-DL.x265.mkv",
+            "the_wire_s04_e12.avi",
+            "Friends.S10E17E18.The.Last.One.DVDRip.mkv"),
+
+    /**
+     * Anime episodes, numbered without season.
+     */
+    ANIME(
+            "Naruto.Episode.125.VOSTFR.avi",
+            "[Group] Naruto Shippuden - 301 [720p].mkv",
+            "One.Piece.E845.VOSTFR.1080p.mkv",
+            "[SubGroup] Bleach - 012 (1280x720 x264 AAC).mkv",
+            "Dragon Ball Z 045 VF.avi",
+            "Fullmetal Alchemist Brotherhood Ep 05 [1080p].mkv",
+            "Death.Note.Ep.03.VOSTFR.HD.mkv",
+            "[HorribleSubs] Boku no Hero Academia - 63 [720p].mkv"),
+
+    /**
+     * Movies, episodes and anime together.
+     */
+    MIXED(),
+
+    /**
+     * Names of the {@link CorpusGenerator}, seed 42.
+     */
+    GENERATED();
+
+    private final String[] names;
+
+    Corpus(final String... names) {
+        this.names = names;
+    }
+
+    /**
+     * Get names of this corpus.
+     *
+     * @param size number of names, the names of the corpus are repeated if needed
+     * @return names
+     */
+    public String[] getNames(final int size) {
+        final var all = getAllNames();
+        final var result = new String[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = all.get(i % all.size());
+        }
+        return result;
+    }
+
+    private List<String> getAllNames() {
+        final var result = new ArrayList<String>();
+        if (this == GENERATED) {
+            for (final LabeledName name : new CorpusGenerator(42).next(4096)) {
+                result.add(name.getName());
+            }
+        } else if (this == MIXED) {
+            for (int i = 0; i < MOVIES.names.length; i++) {
+                result.add(MOVIES.names[i]);
+                result.add(EPISODES.names[i]);
+                result.add(ANIME.names[i]);
+            }
+        } else {
+            result.addAll(List.of(this.names));
+        }
+        return result;
+    }
+}
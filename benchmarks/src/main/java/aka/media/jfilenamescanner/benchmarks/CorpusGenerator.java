@@ -0,0 +1,299 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import aka.media.jfilenamescanner.ScannerEngine;
+
+/**
+ * Deterministic generator of scene-style movie and episode names.
+ *
+ * The same seed always gives the same names. Movies have a year (plain, in brackets or in parentheses) and junk tokens taken from
+ * {@link ScannerEngine#DEFAULT_NAME_FILTERS}; episodes use the styles of the {@link aka.media.jfilenamescanner.constants.TvShowPattern} (S01E02, s01.e02, 1x02, 102, Season 1 Episode 2,
+ * Saison 1 Ep 2, S01 Episode 02, 01 002) and anime numbering (Ep 02), and are placed in season folders (Season 1, Saison 01, S01). Each name comes with the values it was built from.
+ *
+ * Command line: <code>CorpusGenerator [--seed N] [--count N] [--episodes RATIO] [--list FILE] [--tree DIRECTORY]</code>, the list is a tab separated file (see
+ * {@link LabeledName#toLine()}), the tree is made of empty files.
+ *
+ * @author Charlotte
+ */
+public final class CorpusGenerator {
+
+    // Title words, none of them is removed by a filter of ScannerEngine.DEFAULT_NAME_FILTERS: the expected title must stay in the scanned name
+    private static final String[] WORDS = { "the", "last", "night", "city", "dark", "blue", "river", "house", "of", "cards", "king", "queen", "dead", "man", "walking", "star", "war",
+            "lost", "world", "office", "good", "bad", "wire", "black", "mirror", "game", "thrones", "summer", "days", "winter", "fire", "ice", "love", "story", "american", "golden",
+            "kiss", "ghost", "planet", "earth", "secret", "garden", "silent", "hill", "iron", "heart", "little", "big", "shadow", "empire", "lady", "bird", "jour", "nuit", "amour" };
+
+    private static final String[] SEPARATORS = { ".", " ", "_" };
+
+    private static final String[] EXTENSIONS = { "mkv", "avi", "mp4" };
+
+    private static final String[] GROUPS = { "DEMAND", "PopHD", "Tonyk", "LOL", "DIMENSION", "SPARKS", "NoTag" };
+
+    private static final List<String> JUNK_TOKENS = getJunkTokens();
+
+    private final Random random;
+    private final double episodeRatio;
+
+    /**
+     * Constructor, half movies and half episodes.
+     *
+     * @param seed seed of the generator
+     */
+    public CorpusGenerator(final long seed) {
+        this(seed, 0.5);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param seed seed of the generator
+     * @param episodeRatio ratio of episodes, between 0 and 1
+     */
+    public CorpusGenerator(final long seed, final double episodeRatio) {
+        this.random = new Random(seed);
+        this.episodeRatio = episodeRatio;
+    }
+
+    /**
+     * Generate the next name.
+     *
+     * @return labeled name
+     */
+    public LabeledName next() {
+        return this.random.nextDouble() < this.episodeRatio ? nextEpisode() : nextMovie();
+    }
+
+    /**
+     * Generate names.
+     *
+     * @param count number of names
+     * @return labeled names
+     */
+    public List<LabeledName> next(final int count) {
+        final var result = new ArrayList<LabeledName>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(next());
+        }
+        return result;
+    }
+
+    private LabeledName nextMovie() {
+        final var title = nextTitle();
+        final var year = Integer.toString(1930 + this.random.nextInt(95));
+        final var separator = pick(SEPARATORS);
+        final var sb = new StringBuilder(title.replace(" ", separator));
+        switch (this.random.nextInt(3)) {
+            case 0:
+                sb.append(' ').append('(').append(year).append(')');
+                break;
+            case 1:
+                sb.append(' ').append('[').append(year).append(']');
+                break;
+            default:
+                sb.append(separator).append(year);
+                break;
+        }
+        appendJunk(sb, separator);
+        sb.append('.').append(pick(EXTENSIONS));
+        return new LabeledName(sb.toString(), "Movies", false, title, year, -1, -1);
+    }
+
+    private LabeledName nextEpisode() {
+        final var title = nextTitle();
+        final var season = 1 + this.random.nextInt(12);
+        final var episode = 1 + this.random.nextInt(24);
+        final var separator = pick(SEPARATORS);
+        final var sb = new StringBuilder(title.replace(" ", separator)).append(separator);
+        var episodeSeason = season;
+        switch (this.random.nextInt(9)) {
+            case 0:
+                sb.append(String.format("S%02dE%02d", Integer.valueOf(season), Integer.valueOf(episode)));
+                break;
+            case 1:
+                sb.append(String.format("s%02d.e%02d", Integer.valueOf(season), Integer.valueOf(episode)));
+                break;
+            case 2:
+                sb.append(season).append('x').append(String.format("%02d", Integer.valueOf(episode)));
+                break;
+            case 3:
+                sb.append(season).append(String.format("%02d", Integer.valueOf(episode)));
+                break;
+            case 4:
+                sb.append("Season ").append(season).append(" Episode ").append(episode);
+                break;
+            case 5:
+                sb.append("Saison ").append(season).append(" Ep ").append(episode);
+                break;
+            case 6:
+                sb.append(String.format("S%02d Episode %02d", Integer.valueOf(season), Integer.valueOf(episode)));
+                break;
+            case 7:
+                sb.append(String.format("%02d %03d", Integer.valueOf(season), Integer.valueOf(episode)));
+                break;
+            default:
+                // Anime style, numbered without season
+                episodeSeason = 1;
+                sb.append("Ep ").append(String.format("%02d", Integer.valueOf(episode)));
+                break;
+        }
+        appendJunk(sb, separator);
+        sb.append('.').append(pick(EXTENSIONS));
+        final var folder = capitalize(title) + '/' + nextSeasonFolder(episodeSeason);
+        return new LabeledName(sb.toString(), folder, true, title, null, episodeSeason, episode);
+    }
+
+    private String nextTitle() {
+        final var count = 1 + this.random.nextInt(4);
+        final var sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(capitalize(pick(WORDS)));
+        }
+        return sb.toString();
+    }
+
+    private String nextSeasonFolder(final int season) {
+        switch (this.random.nextInt(3)) {
+            case 0:
+                return "Season " + season;
+            case 1:
+                return String.format("Saison %02d", Integer.valueOf(season));
+            default:
+                return String.format("S%02d", Integer.valueOf(season));
+        }
+    }
+
+    private void appendJunk(final StringBuilder sb, final String separator) {
+        final var count = this.random.nextInt(5);
+        for (int i = 0; i < count; i++) {
+            var token = JUNK_TOKENS.get(this.random.nextInt(JUNK_TOKENS.size()));
+            if (this.random.nextBoolean()) {
+                token = token.toUpperCase(Locale.ROOT);
+            }
+            sb.append(separator).append(token);
+        }
+        if (this.random.nextInt(3) == 0) {
+            sb.append('-').append(pick(GROUPS));
+        }
+    }
+
+    private String pick(final String[] values) {
+        return values[this.random.nextInt(values.length)];
+    }
+
+    private static String capitalize(final String str) {
+        return str.isEmpty() ? str : Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    }
+
+    private static List<String> getJunkTokens() {
+        final var result = new ArrayList<String>();
+        for (final String filter : ScannerEngine.DEFAULT_NAME_FILTERS) {
+            // Only the filters that are plain words, not the regular expressions
+            if (filter.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '-') && !result.contains(filter.toLowerCase(Locale.ROOT))) {
+                result.add(filter.toLowerCase(Locale.ROOT));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the given names in a tab separated file.
+     *
+     * @param names labeled names
+     * @param file file to write
+     * @throws IOException if the file can not be written
+     */
+    public static void writeList(final List<LabeledName> names, final Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (final LabeledName name : names) {
+                writer.write(name.toLine());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Create an empty file for each of the given names in its folder under the given root, the duplicated names are created once.
+     *
+     * @param names labeled names
+     * @param root root of the library
+     * @return created files
+     * @throws IOException if a file can not be created
+     */
+    public static List<Path> writeTree(final List<LabeledName> names, final Path root) throws IOException {
+        final var result = new ArrayList<Path>(names.size());
+        for (final LabeledName name : names) {
+            var folder = root;
+            for (final String part : name.getFolder().split("/")) {
+                folder = folder.resolve(part);
+            }
+            Files.createDirectories(folder);
+            try {
+                result.add(Files.createFile(folder.resolve(name.getName())));
+            } catch (final FileAlreadyExistsException e) {
+                // same name generated twice
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generate a corpus from the command line.
+     *
+     * @param args [--seed N] [--count N] [--episodes RATIO] [--list FILE] [--tree DIRECTORY]
+     * @throws IOException if the list or the tree can not be written
+     */
+    public static void main(final String[] args) throws IOException {
+        var seed = 42L;
+        var count = 1_000_000;
+        var episodeRatio = 0.5;
+        Path list = null;
+        Path tree = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--seed":
+                    seed = Long.parseLong(args[i + 1]);
+                    break;
+                case "--count":
+                    count = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--episodes":
+                    episodeRatio = Double.parseDouble(args[i + 1]);
+                    break;
+                case "--list":
+                    list = Paths.get(args[i + 1]);
+                    break;
+                case "--tree":
+                    tree = Paths.get(args[i + 1]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        final var names = new CorpusGenerator(seed, episodeRatio).next(count);
+        if (list != null) {
+            writeList(names, list);
+        }
+        if (tree != null) {
+            writeTree(names, tree);
+        }
+        if (list == null && tree == null) {
+            for (final LabeledName name : names) {
+                System.out.println(name.toLine());
+            }
+        }
+    }
+}
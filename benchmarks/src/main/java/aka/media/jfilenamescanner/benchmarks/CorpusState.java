@@ -0,0 +1,71 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Names of the benchmarked corpus, one name per benchmark operation.
+ *
+ * @author Charlotte
+ */
+@State(Scope.Thread)
+public class CorpusState {
+
+    @Param({ "MOVIES", "EPISODES", "ANIME", "MIXED", "GENERATED" })
+    public Corpus corpus;
+
+    @Param({ "1024" })
+    public int size;
+
+    private String[] names;
+    private byte[][] bytes;
+    private int index;
+
+    /**
+     * Load the names of the corpus.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        this.names = this.corpus.getNames(this.size);
+        this.bytes = new byte[this.names.length][];
+        for (int i = 0; i < this.names.length; i++) {
+            this.bytes[i] = this.names[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Get the names of the corpus.
+     *
+     * @return names
+     */
+    public String[] getNames() {
+        return this.names;
+    }
+
+    /**
+     * Get the next name of the corpus.
+     *
+     * @return name
+     */
+    public String next() {
+        final var result = this.names[this.index];
+        this.index = this.index + 1 == this.names.length ? 0 : this.index + 1;
+        return result;
+    }
+
+    /**
+     * Get the UTF-8 bytes of the next name of the corpus, encoded once when the corpus is loaded.
+     *
+     * @return UTF-8 bytes of the name
+     */
+    public byte[] nextBytes() {
+        final var result = this.bytes[this.index];
+        this.index = this.index + 1 == this.bytes.length ? 0 : this.index + 1;
+        return result;
+    }
+}
@@ -0,0 +1,110 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aka.media.jfilenamescanner.JFileNameScanner;
+import aka.media.jfilenamescanner.ScanResult;
+
+/**
+ * Throughput of each {@link JFileNameScanner} entry point for names, one name of the corpus per operation.
+ *
+ * @author Charlotte
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FacadeBenchmark {
+
+    /**
+     * {@link JFileNameScanner#scan(String)}.
+     *
+     * @param corpus corpus
+     * @return result
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public ScanResult scan(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.scan(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getMovieName(String)}.
+     *
+     * @param corpus corpus
+     * @return movie name
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public String movieName(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.getMovieName(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getMovieYear(String)}.
+     *
+     * @param corpus corpus
+     * @return movie year
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public String movieYear(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.getMovieYear(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getTVShowName(String)}.
+     *
+     * @param corpus corpus
+     * @return TV show name
+     */
+    @Benchmark
+    public String tvShowName(final CorpusState corpus) {
+        return JFileNameScanner.getTVShowName(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getTVShowYear(String)}.
+     *
+     * @param corpus corpus
+     * @return TV show year
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public String tvShowYear(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.getTVShowYear(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getSeasonOfTVShow(String)}.
+     *
+     * @param corpus corpus
+     * @return season
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public int season(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.getSeasonOfTVShow(corpus.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getEpisodeOfTVShow(String)}.
+     *
+     * @param corpus corpus
+     * @return episode
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public int episode(final CorpusState corpus) throws Exception {
+        return JFileNameScanner.getEpisodeOfTVShow(corpus.next());
+    }
+}
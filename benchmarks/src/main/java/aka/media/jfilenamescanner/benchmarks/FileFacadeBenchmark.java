@@ -0,0 +1,141 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aka.media.jfilenamescanner.JFileNameScanner;
+import aka.media.jfilenamescanner.LibraryScanner;
+import aka.media.jfilenamescanner.ScanResult;
+import aka.media.jfilenamescanner.ScannerEngine;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+import aka.media.jfilenamescanner.helpers.TVShowNameHelper;
+
+/**
+ * Throughput of each {@link JFileNameScanner} entry point for files, one file of the library per operation, and of a whole library scan.
+ *
+ * @author Charlotte
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileFacadeBenchmark {
+
+    /**
+     * {@link TVShowNameHelper#getTvShowName()} of a file.
+     *
+     * @param library library
+     * @return TV show name
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public String tvShowNameHelper(final LibraryState library) throws Exception {
+        return new TVShowNameHelper(library.next(), new ScanContext(ScannerEngine.getDefault())).getTvShowName();
+    }
+
+    /**
+     * {@link JFileNameScanner#scan(java.io.File)}.
+     *
+     * @param library library
+     * @return result
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public ScanResult scan(final LibraryState library) throws Exception {
+        return JFileNameScanner.scan(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getMovieName(java.io.File)}.
+     *
+     * @param library library
+     * @return movie name
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public String movieName(final LibraryState library) throws Exception {
+        return JFileNameScanner.getMovieName(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getMovieYear(java.io.File)}.
+     *
+     * @param library library
+     * @return movie year
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public String movieYear(final LibraryState library) throws Exception {
+        return JFileNameScanner.getMovieYear(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getTVShowName(java.io.File)}.
+     *
+     * @param library library
+     * @return TV show name
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public String tvShowName(final LibraryState library) throws Exception {
+        return JFileNameScanner.getTVShowName(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getTVShowYear(java.io.File)}.
+     *
+     * @param library library
+     * @return TV show year
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public String tvShowYear(final LibraryState library) throws Exception {
+        return JFileNameScanner.getTVShowYear(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getSeasonOfTVShow(java.io.File)}.
+     *
+     * @param library library
+     * @return season
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public int season(final LibraryState library) throws Exception {
+        return JFileNameScanner.getSeasonOfTVShow(library.next());
+    }
+
+    /**
+     * {@link JFileNameScanner#getEpisodeOfTVShow(java.io.File)}.
+     *
+     * @param library library
+     * @return episode
+     * @throws Exception if the file name is empty
+     */
+    @Benchmark
+    public int episode(final LibraryState library) throws Exception {
+        return JFileNameScanner.getEpisodeOfTVShow(library.next());
+    }
+
+    /**
+     * {@link LibraryScanner#scan(java.nio.file.Path)} of the whole library.
+     *
+     * @param library library
+     * @return results
+     * @throws Exception if a file can not be scanned
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public List<ScanResult> libraryScan(final LibraryState library) throws Exception {
+        return new LibraryScanner(ScannerEngine.getDefault()).scan(library.getRoot());
+    }
+}
@@ -0,0 +1,144 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import aka.media.jfilenamescanner.ScannerEngine;
+import aka.media.jfilenamescanner.helpers.MovieHelper;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+import aka.media.jfilenamescanner.helpers.TVShowEpisodeHelper;
+import aka.media.jfilenamescanner.helpers.TVShowNameHelper;
+import aka.media.jfilenamescanner.utils.UsualWords;
+
+/**
+ * Throughput of each stage of a scan, one name of the corpus per operation.
+ *
+ * @author Charlotte
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HelpersBenchmark {
+
+    private static final ScannerEngine ENGINE = ScannerEngine.getDefault();
+
+    /**
+     * {@link UsualWords#standardize(String)}.
+     *
+     * @param corpus corpus
+     * @return standardized name
+     */
+    @Benchmark
+    public String standardize(final CorpusState corpus) {
+        return UsualWords.standardize(corpus.next());
+    }
+
+    /**
+     * {@link UsualWords#getFilteredName(String, aka.media.jfilenamescanner.utils.NameFilter)} with the compiled filters of the engine.
+     *
+     * @param corpus corpus
+     * @return filtered name
+     */
+    @Benchmark
+    public String filteredName(final CorpusState corpus) {
+        return UsualWords.getFilteredName(corpus.next(), ENGINE.getNameFilter());
+    }
+
+    /**
+     * {@link UsualWords#getFilteredName(String, List)}, compiling the filters on each call.
+     *
+     * @param corpus corpus
+     * @return filtered name
+     */
+    @Benchmark
+    public String filteredNameFromList(final CorpusState corpus) {
+        return UsualWords.getFilteredName(corpus.next(), ScannerEngine.DEFAULT_NAME_FILTERS);
+    }
+
+    /**
+     * {@link UsualWords#getUsualWords(List)} over 8 standardized names.
+     *
+     * @param corpus corpus
+     * @return common words
+     */
+    @Benchmark
+    public List<String> usualWords(final CorpusState corpus) {
+        final var names = new ArrayList<String>(8);
+        for (int i = 0; i < 8; i++) {
+            names.add(UsualWords.standardize(corpus.next()));
+        }
+        return UsualWords.getUsualWords(names);
+    }
+
+    /**
+     * {@link MovieHelper} construction, which parses the name.
+     *
+     * @param corpus corpus
+     * @return helper
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public MovieHelper movieHelper(final CorpusState corpus) throws Exception {
+        return new MovieHelper(corpus.next(), new ScanContext(ENGINE));
+    }
+
+    /**
+     * {@link TVShowNameHelper#getTvShowName()} of a name.
+     *
+     * @param corpus corpus
+     * @return TV show name
+     */
+    @Benchmark
+    public String tvShowName(final CorpusState corpus) {
+        return new TVShowNameHelper(corpus.next(), new ScanContext(ENGINE)).getTvShowName();
+    }
+
+    /**
+     * {@link TVShowEpisodeHelper#matchEpisode()}.
+     *
+     * @param corpus corpus
+     * @param blackhole blackhole
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public void matchEpisode(final CorpusState corpus, final Blackhole blackhole) throws Exception {
+        blackhole.consume(new TVShowEpisodeHelper(corpus.next(), new ScanContext(ENGINE)).matchEpisode());
+    }
+
+    /**
+     * {@link ScannerEngine#scanEpisode(CharSequence)}, the allocation free path of {@link TVShowEpisodeHelper#matchEpisode()}.
+     *
+     * @param corpus corpus
+     * @return encoded season and episode
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public long scanEpisode(final CorpusState corpus) throws Exception {
+        return ENGINE.scanEpisode(corpus.next());
+    }
+
+    /**
+     * {@link ScannerEngine#scanEpisode(byte[], int, int)} of the UTF-8 bytes of a name, as read from a list of file names.
+     *
+     * @param corpus corpus
+     * @return encoded season and episode
+     * @throws Exception if the name is empty
+     */
+    @Benchmark
+    public long scanEpisodeBytes(final CorpusState corpus) throws Exception {
+        final var bytes = corpus.nextBytes();
+        return ENGINE.scanEpisode(bytes, 0, bytes.length);
+    }
+}
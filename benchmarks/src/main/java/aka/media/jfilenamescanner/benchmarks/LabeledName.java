@@ -0,0 +1,116 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+/**
+ * Generated name with the values it was built from (ground truth).
+ *
+ * @author Charlotte
+ */
+public final class LabeledName {
+
+    private final String name;
+    private final String folder;
+    private final boolean episode;
+    private final String title;
+    private final String year;
+    private final int season;
+    private final int episodeNumber;
+
+    /**
+     * Constructor.
+     *
+     * @param name generated file name.
+     * @param folder relative folder of the file in a library, '/' separated.
+     * @param episode <code>true</code> for a TV show episode, <code>false</code> for a movie.
+     * @param title title of the movie or the TV show.
+     * @param year year of the movie, <code>null</code> if none.
+     * @param season season of the episode, -1 for a movie.
+     * @param episodeNumber number of the episode, -1 for a movie.
+     */
+    LabeledName(final String name, final String folder, final boolean episode, final String title, final String year, final int season, final int episodeNumber) {
+        this.name = name;
+        this.folder = folder;
+        this.episode = episode;
+        this.title = title;
+        this.year = year;
+        this.season = season;
+        this.episodeNumber = episodeNumber;
+    }
+
+    /**
+     * Get the generated file name.
+     *
+     * @return file name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the relative folder of the file in a library.
+     *
+     * @return folder, '/' separated.
+     */
+    public String getFolder() {
+        return this.folder;
+    }
+
+    /**
+     * Check if the name is a TV show episode.
+     *
+     * @return <code>true</code> for an episode, <code>false</code> for a movie.
+     */
+    public boolean isEpisode() {
+        return this.episode;
+    }
+
+    /**
+     * Get the title of the movie or the TV show.
+     *
+     * @return title.
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Get the year of the movie.
+     *
+     * @return year, <code>null</code> if none.
+     */
+    public String getYear() {
+        return this.year;
+    }
+
+    /**
+     * Get the season of the episode.
+     *
+     * @return season, -1 for a movie.
+     */
+    public int getSeason() {
+        return this.season;
+    }
+
+    /**
+     * Get the number of the episode.
+     *
+     * @return episode, -1 for a movie.
+     */
+    public int getEpisode() {
+        return this.episodeNumber;
+    }
+
+    /**
+     * Get the tab separated line of this name: name, folder, type, title, year, season and episode.
+     *
+     * @return line, without line separator.
+     */
+    public String toLine() {
+        return this.name + '\t' + this.folder + '\t' + (this.episode ? "episode" : "movie") + '\t' + this.title + '\t' + (this.year == null ? "" : this.year) + '\t' + this.season + '\t'
+                + this.episodeNumber;
+    }
+
+    @Override
+    public String toString() {
+        return toLine();
+    }
+}
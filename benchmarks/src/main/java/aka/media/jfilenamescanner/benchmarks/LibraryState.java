@@ -0,0 +1,86 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Files of the benchmarked corpus, in a temporary library of season folders, one file per benchmark operation.
+ *
+ * @author Charlotte
+ */
+@State(Scope.Thread)
+public class LibraryState {
+
+    @Param({ "MOVIES", "EPISODES", "ANIME", "MIXED", "GENERATED" })
+    public Corpus corpus;
+
+    @Param({ "256" })
+    public int files;
+
+    @Param({ "32" })
+    public int filesPerFolder;
+
+    private Path root;
+    private File[] library;
+    private int index;
+
+    /**
+     * Create the library.
+     *
+     * @throws IOException if the library can not be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.root = Files.createTempDirectory("library");
+        final var names = this.corpus.getNames(this.files);
+        this.library = new File[this.files];
+        for (int i = 0; i < this.files; i++) {
+            final var folder = i / this.filesPerFolder;
+            final var season = Files.createDirectories(this.root.resolve("Show " + folder).resolve("Season " + (1 + folder % 10)));
+            // Prefix the number of the file so that the repeated names of the corpus are distinct files
+            this.library[i] = Files.createFile(season.resolve(i + " " + names[i])).toFile();
+        }
+    }
+
+    /**
+     * Delete the library.
+     *
+     * @throws IOException if the library can not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Get the root of the library.
+     *
+     * @return root directory
+     */
+    public Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Get the next file of the library.
+     *
+     * @return file
+     */
+    public File next() {
+        final var result = this.library[this.index];
+        this.index = this.index + 1 == this.library.length ? 0 : this.index + 1;
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aka.media.jfilenamescanner.ListScanner;
+import aka.media.jfilenamescanner.ScannerEngine;
+import aka.media.jfilenamescanner.constants.Delimiter;
+
+/**
+ * Time to scan a whole file name list with a {@link ListScanner}, compared to reading it line by line with a {@link BufferedReader}.
+ *
+ * @author Charlotte
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListScanBenchmark {
+
+    @Param({ "MIXED", "GENERATED" })
+    public Corpus corpus;
+
+    @Param({ "4096" })
+    public int size;
+
+    @Param({ "1", "4" })
+    public int parallelism;
+
+    private Path list;
+    private Path lines;
+    private ListScanner scanner;
+
+    /**
+     * Write the NUL and line feed delimited lists of the corpus.
+     *
+     * @throws IOException if a list can not be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final var names = this.corpus.getNames(this.size);
+        this.list = Files.createTempFile("list", ".lst");
+        Files.write(this.list, (String.join("\0", names) + '\0').getBytes(StandardCharsets.UTF_8));
+        this.lines = Files.createTempFile("list", ".txt");
+        Files.write(this.lines, (String.join("\n", names) + '\n').getBytes(StandardCharsets.UTF_8));
+        this.scanner = new ListScanner(ScannerEngine.getDefault(), this.parallelism);
+    }
+
+    /**
+     * Delete the lists.
+     *
+     * @throws IOException if a list can not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.scanner.close();
+        Files.deleteIfExists(this.list);
+        Files.deleteIfExists(this.lines);
+    }
+
+    /**
+     * {@link ListScanner#scan(Path, Delimiter, java.util.function.Consumer)} of the NUL delimited list.
+     *
+     * @return number of results
+     * @throws Exception if the list can not be scanned
+     */
+    @Benchmark
+    public long listScanner() throws Exception {
+        final var count = new LongAdder();
+        this.scanner.scan(this.list, Delimiter.NUL, result -> count.increment());
+        return count.sum();
+    }
+
+    /**
+     * {@link ScannerEngine#scan(String)} of each line of the list, read with a {@link BufferedReader} on the calling thread.
+     *
+     * @return number of results
+     * @throws Exception if the list can not be scanned
+     */
+    @Benchmark
+    public long bufferedReader() throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        var count = 0L;
+        try (var reader = Files.newBufferedReader(this.lines, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    engine.scan(line);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
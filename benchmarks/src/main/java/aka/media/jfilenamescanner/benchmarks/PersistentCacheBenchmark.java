@@ -0,0 +1,118 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aka.media.jfilenamescanner.LibraryScanner;
+import aka.media.jfilenamescanner.PersistentResultCache;
+import aka.media.jfilenamescanner.ScanResult;
+import aka.media.jfilenamescanner.ScannerEngine;
+
+/**
+ * Startup of a {@link LibraryScanner} with an empty {@link PersistentResultCache} (cold) and with the results of a previous run (warm).
+ *
+ * @author Charlotte
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PersistentCacheBenchmark {
+
+    @Param({ "5000" })
+    public int files;
+
+    private Path root;
+    private Path library;
+    private Path coldCache;
+    private Path warmCache;
+
+    /**
+     * Create the library and the warm cache.
+     *
+     * @throws Exception if the library can not be created
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        this.root = Files.createTempDirectory("cache-benchmark");
+        this.library = this.root.resolve("library");
+        for (int i = 0; i < this.files; i++) {
+            final var season = Files.createDirectories(this.library.resolve("Show " + i / 500).resolve("Season " + (1 + i / 50 % 10)));
+            Files.createFile(season.resolve(String.format("Show.%d.S%02dE%02d.720p.HDTV.x264.mkv", Integer.valueOf(i / 500), Integer.valueOf(1 + i / 50 % 10), Integer.valueOf(i % 50))));
+        }
+        this.coldCache = this.root.resolve("cold.cache");
+        this.warmCache = this.root.resolve("warm.cache");
+        scan(this.warmCache);
+    }
+
+    /**
+     * Delete the cold cache.
+     *
+     * @throws IOException if the cache can not be deleted
+     */
+    @Setup(Level.Invocation)
+    public void deleteColdCache() throws IOException {
+        Files.deleteIfExists(this.coldCache);
+    }
+
+    /**
+     * Delete the library.
+     *
+     * @throws IOException if the library can not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (var paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * All files are scanned and stored.
+     *
+     * @return results
+     * @throws Exception if a file can not be scanned
+     */
+    @Benchmark
+    public List<ScanResult> cold() throws Exception {
+        return scan(this.coldCache);
+    }
+
+    /**
+     * All results are read from the cache.
+     *
+     * @return results
+     * @throws Exception if a file can not be scanned
+     */
+    @Benchmark
+    public List<ScanResult> warm() throws Exception {
+        return scan(this.warmCache);
+    }
+
+    private List<ScanResult> scan(final Path cacheFile) throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        try (var cache = new PersistentResultCache(cacheFile, engine)) {
+            return new LibraryScanner(engine, path -> true, cache).scan(this.library);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import aka.media.jfilenamescanner.JFileNameScanner;
+
+/**
+ * Compare {@link JFileNameScanner#scan(String)} with the calls of the single value getters done for each ingested episode.
+ *
+ * @author Charlotte
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+    private static final String[] NAMES = {
+            "The.Office.US.S05E10.720p.HDTV.x264.mkv",
+            "Breaking.Bad.S01E01.Pilot.1080p.BluRay.x264-DEMAND.mkv",
+            "Lost 1x05 Walkabout FRENCH DVDRip XviD.avi",
+            "Dexter.s02.e03.HDTV.avi",
+            "Game of Thrones - Season 3 Episode 9 - The Rains of Castamere (2013) [1080p].mkv",
+            "Naruto.Episode.125.VOSTFR.avi",
+            "Mr.Robot.S03E01.REPACK.720p.WEB-DL.x265.mkv",
+            "Star Wars Episode IV (1977) [1080p] MULTi BluRay x264-PopHD.mkv" };
+
+    /**
+     * Single scan returning all the values.
+     *
+     * @param blackhole blackhole
+     * @throws Exception if a name is empty
+     */
+    @Benchmark
+    public void scan(final Blackhole blackhole) throws Exception {
+        for (final String name : NAMES) {
+            blackhole.consume(JFileNameScanner.scan(name));
+        }
+    }
+
+    /**
+     * One getter call per value.
+     *
+     * @param blackhole blackhole
+     * @throws Exception if a name is empty
+     */
+    @Benchmark
+    public void getters(final Blackhole blackhole) throws Exception {
+        for (final String name : NAMES) {
+            blackhole.consume(JFileNameScanner.getTVShowName(name));
+            blackhole.consume(JFileNameScanner.getTVShowYear(name));
+            blackhole.consume(JFileNameScanner.getSeasonOfTVShow(name));
+            blackhole.consume(JFileNameScanner.getEpisodeOfTVShow(name));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package aka.media.jfilenamescanner.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.ScannerEngine;
+
+/**
+ * JUnitTest for CorpusGenerator.
+ */
+public class CorpusGenerator_JUnitTest {
+
+    /**
+     * The same seed gives the same corpus, another seed another one.
+     */
+    @Test
+    public void TestDeterminism() {
+        final var corpus = toLines(new CorpusGenerator(42).next(5000));
+        assertEquals(corpus, toLines(new CorpusGenerator(42).next(5000)));
+        assertEquals(toLines(new CorpusGenerator(7, 0.2).next(1000)), toLines(new CorpusGenerator(7, 0.2).next(1000)));
+        assertNotEquals(corpus, toLines(new CorpusGenerator(43).next(5000)));
+    }
+
+    /**
+     * No word of a title is removed by the default name filters.
+     */
+    @Test
+    public void TestTitlesNotFiltered() {
+        final var nameFilter = ScannerEngine.getDefault().getNameFilter();
+        for (final LabeledName name : new CorpusGenerator(42).next(5000)) {
+            assertEquals(name.getTitle(), nameFilter.filter(name.getTitle()));
+        }
+    }
+
+    private static List<String> toLines(final List<LabeledName> names) {
+        return names.stream().map(LabeledName::toLine).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,215 @@
+package aka.media.jfilenamescanner;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Batch scanner.
+ *
+ * Scan large collections of names or files with an engine, splitting the work between the threads of a dedicated {@link ForkJoinPool}.
+ * Results are returned in the input order, a <code>null</code> result means that the name could not be scanned (null or empty name); any other failure of the engine is
+ * thrown by the call.
+ * Each scan creates its own helpers; the state they share is thread safe (the cache of the common sequences of the directories, the episode matcher of each thread), so
+ * a batch scanner can be used by several threads at the same time.
+ * The results of one call share their names through a {@link NamePool}, created for the call or given by the caller to share it between calls and read its statistics.
+ * Close the scanner to release its threads.
+ *
+ * @author Charlotte
+ */
+public final class BatchScanner implements AutoCloseable {
+
+    /**
+     * Number of names under which a task is not split anymore.
+     */
+    private static final int THRESHOLD = 64;
+
+    @NonNull
+    private final ScannerEngine engine;
+    @NonNull
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor, one thread per available processor.
+     *
+     * @param engine engine used to scan
+     */
+    public BatchScanner(@NonNull final ScannerEngine engine) {
+        this(engine, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param parallelism number of threads
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public BatchScanner(@NonNull final ScannerEngine engine, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0.");
+        }
+        this.engine = engine;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return number of threads
+     */
+    public int getParallelism() {
+        return this.pool.getParallelism();
+    }
+
+    /**
+     * Scan all names.
+     *
+     * @param names names to scan
+     * @return results, in the order of the names
+     * @throws RuntimeException if the engine fails on a name
+     */
+    @NonNull
+    public List<@Nullable ScanResult> scanAll(@NonNull final Collection<@Nullable String> names) {
+        return scanAll(names, new NamePool());
+    }
+
+    /**
+     * Scan all names.
+     *
+     * @param names names to scan
+     * @param namePool pool of the names of the results
+     * @return results, in the order of the names
+     * @throws RuntimeException if the engine fails on a name
+     */
+    @NonNull
+    public List<@Nullable ScanResult> scanAll(@NonNull final Collection<@Nullable String> names, @NonNull final NamePool namePool) {
+        return scan(names.toArray(new String[names.size()]), false, namePool);
+    }
+
+    /**
+     * Scan all names.
+     *
+     * @param names names to scan
+     * @return results, in the order of the names
+     * @throws RuntimeException if the engine fails on a name
+     */
+    @NonNull
+    public List<@Nullable ScanResult> scanAll(@NonNull final Iterable<@Nullable String> names) {
+        final var list = new ArrayList<@Nullable String>();
+        for (final String name : names) {
+            list.add(name);
+        }
+        return scanAll(list);
+    }
+
+    /**
+     * Scan all files.
+     *
+     * @param paths paths of the files to scan
+     * @return results, in the order of the paths
+     * @throws RuntimeException if the engine fails on a name
+     */
+    @NonNull
+    public List<@Nullable ScanResult> scanPaths(@NonNull final Stream<@NonNull Path> paths) {
+        return scanPaths(paths, new NamePool());
+    }
+
+    /**
+     * Scan all files.
+     *
+     * @param paths paths of the files to scan
+     * @param namePool pool of the names of the results
+     * @return results, in the order of the paths
+     * @throws RuntimeException if the engine fails on a name
+     */
+    @NonNull
+    public List<@Nullable ScanResult> scanPaths(@NonNull final Stream<@NonNull Path> paths, @NonNull final NamePool namePool) {
+        return scan(paths.map(Path::toString).toArray(String[]::new), true, namePool);
+    }
+
+    @NonNull
+    private List<@Nullable ScanResult> scan(@Nullable final String @NonNull [] names, final boolean files, @NonNull final NamePool namePool) {
+        final var results = new ScanResult[names.length];
+        if (names.length > 0) {
+            this.pool.invoke(new ScanTask(names, files, namePool, results, 0, names.length));
+        }
+        final List<@Nullable ScanResult> result = Collections.unmodifiableList(Arrays.asList(results));
+        return result;
+    }
+
+    @Nullable
+    private ScanResult scan(@Nullable final String name, final boolean file, @NonNull final NamePool namePool) {
+        ScanResult result = null;
+        if (name != null && !name.trim().isEmpty()) {
+            try {
+                result = namePool.intern(file ? this.engine.scan(new File(name)) : this.engine.scan(name));
+            } catch (final RuntimeException e) {
+                throw e;
+            } catch (final Exception e) {
+                // empty file name, such as the one of a root directory
+                result = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Release the threads of the scanner.
+     */
+    @Override
+    public void close() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Scan of a range of names, split in two halves until the range is small enough.
+     */
+    private final class ScanTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nullable
+        private final String @NonNull [] names;
+        private final boolean files;
+        @NonNull
+        private final NamePool namePool;
+        @Nullable
+        private final ScanResult @NonNull [] results;
+        private final int start;
+        private final int end;
+
+        ScanTask(@Nullable final String @NonNull [] names, final boolean files, @NonNull final NamePool namePool, @Nullable final ScanResult @NonNull [] results, final int start,
+                final int end) {
+            this.names = names;
+            this.files = files;
+            this.namePool = namePool;
+            this.results = results;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start <= THRESHOLD) {
+                for (int i = this.start; i < this.end; i++) {
+                    this.results[i] = scan(this.names[i], this.files, this.namePool);
+                }
+            } else {
+                final var middle = (this.start + this.end) >>> 1;
+                invokeAll(new ScanTask(this.names, this.files, this.namePool, this.results, this.start, middle),
+                        new ScanTask(this.names, this.files, this.namePool, this.results, middle, this.end));
+            }
+        }
+    }
+}
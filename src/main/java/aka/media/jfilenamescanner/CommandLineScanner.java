@@ -0,0 +1,444 @@
+package aka.media.jfilenamescanner;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.opencsv.CSVWriter;
+
+import aka.media.jfilenamescanner.constants.OutputFormat;
+
+/**
+ * Command line scanner.
+ *
+ * Scan the names given as arguments, read from the standard input (one per line, or NUL terminated with <code>--null</code>) or the files of a directory tree, and
+ * write one result per name on the standard output, as JSON Lines, CSV or TSV.
+ * All names are scanned as paths, with their folders, see {@link ScannerEngine#scanPath(String)}. Blank names are skipped; the names that can not be scanned are
+ * reported on the standard error and give the exit status 1.
+ * Names are numbered as they are read and scanned by a pool of threads; results are written in the order of the names. The number of names read and not written yet is
+ * bounded, so a slow reader of the output slows down the scan instead of filling the memory.
+ *
+ * <pre>
+ * java aka.media.jfilenamescanner.CommandLineScanner [--format jsonl|csv|tsv] [--threads n] [--queue n] [--null] [--stats] [--root directory] [name...]
+ * </pre>
+ *
+ * @author Charlotte
+ */
+public final class CommandLineScanner {
+
+    private static final int HISTOGRAM_SIZE = 64;
+
+    @NonNull
+    private static final String @NonNull [] HEADER = { "name", "path", "movieName", "movieYear", "tvShowName", "season", "episode" };
+
+    @NonNull
+    private static final String USAGE = "Usage: java aka.media.jfilenamescanner.CommandLineScanner [options] [name...]\n" + "Scan the names given as arguments, the files of a directory or the names read from the standard input (\"-\" or no name).\n"
+            + "  --format jsonl|csv|tsv  output format (default jsonl)\n" + "  --threads n             number of scanning threads (default: number of processors)\n"
+            + "  --queue n               maximal number of names scanned and not written yet (default 256 per thread)\n"
+            + "  --null                  names of the standard input are terminated by NUL instead of line feeds\n" + "  --root directory        scan every file of the directory tree\n"
+            + "  --stats                 print the throughput and the scan latency percentiles on the standard error at the end\n" + "  --help                  print this help\n";
+
+    private CommandLineScanner() {
+        // main class
+    }
+
+    /**
+     * Run the scanner with the standard streams.
+     *
+     * @param args command line arguments
+     */
+    public static void main(@NonNull final String @NonNull [] args) {
+        final var status = run(args, System.in, System.out, System.err);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Run the scanner.
+     *
+     * @param args command line arguments
+     * @param in names read when no name is given
+     * @param out output of the results
+     * @param err output of the errors and statistics
+     * @return exit status: 0 if all names have been scanned, 1 if the scan of a name or the run failed, 2 if the arguments are invalid
+     */
+    static int run(@NonNull final String @NonNull [] args, @NonNull final InputStream in, @NonNull final OutputStream out, @NonNull final PrintStream err) {
+        final Options options;
+        try {
+            options = new Options(args);
+        } catch (final IllegalArgumentException e) {
+            err.print(e.getMessage() + "\n" + USAGE);
+            return 2;
+        }
+        if (options.help) {
+            err.print(USAGE);
+            return 0;
+        }
+
+        var status = 0;
+        final var run = new Run(options, out, err);
+        try {
+            run.start();
+            if (options.root != null) {
+                try (var paths = Files.walk(options.root)) {
+                    for (final Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                        run.submit(path.toString());
+                    }
+                }
+            }
+            for (final String name : options.names) {
+                if ("-".equals(name)) {
+                    readNames(in, options.nul, run);
+                } else {
+                    run.submit(name);
+                }
+            }
+            if (options.root == null && options.names.isEmpty()) {
+                readNames(in, options.nul, run);
+            }
+            run.finish();
+        } catch (final Exception e) {
+            err.println("Scan failed: " + e);
+            status = 1;
+        } finally {
+            run.close();
+        }
+        if (run.failed.sum() > 0) {
+            status = 1;
+        }
+        if (options.stats) {
+            err.print(run.getStats());
+        }
+        return status;
+    }
+
+    private static void readNames(@NonNull final InputStream in, final boolean nul, @NonNull final Run run) throws Exception {
+        if (nul) {
+            final var scanner = new Scanner(in, StandardCharsets.UTF_8.name()).useDelimiter("\0");
+            while (scanner.hasNext()) {
+                run.submit(scanner.next());
+            }
+            if (scanner.ioException() != null) {
+                throw scanner.ioException();
+            }
+        } else {
+            final var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                run.submit(line);
+            }
+        }
+    }
+
+    /**
+     * Parsed command line.
+     */
+    private static final class Options {
+
+        @NonNull
+        private OutputFormat format = OutputFormat.JSONL;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queue = 0;
+        private boolean nul;
+        private boolean stats;
+        private boolean help;
+        @Nullable
+        private Path root;
+        @NonNull
+        private final List<@NonNull String> names = new ArrayList<>();
+
+        Options(@NonNull final String @NonNull [] args) {
+            var options = true;
+            for (int i = 0; i < args.length; i++) {
+                final var arg = args[i];
+                if (!options || !arg.startsWith("--")) {
+                    this.names.add(arg);
+                } else if ("--".equals(arg)) {
+                    options = false;
+                } else if ("--format".equals(arg)) {
+                    final var value = value(args, ++i, arg);
+                    try {
+                        this.format = OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (final IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown format: " + value + ".", e);
+                    }
+                } else if ("--threads".equals(arg)) {
+                    this.threads = positive(value(args, ++i, arg), arg);
+                } else if ("--queue".equals(arg)) {
+                    this.queue = positive(value(args, ++i, arg), arg);
+                } else if ("--root".equals(arg)) {
+                    this.root = Paths.get(value(args, ++i, arg));
+                } else if ("--null".equals(arg)) {
+                    this.nul = true;
+                } else if ("--stats".equals(arg)) {
+                    this.stats = true;
+                } else if ("--help".equals(arg)) {
+                    this.help = true;
+                } else {
+                    throw new IllegalArgumentException("Unknown option: " + arg + ".");
+                }
+            }
+            if (this.queue == 0) {
+                this.queue = 256 * this.threads;
+            }
+        }
+
+        @NonNull
+        private static String value(@NonNull final String @NonNull [] args, final int index, @NonNull final String option) {
+            if (index >= args.length) {
+                throw new IllegalArgumentException("Missing value of " + option + ".");
+            }
+            return args[index];
+        }
+
+        private static int positive(@NonNull final String value, @NonNull final String option) {
+            try {
+                final var result = Integer.parseInt(value);
+                if (result > 0) {
+                    return result;
+                }
+            } catch (final NumberFormatException e) {
+                // invalid number
+            }
+            throw new IllegalArgumentException("Value of " + option + " must be a number greater than 0: " + value + ".");
+        }
+    }
+
+    /**
+     * State of one run: pool of scanning threads and results waiting for their turn to be written.
+     */
+    private static final class Run {
+
+        @NonNull
+        private final ScannerEngine engine = ScannerEngine.getDefault();
+        @NonNull
+        private final Options options;
+        @NonNull
+        private final Writer writer;
+        @NonNull
+        private final PrintStream err;
+        @NonNull
+        private final CSVWriter csvWriter;
+        @NonNull
+        private final ExecutorService executor;
+        // Names read and not written yet
+        @NonNull
+        private final Semaphore pending;
+        // Results scanned and waiting for the results of the previous names, guarded by this
+        @NonNull
+        private final Map<@NonNull Long, @Nullable ScanResult> results = new HashMap<>();
+        @NonNull
+        private final LongAdder skipped = new LongAdder();
+        // Names whose scan failed, reported on the error output
+        @NonNull
+        private final LongAdder failed = new LongAdder();
+        @NonNull
+        private final LongAdder totalNanos = new LongAdder();
+        @NonNull
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_SIZE);
+        private long sequence;
+        private long next;
+        private long start;
+        private long elapsed;
+        @Nullable
+        private volatile Exception failure;
+
+        Run(@NonNull final Options options, @NonNull final OutputStream out, @NonNull final PrintStream err) {
+            this.options = options;
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.err = err;
+            this.csvWriter = options.format == OutputFormat.TSV ? new CSVWriter(this.writer, '\t', CSVWriter.NO_QUOTE_CHARACTER, CSVWriter.NO_ESCAPE_CHARACTER, "\n")
+                    : new CSVWriter(this.writer);
+            this.pending = new Semaphore(options.queue);
+            final var count = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(options.threads, runnable -> {
+                final var thread = new Thread(runnable, "command-line-scanner-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void start() {
+            this.start = System.nanoTime();
+            if (this.options.format != OutputFormat.JSONL) {
+                this.csvWriter.writeNext(HEADER, false);
+            }
+        }
+
+        /**
+         * Scan the given name or path, see {@link ScannerEngine#scanPath(String)}: a blank name is skipped, the failure of another name is reported on the error output.
+         */
+        void submit(@NonNull final String name) throws Exception {
+            // Wait for the writing of the oldest names when too many are pending
+            this.pending.acquire();
+            throwFailure();
+            final var number = this.sequence++;
+            this.executor.execute(() -> {
+                final var begin = System.nanoTime();
+                ScanResult result = null;
+                if (name.trim().isEmpty()) {
+                    // empty name, nothing is written
+                    this.skipped.increment();
+                } else {
+                    try {
+                        result = this.engine.scanPath(name);
+                    } catch (final Exception e) {
+                        this.failed.increment();
+                        this.err.println("Scan of " + name + " failed: " + e);
+                    }
+                }
+                final var duration = Math.max(0, System.nanoTime() - begin);
+                this.totalNanos.add(duration);
+                this.histogram.incrementAndGet(duration == 0 ? 0 : 63 - Long.numberOfLeadingZeros(duration));
+                complete(number, result);
+            });
+        }
+
+        void finish() throws Exception {
+            this.pending.acquire(this.options.queue);
+            this.pending.release(this.options.queue);
+            throwFailure();
+            this.writer.flush();
+            this.elapsed = System.nanoTime() - this.start;
+        }
+
+        void close() {
+            this.executor.shutdownNow();
+        }
+
+        /**
+         * Store the result of the given name, and write it with the following ones if all the previous names have been written.
+         * The results are written by the scanning threads: a slow output holds them, and the reading of new names waits for free places.
+         */
+        private synchronized void complete(final long number, @Nullable final ScanResult result) {
+            this.results.put(Long.valueOf(number), result);
+            while (this.results.containsKey(Long.valueOf(this.next))) {
+                final var current = this.results.remove(Long.valueOf(this.next));
+                this.next++;
+                try {
+                    if (current != null && this.failure == null) {
+                        write(current);
+                    }
+                } catch (final IOException e) {
+                    this.failure = e;
+                } finally {
+                    this.pending.release();
+                }
+            }
+        }
+
+        private void write(@NonNull final ScanResult result) throws IOException {
+            final var path = result.getPath();
+            if (this.options.format == OutputFormat.JSONL) {
+                final var sb = new StringBuilder(256);
+                sb.append("{\"name\":");
+                appendJson(sb, result.getName());
+                sb.append(",\"path\":");
+                appendJson(sb, path == null ? null : path.toString());
+                sb.append(",\"movieName\":");
+                appendJson(sb, result.getMovieName());
+                sb.append(",\"movieYear\":");
+                appendJson(sb, result.getMovieYear());
+                sb.append(",\"tvShowName\":");
+                appendJson(sb, result.getTVShowName());
+                sb.append(",\"season\":").append(result.getSeason()).append(",\"episode\":").append(result.getEpisode()).append("}\n");
+                this.writer.write(sb.toString());
+            } else {
+                final var tsv = this.options.format == OutputFormat.TSV;
+                final String[] fields = { field(result.getName(), tsv), field(path == null ? null : path.toString(), tsv), field(result.getMovieName(), tsv),
+                        field(result.getMovieYear(), tsv), field(result.getTVShowName(), tsv), String.valueOf(result.getSeason()), String.valueOf(result.getEpisode()) };
+                this.csvWriter.writeNext(fields, false);
+                if (this.csvWriter.checkError()) {
+                    throw new IOException("Output can not be written.");
+                }
+            }
+        }
+
+        private void throwFailure() throws Exception {
+            final var exception = this.failure;
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        @NonNull
+        String getStats() {
+            final var values = new long[HISTOGRAM_SIZE];
+            var count = 0L;
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                values[i] = this.histogram.get(i);
+                count += values[i];
+            }
+            final var latency = new MatcherStats("scan", count, count - this.skipped.sum(), 0, this.totalNanos.sum(), values);
+            final var seconds = this.elapsed / 1e9;
+            return String.format(Locale.ROOT, "names: %d, skipped: %d, elapsed: %.3f s, throughput: %.0f names/s, scan latency (us): mean %.1f, p50 <= %.1f, p90 <= %.1f, p99 <= %.1f, p99.9 <= %.1f%n",
+                    Long.valueOf(count), Long.valueOf(this.skipped.sum()), Double.valueOf(seconds), Double.valueOf(seconds == 0 ? 0 : count / seconds),
+                    Double.valueOf(latency.getMeanNanos() / 1e3), micros(latency, 50), micros(latency, 90), micros(latency, 99), micros(latency, 99.9));
+        }
+
+        @NonNull
+        private static Double micros(@NonNull final MatcherStats latency, final double percentile) {
+            return Double.valueOf(latency.getLatencyPercentile(percentile) / 1e3);
+        }
+
+        @NonNull
+        private static String field(@Nullable final String value, final boolean tsv) {
+            var result = value == null ? "" : value;
+            if (tsv) {
+                result = result.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+            }
+            return result;
+        }
+
+        private static void appendJson(@NonNull final StringBuilder sb, @Nullable final String value) {
+            if (value == null) {
+                sb.append("null");
+                return;
+            }
+            sb.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                final var c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n') {
+                    sb.append("\\n");
+                } else if (c == '\r') {
+                    sb.append("\\r");
+                } else if (c == '\t') {
+                    sb.append("\\t");
+                } else if (c < ' ') {
+                    sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+}
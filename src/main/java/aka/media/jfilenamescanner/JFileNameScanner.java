@@ -1,28 +1,74 @@
 package aka.media.jfilenamescanner;
 
 import java.io.File;
-import java.util.List;
+import java.util.EnumSet;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
-import aka.media.jfilenamescanner.helpers.MovieHelper;
-import aka.media.jfilenamescanner.helpers.TVShowEpisodeHelper;
-import aka.media.jfilenamescanner.helpers.TVShowNameHelper;
-
 /**
  * Media scanner name.
  *
  * Will scan given name file of name string to get movie/TV name or year.
+ * All methods use the default {@link ScannerEngine}, build a dedicated engine to change the configuration.
  *
  * @author Charlotte
  */
 public final class JFileNameScanner {
 
     @NonNull
-    private static final List<@NonNull String> NAME_FILTERS = List.of("notv", "readnfo", "repack", "proper$", "nfo$", "extended.cut", "limitededition", "limited", "k-sual", "extended", "uncut$", "n� [0-9][0-9][0-9]", "yestv", "stv", "remastered", "limited", "x264", "bluray", "bd5", "bd9", "hddvd", "hdz", "edition.exclusive", "unrated", "walt disney", "dvdrip", "cinefile", "hdmi", "dvd5", "ac3", "culthd", "dvd9", "remux", "edition.platinum", "frenchhqc", "frenchedit", "wawamania", "h264",
-            "bdrip", "brrip", "hdteam", "hddvdrip", "subhd", "xvid", "divx", "null$", "divx511", "vorbis", "=str=", "www", "ffm", "mp3", "divx5", "dvb", "mpa2", "blubyte", "brmp", "avs", "filmhd", "hd4u", "1080p", "1080i", "720p", "720i", "720", "truefrench", "dts", "french", "vostfr", "1cd", "2cd", "vff", " vo ", " vf ", "hdlight", "hd", " cam$ ", "telesync", " ts ", " tc ", "ntsc", " pal ", "dvd-r", "dvdscr", "scr$", "r1", "r2", "r3", "r4", "r5", "wp", "subforced", "dvd", "vcd", "avchd",
-            " md", "redux", "trailer", "1080p", "720p", "MULTI", "x264", "x265", "bluray", "festival", "subfrench", "french", "truefrench", "dts", "ac3", "uncut", "theatrical cut", "unrated", "limited", "vostfr", "stv", "rip by", "\\s+rip\\s+", "\\s+by\\s+", "ripped by", "ripped", "version longue", "(version longue)");
+    private static final ScannerEngine ENGINE = ScannerEngine.getDefault();
+
+    /**
+     * Scan the given name once and return all the informations found: movie name and year, TV show name, season and episode.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public static ScanResult scan(@NonNull final String name) throws Exception {
+        return ENGINE.scan(name);
+    }
+
+    /**
+     * Scan the given name once and return all the informations found: movie name and year, TV show name, season and episode.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public static ScanResult scan(@NonNull final CharSequence name) throws Exception {
+        return ENGINE.scan(name);
+    }
+
+    /**
+     * Scan the given UTF-8 name once and return all the informations found: movie name and year, TV show name, season and episode.
+     * The bytes that are not valid UTF-8 are read as ISO-8859-1.
+     *
+     * @param buf buffer holding the name.
+     * @param off index of the first byte of the name.
+     * @param len number of bytes of the name.
+     * @return result of the scan.
+     * @throws Exception if file name is empty
+     */
+    @NonNull
+    public static ScanResult scan(final byte @NonNull [] buf, final int off, final int len) throws Exception {
+        return ENGINE.scan(buf, off, len);
+    }
+
+    /**
+     * Scan the given file once and return all the informations found: movie name and year, TV show name, season and episode.
+     *
+     * @param file movie or TV show file.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public static ScanResult scan(@NonNull final File file) throws Exception {
+        return ENGINE.scan(file);
+    }
 
     /**
      * Return the best matching name movie/TV show from file.
@@ -33,15 +79,9 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getMovieName(@NonNull final File file) throws Exception {
-        String result = null;
-        if (file.isFile()) {
-            final var movieHelper = new MovieHelper(file, NAME_FILTERS);
-            result = movieHelper.getMovieName();
-        } else {
-            throw new Exception(file.getName() + " is not a file, maybe a directory ?");
-        }
+        checkIsFile(file);
 
-        return result;
+        return ENGINE.scan(file, EnumSet.of(ScanPart.MOVIE)).getMovieName();
     }
 
     /**
@@ -53,9 +93,7 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getMovieName(@NonNull final String name) throws Exception {
-        final var movieHelper = new MovieHelper(name, NAME_FILTERS);
-
-        return movieHelper.getMovieName();
+        return ENGINE.scan(name, EnumSet.of(ScanPart.MOVIE)).getMovieName();
     }
 
     /**
@@ -67,15 +105,9 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getMovieYear(@NonNull final File file) throws Exception {
-        String result = null;
-        if (file.isFile()) {
-            final var movieHelper = new MovieHelper(file, NAME_FILTERS);
-            result = movieHelper.getYear();
-        } else {
-            throw new Exception(file.getName() + " is not a file, maybe a directory ?");
-        }
+        checkIsFile(file);
 
-        return result;
+        return ENGINE.scan(file, EnumSet.of(ScanPart.YEAR)).getMovieYear();
     }
 
     /**
@@ -87,9 +119,7 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getMovieYear(@NonNull final String name) throws Exception {
-        final var movieHelper = new MovieHelper(name, NAME_FILTERS);
-
-        return movieHelper.getYear();
+        return ENGINE.scan(name, EnumSet.of(ScanPart.YEAR)).getMovieYear();
     }
 
     /**
@@ -97,12 +127,15 @@ public final class JFileNameScanner {
      *
      * @param name TV show name.
      * @return name of the TV show.
+     * @throws IllegalArgumentException if file name is null or empty
      */
     @Nullable
     public static String getTVShowName(@NonNull final String name) {
-        final var tvShowNameHelper = new TVShowNameHelper(name, NAME_FILTERS);
-
-        return tvShowNameHelper.getTvShowName();
+        try {
+            return ENGINE.scan(name, EnumSet.of(ScanPart.TV_SHOW_NAME)).getTVShowName();
+        } catch (final Exception e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
     }
 
     /**
@@ -114,9 +147,7 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getTVShowYear(@NonNull final String name) throws Exception {
-        final var movieHelper = new MovieHelper(name, NAME_FILTERS);
-
-        return movieHelper.getYear();
+        return ENGINE.scan(name, EnumSet.of(ScanPart.YEAR)).getTVShowYear();
     }
 
     /**
@@ -127,9 +158,7 @@ public final class JFileNameScanner {
      * @throws Exception if file name is null or empty
      */
     public static int getSeasonOfTVShow(@NonNull final String name) throws Exception {
-        final var tvShowEpisodeHelper = new TVShowEpisodeHelper(name);
-
-        return tvShowEpisodeHelper.matchEpisode().getSeason();
+        return ENGINE.scan(name, EnumSet.of(ScanPart.EPISODE)).getSeason();
     }
 
     /**
@@ -140,9 +169,7 @@ public final class JFileNameScanner {
      * @throws Exception if file name is null or empty
      */
     public static int getEpisodeOfTVShow(@NonNull final String name) throws Exception {
-        final var tvShowEpisodeHelper = new TVShowEpisodeHelper(name);
-
-        return tvShowEpisodeHelper.matchEpisode().getEpisode();
+        return ENGINE.scan(name, EnumSet.of(ScanPart.EPISODE)).getEpisode();
     }
 
     /**
@@ -154,9 +181,7 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getTVShowName(@NonNull final File file) throws Exception {
-        final var tvShowNameHelper = new TVShowNameHelper(file, NAME_FILTERS);
-
-        return tvShowNameHelper.getTvShowName();
+        return ENGINE.scan(file, EnumSet.of(ScanPart.TV_SHOW_NAME)).getTVShowName();
     }
 
     /**
@@ -167,9 +192,7 @@ public final class JFileNameScanner {
      * @throws Exception if file name is null or empty
      */
     public static int getSeasonOfTVShow(@NonNull final File file) throws Exception {
-        final var tvShowEpisodeHelper = new TVShowEpisodeHelper(file);
-
-        return tvShowEpisodeHelper.matchEpisode().getSeason();
+        return ENGINE.scan(file, EnumSet.of(ScanPart.EPISODE)).getSeason();
     }
 
     /**
@@ -180,9 +203,7 @@ public final class JFileNameScanner {
      * @throws Exception if file name is null or empty
      */
     public static int getEpisodeOfTVShow(@NonNull final File file) throws Exception {
-        final var tvShowEpisodeHelper = new TVShowEpisodeHelper(file);
-
-        return tvShowEpisodeHelper.matchEpisode().getEpisode();
+        return ENGINE.scan(file, EnumSet.of(ScanPart.EPISODE)).getEpisode();
     }
 
     /**
@@ -194,13 +215,14 @@ public final class JFileNameScanner {
      */
     @Nullable
     public static String getTVShowYear(@NonNull final File file) throws Exception {
-        String result = null;
-        if (file.isFile()) {
-            final var movieHelper = new MovieHelper(file, NAME_FILTERS);
-            result = movieHelper.getYear();
-        } else {
+        checkIsFile(file);
+
+        return ENGINE.scan(file, EnumSet.of(ScanPart.YEAR)).getTVShowYear();
+    }
+
+    private static void checkIsFile(@NonNull final File file) throws Exception {
+        if (!file.isFile()) {
             throw new Exception(file.getName() + " is not a file, maybe a directory ?");
         }
-        return result;
     }
 }
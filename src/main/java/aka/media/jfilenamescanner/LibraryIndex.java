@@ -0,0 +1,676 @@
+package aka.media.jfilenamescanner;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Library index.
+ *
+ * Immutable index file of the results of a library scan, memory mapped when opened and read in place: nothing is loaded in the heap, opening an index only maps the
+ * file and each lookup is a binary search in the mapped tables.
+ * The file holds the show names sorted by their UTF-8 bytes, the seasons of each show and the episodes of each season, the movie names sorted by their UTF-8 bytes
+ * with the years of each movie, and one fixed size record per result pointing to its strings. A result with a TV show name is an episode, a result with a movie name
+ * and without TV show name is a movie.
+ * An index is thread safe. The mapping is released when the index is garbage collected.
+ *
+ * @author Charlotte
+ */
+public final class LibraryIndex {
+
+    // "JFNI"
+    private static final int MAGIC = 0x4A464E49;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 80;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Mapped segments of 1 GB: the tables are aligned on 8 bytes, so a number never spans two segments
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    // Show and movie name entry: long name offset, int name length, int first season or first movie posting
+    private static final int NAME_ENTRY_SIZE = 16;
+    // Season entry: int season, int first episode posting; episode and movie postings: int episode or year, int record
+    private static final int POSTING_SIZE = 8;
+    // Record: long path offset, int path length, int name length, long movie name offset, int movie name length, int year, int show, int season, int episode, int
+    // padding
+    private static final int RECORD_SIZE = 48;
+
+    private final MappedByteBuffer @NonNull [] segments;
+    private final int recordCount;
+    private final int showCount;
+    private final int seasonCount;
+    private final int episodeCount;
+    private final int movieNameCount;
+    private final int movieCount;
+    private final long showTable;
+    private final long seasonTable;
+    private final long episodeTable;
+    private final long movieNameTable;
+    private final long movieTable;
+    private final long recordTable;
+
+    /**
+     * Constructor, open the given index file.
+     *
+     * @param file index file written by {@link #write(ScanResultStore, Path)}
+     * @throws IOException if the file can not be read or is not an index
+     */
+    public LibraryIndex(@NonNull final Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final var size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a library index: " + file);
+            }
+            this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int i = 0; i < this.segments.length; i++) {
+                final var position = (long) i << SEGMENT_BITS;
+                this.segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, 1L << SEGMENT_BITS));
+            }
+            if (getInt(0) != MAGIC || getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not a library index: " + file);
+            }
+            this.recordCount = getInt(8);
+            this.showCount = getInt(12);
+            this.seasonCount = getInt(16);
+            this.episodeCount = getInt(20);
+            this.movieNameCount = getInt(24);
+            this.movieCount = getInt(28);
+            this.showTable = getLong(32);
+            this.seasonTable = getLong(40);
+            this.episodeTable = getLong(48);
+            this.movieNameTable = getLong(56);
+            this.movieTable = getLong(64);
+            this.recordTable = getLong(72);
+            if (this.recordCount < 0 || this.showCount < 0 || this.seasonCount < 0 || this.episodeCount < 0 || this.movieNameCount < 0 || this.movieCount < 0
+                    || !isTable(this.showTable, this.showCount + 1L, NAME_ENTRY_SIZE, size) || !isTable(this.seasonTable, this.seasonCount + 1L, POSTING_SIZE, size)
+                    || !isTable(this.episodeTable, this.episodeCount, POSTING_SIZE, size) || !isTable(this.movieNameTable, this.movieNameCount + 1L, NAME_ENTRY_SIZE, size)
+                    || !isTable(this.movieTable, this.movieCount, POSTING_SIZE, size) || !isTable(this.recordTable, this.recordCount, RECORD_SIZE, size)) {
+                throw new IOException("Invalid library index header: " + file);
+            }
+        }
+    }
+
+    /**
+     * Get the number of results of the index.
+     *
+     * @return number of results
+     */
+    public int size() {
+        return this.recordCount;
+    }
+
+    /**
+     * Get the result at the given index.
+     *
+     * @param index index of the result, in the order of the scan
+     * @return result
+     */
+    @NonNull
+    public ScanResult get(final int index) {
+        if (index < 0 || index >= this.recordCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + this.recordCount);
+        }
+        final var record = this.recordTable + (long) index * RECORD_SIZE;
+        final var pathOffset = getLong(record);
+        final var pathLength = getInt(record + 8);
+        final var nameLength = getInt(record + 12);
+        final var movieNameLength = getInt(record + 24);
+        final var year = getInt(record + 28);
+        final var show = getInt(record + 32);
+        final String name;
+        if (nameLength >= 0) {
+            name = getString(pathOffset + pathLength - nameLength, nameLength);
+        } else {
+            name = getString(pathOffset + Math.max(0, pathLength), ~nameLength);
+        }
+        final var path = pathLength < 0 ? null : Paths.get(getString(pathOffset, pathLength));
+        final var movieName = movieNameLength < 0 ? null : getString(getLong(record + 16), movieNameLength);
+        return new ScanResult(name, path, movieName, year < 0 ? null : String.valueOf(year), show < 0 ? null : getShowName(show), getInt(record + 36),
+                getInt(record + 40));
+    }
+
+    /**
+     * Get the number of TV shows.
+     *
+     * @return number of TV shows
+     */
+    public int getShowCount() {
+        return this.showCount;
+    }
+
+    /**
+     * Get the name of the given TV show.
+     *
+     * @param show index of the TV show, the shows are sorted by the UTF-8 bytes of their name
+     * @return name of the TV show
+     */
+    @NonNull
+    public String getShowName(final int show) {
+        if (show < 0 || show >= this.showCount) {
+            throw new IndexOutOfBoundsException("Index " + show + " out of bounds for length " + this.showCount);
+        }
+        final var entry = this.showTable + (long) show * NAME_ENTRY_SIZE;
+        return getString(getLong(entry), getInt(entry + 8));
+    }
+
+    /**
+     * Get the index of the given TV show.
+     *
+     * @param showName name of the TV show, as found by the scan
+     * @return index of the TV show, -1 if the library has no episode of this show
+     */
+    public int findShow(@NonNull final String showName) {
+        return find(this.showTable, this.showCount, showName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the seasons of the given TV show.
+     *
+     * @param showName name of the TV show
+     * @return seasons in ascending order (-1 for episodes without season), empty if the library has no episode of this show
+     */
+    public int @NonNull [] getSeasons(@NonNull final String showName) {
+        final var show = findShow(showName);
+        if (show < 0) {
+            return new int[0];
+        }
+        final var first = getFirst(this.showTable, NAME_ENTRY_SIZE, show);
+        final var result = new int[getFirst(this.showTable, NAME_ENTRY_SIZE, show + 1) - first];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getInt(this.seasonTable + (long) (first + i) * POSTING_SIZE);
+        }
+        return result;
+    }
+
+    /**
+     * Check if the library has the given episode.
+     *
+     * @param showName name of the TV show
+     * @param season season
+     * @param episode episode
+     * @return <code>true</code> if the library has at least one file of this episode
+     */
+    public boolean containsEpisode(@NonNull final String showName, final int season, final int episode) {
+        final var seasonIndex = findSeason(showName, season);
+        if (seasonIndex < 0) {
+            return false;
+        }
+        final var end = getFirst(this.seasonTable, POSTING_SIZE, seasonIndex + 1);
+        final var first = lowerBound(this.episodeTable, getFirst(this.seasonTable, POSTING_SIZE, seasonIndex), end, episode);
+        return first < end && getInt(this.episodeTable + (long) first * POSTING_SIZE) == episode;
+    }
+
+    /**
+     * Get the episodes of the given TV show.
+     *
+     * @param showName name of the TV show
+     * @return episodes sorted by season and episode
+     */
+    @NonNull
+    public List<@NonNull ScanResult> getEpisodes(@NonNull final String showName) {
+        final var show = findShow(showName);
+        if (show < 0) {
+            return new ArrayList<>();
+        }
+        final var first = getFirst(this.seasonTable, POSTING_SIZE, getFirst(this.showTable, NAME_ENTRY_SIZE, show));
+        final var end = getFirst(this.seasonTable, POSTING_SIZE, getFirst(this.showTable, NAME_ENTRY_SIZE, show + 1));
+        return getRecords(this.episodeTable, first, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the episodes of a season of the given TV show.
+     *
+     * @param showName name of the TV show
+     * @param season season
+     * @return episodes sorted by episode
+     */
+    @NonNull
+    public List<@NonNull ScanResult> getEpisodes(@NonNull final String showName, final int season) {
+        return getEpisodes(showName, season, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the episodes of a season of the given TV show between two episodes.
+     *
+     * @param showName name of the TV show
+     * @param season season
+     * @param fromEpisode first episode, included
+     * @param toEpisode last episode, included
+     * @return episodes sorted by episode
+     */
+    @NonNull
+    public List<@NonNull ScanResult> getEpisodes(@NonNull final String showName, final int season, final int fromEpisode, final int toEpisode) {
+        final var seasonIndex = findSeason(showName, season);
+        if (seasonIndex < 0) {
+            return new ArrayList<>();
+        }
+        return getRecords(this.episodeTable, getFirst(this.seasonTable, POSTING_SIZE, seasonIndex), getFirst(this.seasonTable, POSTING_SIZE, seasonIndex + 1),
+                fromEpisode, toEpisode);
+    }
+
+    /**
+     * Get the number of distinct movie names.
+     *
+     * @return number of movie names
+     */
+    public int getMovieNameCount() {
+        return this.movieNameCount;
+    }
+
+    /**
+     * Check if the library has the given movie.
+     *
+     * @param movieName name of the movie, as found by the scan
+     * @param year year of the movie, -1 for a movie without year
+     * @return <code>true</code> if the library has at least one file of this movie
+     */
+    public boolean containsMovie(@NonNull final String movieName, final int year) {
+        final var movie = find(this.movieNameTable, this.movieNameCount, movieName.getBytes(StandardCharsets.UTF_8));
+        if (movie < 0) {
+            return false;
+        }
+        final var end = getFirst(this.movieNameTable, NAME_ENTRY_SIZE, movie + 1);
+        final var first = lowerBound(this.movieTable, getFirst(this.movieNameTable, NAME_ENTRY_SIZE, movie), end, year);
+        return first < end && getInt(this.movieTable + (long) first * POSTING_SIZE) == year;
+    }
+
+    /**
+     * Get the movies with the given name.
+     *
+     * @param movieName name of the movie
+     * @return movies sorted by year, movies without year first
+     */
+    @NonNull
+    public List<@NonNull ScanResult> getMovies(@NonNull final String movieName) {
+        return getMovies(movieName, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get the movies with the given name between two years.
+     *
+     * @param movieName name of the movie
+     * @param fromYear first year, included
+     * @param toYear last year, included
+     * @return movies sorted by year
+     */
+    @NonNull
+    public List<@NonNull ScanResult> getMovies(@NonNull final String movieName, final int fromYear, final int toYear) {
+        final var movie = find(this.movieNameTable, this.movieNameCount, movieName.getBytes(StandardCharsets.UTF_8));
+        if (movie < 0) {
+            return new ArrayList<>();
+        }
+        return getRecords(this.movieTable, getFirst(this.movieNameTable, NAME_ENTRY_SIZE, movie), getFirst(this.movieNameTable, NAME_ENTRY_SIZE, movie + 1), fromYear,
+                toYear);
+    }
+
+    /**
+     * Write the index of the given results.
+     * The file is written next to the given one then moved in place, so an index opened on the previous file keeps its content.
+     *
+     * @param store scan results
+     * @param file index file
+     * @throws IOException if the file can not be written
+     */
+    public static void write(@NonNull final ScanResultStore store, @NonNull final Path file) throws IOException {
+        final var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            new Writer(store, channel).write();
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private int findSeason(@NonNull final String showName, final int season) {
+        final var show = findShow(showName);
+        if (show < 0) {
+            return -1;
+        }
+        final var end = getFirst(this.showTable, NAME_ENTRY_SIZE, show + 1);
+        final var result = lowerBound(this.seasonTable, getFirst(this.showTable, NAME_ENTRY_SIZE, show), end, season);
+        return result < end && getInt(this.seasonTable + (long) result * POSTING_SIZE) == season ? result : -1;
+    }
+
+    @NonNull
+    private List<@NonNull ScanResult> getRecords(final long table, final int first, final int end, final int from, final int to) {
+        final var result = new ArrayList<@NonNull ScanResult>();
+        for (int i = lowerBound(table, first, end, from); i < end; i++) {
+            final var posting = table + (long) i * POSTING_SIZE;
+            if (getInt(posting) > to) {
+                break;
+            }
+            result.add(get(getInt(posting + 4)));
+        }
+        return result;
+    }
+
+    private int getFirst(final long table, final int entrySize, final int index) {
+        // The first entry of the next level is the last int of the entry
+        return getInt(table + (long) index * entrySize + entrySize - 4);
+    }
+
+    private int lowerBound(final long table, final int first, final int end, final int key) {
+        var low = first;
+        var high = end;
+        while (low < high) {
+            final var middle = low + high >>> 1;
+            if (getInt(table + (long) middle * POSTING_SIZE) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int find(final long table, final int count, final byte @NonNull [] name) {
+        var low = 0;
+        var high = count - 1;
+        while (low <= high) {
+            final var middle = low + high >>> 1;
+            final var entry = table + (long) middle * NAME_ENTRY_SIZE;
+            final var comparison = compare(getLong(entry), getInt(entry + 8), name);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compare(final long offset, final int length, final byte @NonNull [] name) {
+        final var common = Math.min(length, name.length);
+        for (int i = 0; i < common; i++) {
+            final var comparison = Integer.compare(getByte(offset + i) & 0xFF, name[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, name.length);
+    }
+
+    @NonNull
+    private String getString(final long offset, final int length) {
+        final var bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = getByte(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte getByte(final long position) {
+        return this.segments[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+    }
+
+    private int getInt(final long position) {
+        return this.segments[(int) (position >>> SEGMENT_BITS)].getInt((int) (position & SEGMENT_MASK));
+    }
+
+    private long getLong(final long position) {
+        return this.segments[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+
+    private static boolean isTable(final long table, final long count, final int entrySize, final long size) {
+        return table >= HEADER_SIZE && (table & 7) == 0 && table + count * entrySize <= size;
+    }
+
+    /**
+     * Writer of an index file: strings first, then the tables and the header.
+     */
+    private static final class Writer {
+
+        @NonNull
+        private final ScanResultStore store;
+        @NonNull
+        private final FileChannel channel;
+        @NonNull
+        private final DataOutputStream out;
+        private long position;
+
+        Writer(@NonNull final ScanResultStore store, @NonNull final FileChannel channel) {
+            this.store = store;
+            this.channel = channel;
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        }
+
+        void write() throws IOException {
+            final var store = this.store;
+            final var size = store.size();
+            writeBytes(new byte[HEADER_SIZE]);
+
+            // Strings: names of the dictionary, then path and name of each result
+            final var dictionarySize = store.getDictionarySize();
+            final var names = new byte[dictionarySize][];
+            final var nameOffsets = new long[dictionarySize];
+            for (int id = 0; id < dictionarySize; id++) {
+                final var name = store.getDictionaryName(id);
+                assert name != null;
+                names[id] = name.getBytes(StandardCharsets.UTF_8);
+                nameOffsets[id] = this.position;
+                writeBytes(names[id]);
+            }
+            final var pathOffsets = new long[size];
+            final var pathLengths = new int[size];
+            final var nameLengths = new int[size];
+            for (int i = 0; i < size; i++) {
+                final var name = store.getName(i).getBytes(StandardCharsets.UTF_8);
+                final var path = store.getPath(i);
+                pathOffsets[i] = this.position;
+                if (path == null) {
+                    pathLengths[i] = -1;
+                    nameLengths[i] = ~name.length;
+                    writeBytes(name);
+                } else {
+                    final var pathBytes = path.toString().getBytes(StandardCharsets.UTF_8);
+                    pathLengths[i] = pathBytes.length;
+                    writeBytes(pathBytes);
+                    if (endsWith(pathBytes, name)) {
+                        nameLengths[i] = name.length;
+                    } else {
+                        nameLengths[i] = ~name.length;
+                        writeBytes(name);
+                    }
+                }
+            }
+
+            // Shows and movie names sorted by their UTF-8 bytes
+            final var isShow = new boolean[dictionarySize];
+            final var isMovie = new boolean[dictionarySize];
+            for (int i = 0; i < size; i++) {
+                if (store.getTVShowId(i) >= 0) {
+                    isShow[store.getTVShowId(i)] = true;
+                } else if (store.getMovieNameId(i) >= 0) {
+                    isMovie[store.getMovieNameId(i)] = true;
+                }
+            }
+            final var showRanks = rank(names, isShow);
+            final var movieRanks = rank(names, isMovie);
+
+            // Shows, seasons and episodes
+            final var episodes = select(size, i -> store.getTVShowId(i) >= 0);
+            ScanResultStore.sort(episodes, (a, b) -> {
+                var result = Integer.compare(showRanks[store.getTVShowId(a)], showRanks[store.getTVShowId(b)]);
+                if (result == 0) {
+                    result = Integer.compare(store.getSeason(a), store.getSeason(b));
+                }
+                if (result == 0) {
+                    result = Integer.compare(store.getEpisode(a), store.getEpisode(b));
+                }
+                return result;
+            });
+            align();
+            final var showTable = this.position;
+            var seasonCount = 0;
+            for (int i = 0; i < episodes.length; i++) {
+                final var show = store.getTVShowId(episodes[i]);
+                final var newShow = i == 0 || show != store.getTVShowId(episodes[i - 1]);
+                if (newShow || store.getSeason(episodes[i]) != store.getSeason(episodes[i - 1])) {
+                    if (newShow) {
+                        writeNameEntry(nameOffsets[show], names[show].length, seasonCount);
+                    }
+                    seasonCount++;
+                }
+            }
+            writeNameEntry(0, 0, seasonCount);
+            final var seasonTable = this.position;
+            for (int i = 0; i < episodes.length; i++) {
+                final var season = store.getSeason(episodes[i]);
+                if (i == 0 || store.getTVShowId(episodes[i]) != store.getTVShowId(episodes[i - 1]) || season != store.getSeason(episodes[i - 1])) {
+                    writePosting(season, i);
+                }
+            }
+            writePosting(0, episodes.length);
+            final var episodeTable = this.position;
+            for (final int record : episodes) {
+                writePosting(store.getEpisode(record), record);
+            }
+
+            // Movie names and movies
+            final var movies = select(size, i -> store.getTVShowId(i) < 0 && store.getMovieNameId(i) >= 0);
+            ScanResultStore.sort(movies, (a, b) -> {
+                final var result = Integer.compare(movieRanks[store.getMovieNameId(a)], movieRanks[store.getMovieNameId(b)]);
+                return result == 0 ? Integer.compare(store.getYear(a), store.getYear(b)) : result;
+            });
+            final var movieNameTable = this.position;
+            var movieNameCount = 0;
+            for (int i = 0; i < movies.length; i++) {
+                final var movieName = store.getMovieNameId(movies[i]);
+                if (i == 0 || movieName != store.getMovieNameId(movies[i - 1])) {
+                    writeNameEntry(nameOffsets[movieName], names[movieName].length, i);
+                    movieNameCount++;
+                }
+            }
+            writeNameEntry(0, 0, movies.length);
+            final var movieTable = this.position;
+            for (final int record : movies) {
+                writePosting(store.getYear(record), record);
+            }
+
+            // Records
+            final var recordTable = this.position;
+            for (int i = 0; i < size; i++) {
+                final var movieName = store.getMovieNameId(i);
+                final var show = store.getTVShowId(i);
+                this.out.writeLong(pathOffsets[i]);
+                this.out.writeInt(pathLengths[i]);
+                this.out.writeInt(nameLengths[i]);
+                this.out.writeLong(movieName < 0 ? 0 : nameOffsets[movieName]);
+                this.out.writeInt(movieName < 0 ? -1 : names[movieName].length);
+                this.out.writeInt(store.getYear(i));
+                this.out.writeInt(show < 0 ? -1 : showRanks[show]);
+                this.out.writeInt(store.getSeason(i));
+                this.out.writeInt(store.getEpisode(i));
+                this.out.writeInt(0);
+                this.position += RECORD_SIZE;
+            }
+            this.out.flush();
+
+            final var header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(countTrue(isShow)).putInt(seasonCount).putInt(episodes.length).putInt(movieNameCount)
+                    .putInt(movies.length);
+            header.putLong(showTable).putLong(seasonTable).putLong(episodeTable).putLong(movieNameTable).putLong(movieTable).putLong(recordTable);
+            header.flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header, header.position());
+            }
+        }
+
+        private void writeNameEntry(final long offset, final int length, final int first) throws IOException {
+            this.out.writeLong(offset);
+            this.out.writeInt(length);
+            this.out.writeInt(first);
+            this.position += NAME_ENTRY_SIZE;
+        }
+
+        private void writePosting(final int key, final int value) throws IOException {
+            this.out.writeInt(key);
+            this.out.writeInt(value);
+            this.position += POSTING_SIZE;
+        }
+
+        private void writeBytes(final byte @NonNull [] bytes) throws IOException {
+            this.out.write(bytes);
+            this.position += bytes.length;
+        }
+
+        private void align() throws IOException {
+            while ((this.position & 7) != 0) {
+                this.out.write(0);
+                this.position++;
+            }
+        }
+
+        private static int @NonNull [] select(final int size, final @NonNull IntPredicate filter) {
+            var count = 0;
+            final var result = new int[size];
+            for (int i = 0; i < size; i++) {
+                if (filter.test(i)) {
+                    result[count++] = i;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static int @NonNull [] rank(final byte @NonNull [] @NonNull [] names, final boolean @NonNull [] selected) {
+            final var ids = select(names.length, id -> selected[id]);
+            ScanResultStore.sort(ids, (a, b) -> compare(names[a], names[b]));
+            final var result = new int[names.length];
+            Arrays.fill(result, -1);
+            for (int i = 0; i < ids.length; i++) {
+                result[ids[i]] = i;
+            }
+            return result;
+        }
+
+        private static int countTrue(final boolean @NonNull [] values) {
+            var result = 0;
+            for (final boolean value : values) {
+                if (value) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        private static int compare(final byte @NonNull [] a, final byte @NonNull [] b) {
+            final var common = Math.min(a.length, b.length);
+            for (int i = 0; i < common; i++) {
+                final var comparison = Integer.compare(a[i] & 0xFF, b[i] & 0xFF);
+                if (comparison != 0) {
+                    return comparison;
+                }
+            }
+            return Integer.compare(a.length, b.length);
+        }
+
+        private static boolean endsWith(final byte @NonNull [] path, final byte @NonNull [] name) {
+            final var offset = path.length - name.length;
+            if (offset < 0) {
+                return false;
+            }
+            for (int i = 0; i < name.length; i++) {
+                if (path[offset + i] != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
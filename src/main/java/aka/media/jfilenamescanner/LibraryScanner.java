@@ -0,0 +1,275 @@
+package aka.media.jfilenamescanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.helpers.CommonSequences;
+
+/**
+ * Library scanner.
+ *
+ * Walk a media root and scan every file of the tree.
+ * Each directory is read once, on its own virtual thread when the JDK provides them (a pool of platform threads otherwise), so the latency of the directory reads
+ * overlaps; the common sequences of a directory are computed from this listing and shared by the scans of its files.
+ * The results of one scan share their names through a {@link NamePool}.
+ * Symbolic links are not followed.
+ *
+ * @author Charlotte
+ */
+public final class LibraryScanner {
+
+    /**
+     * Number of threads reading directories when virtual threads are not available.
+     */
+    private static final int PLATFORM_THREADS = 16;
+
+    @NonNull
+    private final ScannerEngine engine;
+    @NonNull
+    private final Predicate<@NonNull Path> fileFilter;
+    @Nullable
+    private final PersistentResultCache cache;
+
+    /**
+     * Constructor, all regular files are scanned.
+     *
+     * @param engine engine used to scan
+     */
+    public LibraryScanner(@NonNull final ScannerEngine engine) {
+        this(engine, path -> true);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param fileFilter filter of the regular files to scan (media files)
+     */
+    public LibraryScanner(@NonNull final ScannerEngine engine, @NonNull final Predicate<@NonNull Path> fileFilter) {
+        this(engine, fileFilter, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param fileFilter filter of the regular files to scan (media files)
+     * @param cache cache of the results, the files found in the cache are not scanned again (<code>null</code> to scan all files)
+     */
+    public LibraryScanner(@NonNull final ScannerEngine engine, @NonNull final Predicate<@NonNull Path> fileFilter, @Nullable final PersistentResultCache cache) {
+        this.engine = engine;
+        this.fileFilter = fileFilter;
+        this.cache = cache;
+    }
+
+    /**
+     * Scan all files of the given tree.
+     *
+     * @param root root directory of the library
+     * @return results, sorted by path
+     * @throws Exception if a directory can not be read or a file can not be scanned
+     */
+    @NonNull
+    public List<@NonNull ScanResult> scan(@NonNull final Path root) throws Exception {
+        final var results = new ConcurrentLinkedQueue<@NonNull ScanResult>();
+        scan(root, results::add);
+        final var result = new ArrayList<@NonNull ScanResult>(results);
+        result.sort(Comparator.comparing(ScanResult::getPath));
+        return result;
+    }
+
+    /**
+     * Scan all files of the given tree.
+     * The consumer is called as soon as a file is scanned, from the threads reading the directories: it must be thread safe.
+     *
+     * @param root root directory of the library
+     * @param consumer consumer of the results
+     * @throws Exception if a directory can not be read or a file can not be scanned, the other failures are suppressed by the first one
+     */
+    public void scan(@NonNull final Path root, @NonNull final Consumer<? super @NonNull ScanResult> consumer) throws Exception {
+        scan(root, new NamePool(), consumer);
+    }
+
+    /**
+     * Scan all files of the given tree, see {@link #scan(Path, Consumer)}.
+     * The results share their names through the given pool, whose statistics give the memory saved.
+     *
+     * @param root root directory of the library
+     * @param namePool pool of the names of the results
+     * @param consumer consumer of the results
+     * @throws Exception if a directory can not be read or a file can not be scanned, the other failures are suppressed by the first one
+     */
+    public void scan(@NonNull final Path root, @NonNull final NamePool namePool, @NonNull final Consumer<? super @NonNull ScanResult> consumer) throws Exception {
+        if (!Files.isDirectory(root)) {
+            throw new NotDirectoryException(root.toString());
+        }
+        final var executor = newExecutor();
+        try {
+            final var walk = new Walk(executor, namePool, consumer);
+            walk.submit(root);
+            walk.await();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Scan all files of the given tree and write the index of the results, see {@link LibraryIndex}.
+     *
+     * @param root root directory of the library
+     * @param indexFile index file, replaced if it exists
+     * @return opened index
+     * @throws Exception if a directory can not be read, a file can not be scanned or the index can not be written
+     */
+    @NonNull
+    public LibraryIndex scanToIndex(@NonNull final Path root, @NonNull final Path indexFile) throws Exception {
+        final var store = new ScanResultStore();
+        scan(root, store::add);
+        LibraryIndex.write(store, indexFile);
+        return new LibraryIndex(indexFile);
+    }
+
+    @NonNull
+    private static ExecutorService newExecutor() {
+        ExecutorService result;
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() is only available since Java 21
+            result = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            final var count = new AtomicInteger();
+            result = Executors.newFixedThreadPool(PLATFORM_THREADS, runnable -> {
+                final var thread = new Thread(runnable, "library-scanner-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        assert result != null;
+        return result;
+    }
+
+    /**
+     * State of the walk of one tree.
+     */
+    private final class Walk {
+
+        @NonNull
+        private final ExecutorService executor;
+        @NonNull
+        private final NamePool namePool;
+        @NonNull
+        private final Consumer<? super @NonNull ScanResult> consumer;
+        // Directories submitted and not scanned yet, plus one for the caller of await until it is called: unlike a Phaser, not limited to 65535 parties
+        @NonNull
+        private final AtomicLong pending = new AtomicLong(1);
+        @NonNull
+        private final CountDownLatch done = new CountDownLatch(1);
+        @NonNull
+        private final ConcurrentLinkedQueue<@NonNull Exception> failures = new ConcurrentLinkedQueue<>();
+
+        Walk(@NonNull final ExecutorService executor, @NonNull final NamePool namePool, @NonNull final Consumer<? super @NonNull ScanResult> consumer) {
+            this.executor = executor;
+            this.namePool = namePool;
+            this.consumer = consumer;
+        }
+
+        void submit(@NonNull final Path directory) {
+            this.pending.incrementAndGet();
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        scanDirectory(directory);
+                    } catch (final Exception e) {
+                        this.failures.add(e);
+                    } finally {
+                        arrive();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                arrive();
+                throw e;
+            }
+        }
+
+        void await() throws Exception {
+            arrive();
+            this.done.await();
+            final var first = this.failures.poll();
+            if (first != null) {
+                for (final Exception e : this.failures) {
+                    first.addSuppressed(e);
+                }
+                throw first;
+            }
+        }
+
+        private void arrive() {
+            if (this.pending.decrementAndGet() == 0) {
+                this.done.countDown();
+            }
+        }
+
+        private void scanDirectory(@NonNull final Path directory) throws Exception {
+            // Read the time before the entries so that a modification during the read is not hidden in the cache
+            final var directoryLastModified = Files.getLastModifiedTime(directory).toMillis();
+            final var names = new ArrayList<@NonNull String>();
+            final var files = new ArrayList<@NonNull Path>();
+            final var fileAttributes = new ArrayList<@NonNull BasicFileAttributes>();
+            try (var stream = Files.newDirectoryStream(directory)) {
+                for (final Path entry : stream) {
+                    names.add(entry.getFileName().toString());
+                    final BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (final IOException e) {
+                        // entry removed while listing
+                        continue;
+                    }
+                    if (attributes.isDirectory()) {
+                        submit(entry);
+                    } else if (attributes.isRegularFile() && LibraryScanner.this.fileFilter.test(entry)) {
+                        files.add(entry);
+                        fileAttributes.add(attributes);
+                    }
+                }
+            }
+
+            final var cache = LibraryScanner.this.cache;
+            CommonSequences commonSequences = null;
+            for (int i = 0; i < files.size(); i++) {
+                final var file = files.get(i);
+                final var attributes = fileAttributes.get(i);
+                final var lastModified = attributes.lastModifiedTime().toMillis();
+                var result = cache == null ? null : cache.get(file, attributes.size(), lastModified, directoryLastModified);
+                if (result == null) {
+                    if (commonSequences == null) {
+                        commonSequences = new CommonSequences(names, LibraryScanner.this.engine.getCommonSequenceSampleSize());
+                    }
+                    result = LibraryScanner.this.engine.scan(file.toFile(), commonSequences, EnumSet.allOf(ScanPart.class));
+                    if (cache != null) {
+                        cache.put(file, attributes.size(), lastModified, directoryLastModified, result);
+                    }
+                }
+                this.consumer.accept(this.namePool.intern(result));
+            }
+        }
+    }
+}
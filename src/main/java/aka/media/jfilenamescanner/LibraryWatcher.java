@@ -0,0 +1,346 @@
+package aka.media.jfilenamescanner;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.ChangeType;
+import aka.media.jfilenamescanner.helpers.CommonSequences;
+
+/**
+ * Library watcher.
+ *
+ * Watch a media root and emit a change feed: every file of the tree is scanned when the watch starts, then the events of the {@link WatchService} are grouped until the tree
+ * has been quiet for the debounce delay and only the directories that received events are read again.
+ * In such a directory the new files are scanned, the deleted ones removed and the other ones scanned again only if their common sequence (see {@link CommonSequences})
+ * changed. A renamed directory is a deleted directory and a new one, its whole tree is scanned again since the folder names of its files changed.
+ * The content of a file is never read, so a modified file is not scanned again.
+ * Changes are given to the listener by the thread of the watcher. Symbolic links are not followed.
+ *
+ * @author Charlotte
+ */
+public final class LibraryWatcher implements AutoCloseable {
+
+    /**
+     * Default time without events before the changes are processed.
+     */
+    @NonNull
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(500);
+
+    /**
+     * Maximal time the changes are delayed by a continuous burst of events, in debounce delays.
+     */
+    private static final int MAX_DELAY = 10;
+
+    @NonNull
+    private final ScannerEngine engine;
+    @NonNull
+    private final Path root;
+    @NonNull
+    private final Predicate<@NonNull Path> fileFilter;
+    private final long debounce;
+    @NonNull
+    private final Consumer<? super @NonNull ScanChange> listener;
+    @NonNull
+    private final Map<@NonNull Path, @NonNull DirectoryState> directories = new HashMap<>();
+    @NonNull
+    private final Map<@NonNull WatchKey, @NonNull Path> keys = new HashMap<>();
+    @NonNull
+    private final Map<@NonNull Path, @NonNull ScanResult> results = new HashMap<>();
+    @NonNull
+    private final AtomicLong scanCount = new AtomicLong();
+    @Nullable
+    private WatchService watchService;
+    @Nullable
+    private Thread thread;
+
+    /**
+     * Constructor, all regular files are scanned and the changes are processed after {@link #DEFAULT_DEBOUNCE} without events.
+     *
+     * @param engine engine used to scan
+     * @param root root directory of the library
+     * @param listener listener of the changes
+     */
+    public LibraryWatcher(@NonNull final ScannerEngine engine, @NonNull final Path root, @NonNull final Consumer<? super @NonNull ScanChange> listener) {
+        this(engine, root, path -> true, DEFAULT_DEBOUNCE, listener);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param root root directory of the library
+     * @param fileFilter filter of the regular files to scan (media files)
+     * @param debounce time without events before the changes are processed
+     * @param listener listener of the changes
+     */
+    public LibraryWatcher(@NonNull final ScannerEngine engine, @NonNull final Path root, @NonNull final Predicate<@NonNull Path> fileFilter, @NonNull final Duration debounce, @NonNull final Consumer<? super @NonNull ScanChange> listener) {
+        this.engine = engine;
+        this.root = root;
+        this.fileFilter = fileFilter;
+        this.debounce = debounce.toNanos();
+        this.listener = listener;
+    }
+
+    /**
+     * Scan the whole tree, emitting an {@link ChangeType#ADDED} change per file, then start watching it.
+     *
+     * @throws IOException if the root is not a directory or can not be watched
+     */
+    public synchronized void start() throws IOException {
+        if (this.watchService != null) {
+            throw new IllegalStateException("Watcher already started.");
+        }
+        if (!Files.isDirectory(this.root)) {
+            throw new NotDirectoryException(this.root.toString());
+        }
+        final var service = this.root.getFileSystem().newWatchService();
+        this.watchService = service;
+        final var changes = new ArrayList<@NonNull ScanChange>();
+        addDirectory(this.root, changes);
+        emit(changes);
+
+        final var watcherThread = new Thread(() -> run(service), "library-watcher");
+        watcherThread.setDaemon(true);
+        this.thread = watcherThread;
+        watcherThread.start();
+    }
+
+    /**
+     * Get the number of files scanned since the watch started.
+     *
+     * @return number of scanned files
+     */
+    public long getScanCount() {
+        return this.scanCount.get();
+    }
+
+    /**
+     * Stop watching the tree.
+     *
+     * @throws IOException if the watch service can not be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        final var service = this.watchService;
+        if (service != null) {
+            service.close();
+        }
+        final var watcherThread = this.thread;
+        if (watcherThread != null && watcherThread != Thread.currentThread()) {
+            try {
+                watcherThread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run(@NonNull final WatchService service) {
+        final var changedDirectories = new LinkedHashSet<@NonNull Path>();
+        var firstEvent = 0L;
+        try {
+            while (true) {
+                WatchKey key;
+                if (changedDirectories.isEmpty()) {
+                    key = service.take();
+                    firstEvent = System.nanoTime();
+                } else {
+                    final var timeout = Math.min(this.debounce, firstEvent + MAX_DELAY * this.debounce - System.nanoTime());
+                    key = timeout > 0 ? service.poll(timeout, TimeUnit.NANOSECONDS) : null;
+                }
+
+                if (key == null) {
+                    final var changes = new ArrayList<@NonNull ScanChange>();
+                    for (final Path directory : changedDirectories) {
+                        updateDirectory(directory, changes);
+                    }
+                    changedDirectories.clear();
+                    emit(changes);
+                } else {
+                    final var directory = this.keys.get(key);
+                    // Events only tell which directory changed: its entries are read again when the changes are processed
+                    key.pollEvents();
+                    if (directory != null) {
+                        changedDirectories.add(directory);
+                    }
+                    if (!key.reset()) {
+                        this.keys.remove(key);
+                    }
+                }
+            }
+        } catch (final ClosedWatchServiceException | InterruptedException e) {
+            // watcher closed
+        }
+    }
+
+    private void emit(@NonNull final List<@NonNull ScanChange> changes) {
+        for (final ScanChange change : changes) {
+            this.listener.accept(change);
+        }
+    }
+
+    private void addDirectory(@NonNull final Path directory, @NonNull final List<@NonNull ScanChange> changes) {
+        final var service = this.watchService;
+        assert service != null;
+        final WatchKey key;
+        try {
+            // Register before reading the entries so that no entry created in between is missed
+            key = directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (final IOException e) {
+            // directory removed or not readable
+            return;
+        }
+        final var state = new DirectoryState(key);
+        this.keys.put(key, directory);
+        this.directories.put(directory, state);
+        updateDirectory(directory, changes);
+    }
+
+    private void removeDirectory(@NonNull final Path directory, @NonNull final List<@NonNull ScanChange> changes) {
+        final var state = this.directories.remove(directory);
+        if (state != null) {
+            state.key.cancel();
+            this.keys.remove(state.key);
+            for (final String name : state.files) {
+                removeFile(directory.resolve(name), changes);
+            }
+            for (final String name : state.subdirectories) {
+                removeDirectory(directory.resolve(name), changes);
+            }
+        }
+    }
+
+    private void removeFile(@NonNull final Path file, @NonNull final List<@NonNull ScanChange> changes) {
+        final var result = this.results.remove(file);
+        if (result != null) {
+            changes.add(new ScanChange(ChangeType.REMOVED, file, result));
+        }
+    }
+
+    private void updateDirectory(@NonNull final Path directory, @NonNull final List<@NonNull ScanChange> changes) {
+        final var state = this.directories.get(directory);
+        if (state == null) {
+            // removed with its parent
+            return;
+        }
+
+        final var names = new ArrayList<@NonNull String>();
+        final var files = new TreeSet<@NonNull String>();
+        final var subdirectories = new TreeSet<@NonNull String>();
+        try (var stream = Files.newDirectoryStream(directory)) {
+            for (final Path entry : stream) {
+                final var name = entry.getFileName().toString();
+                names.add(name);
+                final BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                } catch (final IOException e) {
+                    // entry removed while listing
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    subdirectories.add(name);
+                } else if (attributes.isRegularFile() && this.fileFilter.test(entry)) {
+                    files.add(name);
+                }
+            }
+        } catch (final IOException e) {
+            // directory removed
+            removeDirectory(directory, changes);
+            return;
+        }
+
+        for (final String name : state.subdirectories) {
+            if (!subdirectories.contains(name)) {
+                removeDirectory(directory.resolve(name), changes);
+            }
+        }
+        for (final String name : state.files) {
+            if (!files.contains(name)) {
+                removeFile(directory.resolve(name), changes);
+            }
+        }
+
+        final var previousSequences = state.commonSequences;
+        final var commonSequences = new CommonSequences(names, this.engine.getCommonSequenceSampleSize());
+        state.commonSequences = commonSequences;
+        for (final String name : files) {
+            final var file = directory.resolve(name);
+            final var previousResult = this.results.get(file);
+            if (previousResult == null) {
+                scanFile(file, commonSequences, ChangeType.ADDED, changes);
+            } else if (previousSequences != null && !Objects.equals(previousSequences.getCommonSequence(name), commonSequences.getCommonSequence(name))) {
+                scanFile(file, commonSequences, ChangeType.UPDATED, changes);
+            }
+        }
+        state.files = files;
+
+        final var previousSubdirectories = state.subdirectories;
+        state.subdirectories = subdirectories;
+        for (final String name : subdirectories) {
+            if (!previousSubdirectories.contains(name)) {
+                addDirectory(directory.resolve(name), changes);
+            }
+        }
+    }
+
+    private void scanFile(@NonNull final Path file, @NonNull final CommonSequences commonSequences, @NonNull final ChangeType type, @NonNull final List<@NonNull ScanChange> changes) {
+        final ScanResult result;
+        try {
+            result = this.engine.scan(file.toFile(), commonSequences, EnumSet.allOf(ScanPart.class));
+        } catch (final Exception e) {
+            // file can not be scanned
+            return;
+        } finally {
+            this.scanCount.incrementAndGet();
+        }
+        final var previousResult = this.results.put(file, result);
+        if (!result.equals(previousResult)) {
+            changes.add(new ScanChange(type, file, result));
+        }
+    }
+
+    /**
+     * Known entries of a watched directory.
+     */
+    private static final class DirectoryState {
+
+        @NonNull
+        private final WatchKey key;
+        @Nullable
+        private CommonSequences commonSequences;
+        @NonNull
+        private Set<@NonNull String> files = new TreeSet<>();
+        @NonNull
+        private Set<@NonNull String> subdirectories = new TreeSet<>();
+
+        DirectoryState(@NonNull final WatchKey key) {
+            this.key = key;
+        }
+    }
+}
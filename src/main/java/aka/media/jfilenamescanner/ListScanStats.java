@@ -0,0 +1,98 @@
+package aka.media.jfilenamescanner;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * List scan statistics.
+ *
+ * Immutable statistics of a scan of a file name list by a {@link ListScanner}.
+ *
+ * @author Charlotte
+ */
+public final class ListScanStats {
+
+    private final long recordCount;
+    private final long skippedCount;
+    private final long byteCount;
+    private final long elapsedNanos;
+    @NonNull
+    private final NamePoolStats namePoolStats;
+
+    /**
+     * Constructor.
+     *
+     * @param recordCount number of scanned records.
+     * @param skippedCount number of blank records.
+     * @param byteCount size of the list.
+     * @param elapsedNanos duration of the scan.
+     * @param namePoolStats statistics of the pool of the names of the results.
+     */
+    ListScanStats(final long recordCount, final long skippedCount, final long byteCount, final long elapsedNanos, @NonNull final NamePoolStats namePoolStats) {
+        this.recordCount = recordCount;
+        this.skippedCount = skippedCount;
+        this.byteCount = byteCount;
+        this.elapsedNanos = elapsedNanos;
+        this.namePoolStats = namePoolStats;
+    }
+
+    /**
+     * Get the number of scanned records, one result has been given to the sink for each of them.
+     *
+     * @return number of records.
+     */
+    public long getRecordCount() {
+        return this.recordCount;
+    }
+
+    /**
+     * Get the number of blank records (empty lines), which are not scanned.
+     *
+     * @return number of skipped records.
+     */
+    public long getSkippedCount() {
+        return this.skippedCount;
+    }
+
+    /**
+     * Get the size of the list.
+     *
+     * @return number of bytes.
+     */
+    public long getByteCount() {
+        return this.byteCount;
+    }
+
+    /**
+     * Get the duration of the scan, from the opening of the list to the last result.
+     *
+     * @return duration, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Get the number of records scanned per second.
+     *
+     * @return throughput, 0 if the list is empty.
+     */
+    public double getRecordsPerSecond() {
+        return this.elapsedNanos == 0 ? 0 : this.recordCount * 1e9 / this.elapsedNanos;
+    }
+
+    /**
+     * Get the statistics of the pool shared by the names of the results: hit rate and memory saved.
+     *
+     * @return name pool statistics.
+     */
+    @NonNull
+    public NamePoolStats getNamePoolStats() {
+        return this.namePoolStats;
+    }
+
+    @Override
+    public String toString() {
+        return "ListScanStats [recordCount=" + this.recordCount + ", skippedCount=" + this.skippedCount + ", byteCount=" + this.byteCount + ", elapsedNanos=" + this.elapsedNanos
+                + ", recordsPerSecond=" + Math.round(getRecordsPerSecond()) + ", namePoolStats=" + this.namePoolStats + "]";
+    }
+}
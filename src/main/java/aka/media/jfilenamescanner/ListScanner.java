@@ -0,0 +1,312 @@
+package aka.media.jfilenamescanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.Delimiter;
+import aka.media.jfilenamescanner.utils.TextUtils;
+
+/**
+ * List scanner.
+ *
+ * Scan every name of a file name list, as written by <code>find -print</code> or <code>find -print0</code>, with an engine.
+ * The list is memory mapped by windows and split in chunks of records at the delimiters, without copying; each chunk is scanned by one of the threads of the scanner.
+ * The number of chunks waiting for a thread is bounded, so the memory used does not depend on the size of the list.
+ * The records are UTF-8 paths, the bytes that are not valid UTF-8 are read as ISO-8859-1. Blank records are skipped.
+ * Each record is scanned as a path, with its season and TV show folders, but the directories are not read: see {@link ScannerEngine#scanPath(String)}.
+ * The results of one scan share their names through a {@link NamePool}, reported in the {@link ListScanStats}.
+ * Close the scanner to release its threads.
+ *
+ * @author Charlotte
+ */
+public final class ListScanner implements AutoCloseable {
+
+    /**
+     * Size of the mapped windows of the list, a record can not be longer.
+     */
+    private static final int WINDOW_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * Size of the chunks given to the threads.
+     */
+    private static final int CHUNK_SIZE = 256 * 1024;
+
+    @NonNull
+    private final ScannerEngine engine;
+    @NonNull
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int windowSize;
+    private final int chunkSize;
+    @NonNull
+    private final ThreadLocal<byte @NonNull []> buffers = ThreadLocal.withInitial(() -> new byte[256]);
+
+    /**
+     * Constructor, one thread per available processor.
+     *
+     * @param engine engine used to scan
+     */
+    public ListScanner(@NonNull final ScannerEngine engine) {
+        this(engine, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param parallelism number of threads
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public ListScanner(@NonNull final ScannerEngine engine, final int parallelism) {
+        this(engine, parallelism, WINDOW_SIZE, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine used to scan
+     * @param parallelism number of threads
+     * @param windowSize size of the mapped windows
+     * @param chunkSize size of the chunks given to the threads
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    ListScanner(@NonNull final ScannerEngine engine, final int parallelism, final int windowSize, final int chunkSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be greater than 0.");
+        }
+        this.engine = engine;
+        this.parallelism = parallelism;
+        this.windowSize = windowSize;
+        this.chunkSize = chunkSize;
+        final var count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            final var thread = new Thread(runnable, "list-scanner-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return number of threads
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Scan all names of the given list, the delimiter is NUL if the first window of the list contains a NUL byte, a line feed otherwise.
+     * See {@link #scan(Path, Delimiter, Consumer)}.
+     *
+     * @param list file name list
+     * @param sink consumer of the results, thread safe
+     * @return statistics of the scan
+     * @throws Exception if the list can not be read or a record can not be scanned, the other failures are suppressed by the first one
+     */
+    @NonNull
+    public ListScanStats scan(@NonNull final Path list, @NonNull final Consumer<? super @NonNull ScanResult> sink) throws Exception {
+        return scan(list, null, sink);
+    }
+
+    /**
+     * Scan all names of the given list.
+     * The sink is called as soon as a name is scanned, from the threads of the scanner: it must be thread safe, and the results are not in the order of the list.
+     * The scan stops at the first failure.
+     *
+     * @param list file name list
+     * @param delimiter delimiter of the records
+     * @param sink consumer of the results, thread safe
+     * @return statistics of the scan
+     * @throws Exception if the list can not be read or a record can not be scanned, the other failures are suppressed by the first one
+     */
+    @NonNull
+    public ListScanStats scan(@NonNull final Path list, @Nullable final Delimiter delimiter, @NonNull final Consumer<? super @NonNull ScanResult> sink) throws Exception {
+        final var start = System.nanoTime();
+        final var scan = new Scan(sink);
+        long size;
+        try (var channel = FileChannel.open(list, StandardOpenOption.READ)) {
+            size = channel.size();
+            var separator = delimiter == null ? Delimiter.NEWLINE.getByte() : delimiter.getByte();
+            var position = 0L;
+            while (position < size && scan.failures.isEmpty()) {
+                final var length = (int) Math.min(this.windowSize, size - position);
+                final var window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                if (delimiter == null && position == 0 && indexOf(window, Delimiter.NUL.getByte(), 0, length) >= 0) {
+                    separator = Delimiter.NUL.getByte();
+                }
+                // The window ends after its last delimiter, the next one starts with the record cut by the window
+                var end = length;
+                if (position + length < size) {
+                    end = lastIndexOf(window, separator, length) + 1;
+                    if (end == 0) {
+                        throw new IOException("Record longer than " + this.windowSize + " bytes at offset " + position + " of " + list + ".");
+                    }
+                }
+                submitChunks(scan, window, end, separator);
+                position += end;
+            }
+        } finally {
+            scan.await();
+        }
+        scan.throwFailure();
+        return new ListScanStats(scan.records.sum(), scan.skipped.sum(), size, System.nanoTime() - start, scan.namePool.getStats());
+    }
+
+    private void submitChunks(@NonNull final Scan scan, @NonNull final ByteBuffer window, final int end, final byte separator) throws InterruptedException {
+        var chunkStart = 0;
+        while (chunkStart < end && scan.failures.isEmpty()) {
+            var chunkEnd = end;
+            if (end - chunkStart > this.chunkSize) {
+                final var index = indexOf(window, separator, chunkStart + this.chunkSize - 1, end);
+                if (index >= 0) {
+                    chunkEnd = index + 1;
+                }
+            }
+            final var chunk = window.duplicate();
+            chunk.limit(chunkEnd).position(chunkStart);
+            scan.submit(chunk.slice(), separator);
+            chunkStart = chunkEnd;
+        }
+    }
+
+    private static int indexOf(@NonNull final ByteBuffer buffer, final byte value, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(@NonNull final ByteBuffer buffer, final byte value, final int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Release the threads of the scanner.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * State of the scan of one list.
+     */
+    private final class Scan {
+
+        @NonNull
+        private final Consumer<? super @NonNull ScanResult> sink;
+        @NonNull
+        private final NamePool namePool = new NamePool();
+        // Chunks submitted and not scanned yet
+        private final int maxChunks = 2 * ListScanner.this.parallelism;
+        @NonNull
+        private final Semaphore chunks = new Semaphore(this.maxChunks);
+        @NonNull
+        private final LongAdder records = new LongAdder();
+        @NonNull
+        private final LongAdder skipped = new LongAdder();
+        @NonNull
+        private final ConcurrentLinkedQueue<@NonNull Exception> failures = new ConcurrentLinkedQueue<>();
+
+        Scan(@NonNull final Consumer<? super @NonNull ScanResult> sink) {
+            this.sink = sink;
+        }
+
+        void submit(@NonNull final ByteBuffer chunk, final byte separator) throws InterruptedException {
+            this.chunks.acquire();
+            try {
+                ListScanner.this.executor.execute(() -> {
+                    try {
+                        if (this.failures.isEmpty()) {
+                            scanChunk(chunk, separator);
+                        }
+                    } catch (final Exception e) {
+                        this.failures.add(e);
+                    } finally {
+                        this.chunks.release();
+                    }
+                });
+            } catch (final RuntimeException e) {
+                // scanner closed
+                this.chunks.release();
+                throw e;
+            }
+        }
+
+        void await() throws InterruptedException {
+            this.chunks.acquire(this.maxChunks);
+            this.chunks.release(this.maxChunks);
+        }
+
+        void throwFailure() throws Exception {
+            final var first = this.failures.poll();
+            if (first != null) {
+                for (final Exception e : this.failures) {
+                    first.addSuppressed(e);
+                }
+                throw first;
+            }
+        }
+
+        private void scanChunk(@NonNull final ByteBuffer chunk, final byte separator) throws Exception {
+            final var limit = chunk.limit();
+            var recordStart = 0;
+            var records = 0L;
+            var skipped = 0L;
+            for (int i = 0; i <= limit; i++) {
+                // the last record of the list may have no delimiter
+                if (i == limit ? recordStart < limit : chunk.get(i) == separator) {
+                    var length = i - recordStart;
+                    if (separator == '\n' && length > 0 && chunk.get(i - 1) == '\r') {
+                        length--;
+                    }
+                    if (scanRecord(chunk, recordStart, length)) {
+                        records++;
+                    } else {
+                        skipped++;
+                    }
+                    recordStart = i + 1;
+                }
+            }
+            this.records.add(records);
+            this.skipped.add(skipped);
+        }
+
+        private boolean scanRecord(@NonNull final ByteBuffer chunk, final int offset, final int length) throws Exception {
+            var buffer = ListScanner.this.buffers.get();
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, 2 * buffer.length)];
+                ListScanner.this.buffers.set(buffer);
+            }
+            // Copy the record from the mapped chunk into the buffer of the thread
+            chunk.position(offset);
+            chunk.get(buffer, 0, length);
+            final var result = !TextUtils.isBlank(buffer, 0, length);
+            if (result) {
+                this.sink.accept(this.namePool.intern(ListScanner.this.engine.scanPath(TextUtils.decodeFileName(buffer, 0, length))));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package aka.media.jfilenamescanner;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Matcher statistics.
+ *
+ * Immutable snapshot of the statistics of one matcher or one episode pattern of a {@link ScanMetrics}.
+ *
+ * @author Charlotte
+ */
+public final class MatcherStats {
+
+    @NonNull
+    private final String name;
+    private final long invocationCount;
+    private final long foundCount;
+    private final long selectedCount;
+    private final long totalNanos;
+    private final long @NonNull [] latencyHistogram;
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the matcher.
+     * @param invocationCount number of times the matcher has been run.
+     * @param foundCount number of times the matcher found something.
+     * @param selectedCount number of times the result of the matcher has been selected.
+     * @param totalNanos total time spent in the matcher, in nanoseconds.
+     * @param latencyHistogram number of runs by power of two of their duration in nanoseconds.
+     */
+    MatcherStats(@NonNull final String name, final long invocationCount, final long foundCount, final long selectedCount, final long totalNanos, final long @NonNull [] latencyHistogram) {
+        this.name = name;
+        this.invocationCount = invocationCount;
+        this.foundCount = foundCount;
+        this.selectedCount = selectedCount;
+        this.totalNanos = totalNanos;
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * Get the name of the matcher: <code>movie.</code>, <code>tvShow.</code> or <code>episode.</code> followed by the name of the matcher type or of the pattern.
+     *
+     * @return name.
+     */
+    @NonNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the number of times the matcher has been run.
+     *
+     * @return number of invocations.
+     */
+    public long getInvocationCount() {
+        return this.invocationCount;
+    }
+
+    /**
+     * Get the number of times the matcher found something.
+     *
+     * @return number of hits.
+     */
+    public long getFoundCount() {
+        return this.foundCount;
+    }
+
+    /**
+     * Get the ratio of runs where the matcher found something.
+     *
+     * @return hit rate, between 0 and 1 (0 if the matcher has not been run).
+     */
+    public double getHitRate() {
+        return this.invocationCount == 0 ? 0.0 : (double) this.foundCount / this.invocationCount;
+    }
+
+    /**
+     * Get the number of times the result of the matcher has been the one selected, always 0 for an episode pattern.
+     *
+     * @return number of selections.
+     */
+    public long getSelectedCount() {
+        return this.selectedCount;
+    }
+
+    /**
+     * Get the total time spent in the matcher.
+     *
+     * @return total time, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    /**
+     * Get the mean time of a run of the matcher.
+     *
+     * @return mean time, in nanoseconds (0 if the matcher has not been run).
+     */
+    public double getMeanNanos() {
+        return this.invocationCount == 0 ? 0.0 : (double) this.totalNanos / this.invocationCount;
+    }
+
+    /**
+     * Get the latency histogram: the value at index i is the number of runs that took between 2<sup>i</sup> (0 for i = 0) and 2<sup>i+1</sup> nanoseconds.
+     *
+     * @return copy of the histogram.
+     */
+    public long @NonNull [] getLatencyHistogram() {
+        return this.latencyHistogram.clone();
+    }
+
+    /**
+     * Get an upper bound of the given percentile of the time of a run, from the histogram.
+     *
+     * @param percentile percentile, between 0 and 100
+     * @return upper bound of the percentile, in nanoseconds (0 if the matcher has not been run).
+     */
+    public long getLatencyPercentile(final double percentile) {
+        final var rank = Math.ceil(this.invocationCount * percentile / 100.0);
+        var count = 0L;
+        for (int i = 0; i < this.latencyHistogram.length; i++) {
+            count += this.latencyHistogram[i];
+            if (count > 0 && count >= rank) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << i + 1) - 1;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return "MatcherStats [name=" + this.name + ", invocationCount=" + this.invocationCount + ", foundCount=" + this.foundCount + ", selectedCount=" + this.selectedCount + ", totalNanos="
+                + this.totalNanos + "]";
+    }
+}
@@ -0,0 +1,133 @@
+package aka.media.jfilenamescanner;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Name pool.
+ *
+ * Pool of the names found by the scans of a batch, a library or a list: every result with the same movie name, year or TV show name shares a single instance of the
+ * string, instead of the copy made by each scan. Unlike {@link String#intern()}, the pool only lives as long as its scope (for instance one
+ * {@link BatchScanner#scanAll(java.util.Collection)} call) and is released with it.
+ * A pool is thread safe; it can be bounded, once full the names that are not in the pool are returned as is.
+ *
+ * @author Charlotte
+ */
+public final class NamePool {
+
+    // Estimated size of a string without its characters: header, hash, coder and value fields, header and length of the array
+    private static final int STRING_OVERHEAD = 40;
+
+    private final int maximumEntries;
+    @NonNull
+    private final ConcurrentHashMap<@NonNull String, @NonNull String> names = new ConcurrentHashMap<>();
+    @NonNull
+    private final AtomicInteger entries = new AtomicInteger();
+    @NonNull
+    private final LongAdder lookups = new LongAdder();
+    @NonNull
+    private final LongAdder hits = new LongAdder();
+    @NonNull
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Constructor of an unbounded pool.
+     */
+    public NamePool() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maximumEntries maximal number of names in the pool
+     * @throws IllegalArgumentException if maximumEntries is less than 1
+     */
+    public NamePool(final int maximumEntries) {
+        if (maximumEntries < 1) {
+            throw new IllegalArgumentException("Maximum entries must be greater than 0.");
+        }
+        this.maximumEntries = maximumEntries;
+    }
+
+    /**
+     * Get the pooled instance of the given name, adding the name to the pool if needed.
+     *
+     * @param name name
+     * @return equal name of the pool, the given name if it is new or if the pool is full, <code>null</code> if name is <code>null</code>
+     */
+    @Nullable
+    public String intern(@Nullable final String name) {
+        if (name == null) {
+            return null;
+        }
+        this.lookups.increment();
+        var result = this.names.get(name);
+        if (result == null) {
+            if (this.entries.get() >= this.maximumEntries) {
+                return name;
+            }
+            result = this.names.putIfAbsent(name, name);
+            if (result == null) {
+                this.entries.incrementAndGet();
+                return name;
+            }
+        }
+        this.hits.increment();
+        if (result != name) {
+            this.savedBytes.add(estimateBytes(name));
+        }
+        return result;
+    }
+
+    /**
+     * Get the given result with the pooled instances of its movie name, movie year and TV show name.
+     *
+     * @param result scan result
+     * @return equal result using the names of the pool, the given result if it already uses them
+     */
+    @NonNull
+    public ScanResult intern(@NonNull final ScanResult result) {
+        final var movieName = intern(result.getMovieName());
+        final var movieYear = intern(result.getMovieYear());
+        final var tvShowName = intern(result.getTVShowName());
+        if (movieName == result.getMovieName() && movieYear == result.getMovieYear() && tvShowName == result.getTVShowName()) {
+            return result;
+        }
+        return new ScanResult(result.getName(), result.getPath(), movieName, movieYear, tvShowName, result.getSeason(), result.getEpisode());
+    }
+
+    /**
+     * Get the statistics of the pool.
+     *
+     * @return snapshot of the statistics
+     */
+    @NonNull
+    public NamePoolStats getStats() {
+        return new NamePoolStats(this.lookups.sum(), this.hits.sum(), this.entries.get(), this.savedBytes.sum());
+    }
+
+    /**
+     * Remove all the names of the pool, the statistics are kept.
+     */
+    public void clear() {
+        this.names.clear();
+        this.entries.set(0);
+    }
+
+    private static long estimateBytes(@NonNull final String name) {
+        // Compact strings: one byte per character when all of them are ISO-8859-1, two otherwise; objects aligned on 8 bytes
+        var bytesPerChar = 1;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return STRING_OVERHEAD + ((long) bytesPerChar * name.length() + 7 & ~7L);
+    }
+}
@@ -0,0 +1,81 @@
+package aka.media.jfilenamescanner;
+
+/**
+ * Name pool statistics.
+ *
+ * Immutable snapshot of the statistics of a {@link NamePool}.
+ *
+ * @author Charlotte
+ */
+public final class NamePoolStats {
+
+    private final long lookupCount;
+    private final long hitCount;
+    private final long entryCount;
+    private final long savedBytes;
+
+    /**
+     * Constructor.
+     *
+     * @param lookupCount number of names looked up.
+     * @param hitCount number of names found in the pool.
+     * @param entryCount number of names in the pool.
+     * @param savedBytes estimated memory of the copies replaced by a pooled name.
+     */
+    NamePoolStats(final long lookupCount, final long hitCount, final long entryCount, final long savedBytes) {
+        this.lookupCount = lookupCount;
+        this.hitCount = hitCount;
+        this.entryCount = entryCount;
+        this.savedBytes = savedBytes;
+    }
+
+    /**
+     * Get the number of names looked up.
+     *
+     * @return number of lookups.
+     */
+    public long getLookupCount() {
+        return this.lookupCount;
+    }
+
+    /**
+     * Get the number of names found in the pool.
+     *
+     * @return number of hits.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Get the ratio of names found in the pool.
+     *
+     * @return hit rate, between 0 and 1 (0 if no name has been looked up).
+     */
+    public double getHitRate() {
+        return this.lookupCount == 0 ? 0.0 : (double) this.hitCount / this.lookupCount;
+    }
+
+    /**
+     * Get the number of names in the pool.
+     *
+     * @return number of entries.
+     */
+    public long getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Get the estimated memory of the copies replaced by a pooled name, that can be reclaimed by the garbage collector.
+     *
+     * @return estimated memory saved, in bytes.
+     */
+    public long getSavedBytes() {
+        return this.savedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "NamePoolStats [lookupCount=" + this.lookupCount + ", hitCount=" + this.hitCount + ", entryCount=" + this.entryCount + ", savedBytes=" + this.savedBytes + "]";
+    }
+}
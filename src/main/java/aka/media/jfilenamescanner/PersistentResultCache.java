@@ -0,0 +1,370 @@
+package aka.media.jfilenamescanner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Persistent result cache.
+ *
+ * Scan results stored in a file, keyed by the absolute path of the scanned file and valid while its size, its last modified time and the last modified time of its
+ * directory (the common sequences of the directory depend on the other files) are unchanged.
+ * The file starts with the fingerprint of the engine (see {@link ScannerEngine#getFingerprint()}): a cache written by an engine with another configuration is
+ * emptied when opened. Results are appended as records protected by a CRC32, the file is memory mapped by windows when opened and read until the first incomplete or
+ * corrupted record, so a write interrupted by a crash only loses the records being written. When most of the records have been replaced, the file is rewritten when opened.
+ * A cache is thread safe, results are written to the file by blocks: close the cache to write the last ones.
+ *
+ * @author Charlotte
+ */
+public final class PersistentResultCache implements AutoCloseable {
+
+    // "JFNS"
+    private static final int MAGIC = 0x4A464E53;
+    // To increment when the format of the records or the results of the helpers change
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_COMPACT_RECORDS = 1024;
+    // Size of the mapped windows of the file read when opened, a window starts at a record
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    @NonNull
+    private final Path file;
+    @NonNull
+    private final ScannerEngine engine;
+    private final long fingerprint;
+    private final int windowSize;
+    @NonNull
+    private final Map<@NonNull String, @NonNull Entry> entries = new ConcurrentHashMap<>();
+    @NonNull
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(BUFFER_SIZE);
+    @NonNull
+    private FileChannel channel;
+    private long position;
+    private int records;
+
+    /**
+     * Constructor, open or create the given cache file.
+     *
+     * @param file cache file
+     * @param engine engine used to scan the files that are not in the cache
+     * @throws IOException if the cache file can not be read or written
+     */
+    public PersistentResultCache(@NonNull final Path file, @NonNull final ScannerEngine engine) throws IOException {
+        this(file, engine, WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor, open or create the given cache file.
+     *
+     * @param file cache file
+     * @param engine engine used to scan the files that are not in the cache
+     * @param windowSize size of the windows mapped to read the file, in bytes
+     * @throws IOException if the cache file can not be read or written
+     */
+    PersistentResultCache(@NonNull final Path file, @NonNull final ScannerEngine engine, final int windowSize) throws IOException {
+        this.file = file;
+        this.engine = engine;
+        this.windowSize = windowSize;
+        this.fingerprint = engine.getFingerprint();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        load();
+        if (this.records >= MIN_COMPACT_RECORDS && this.records > 2 * this.entries.size()) {
+            compact();
+        }
+    }
+
+    /**
+     * Get the number of results in the cache.
+     *
+     * @return number of results
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Get the result of the given file from the cache, or scan it and store its result.
+     *
+     * @param path file to scan
+     * @return scan result
+     * @throws Exception if file can not be read or its name is empty
+     */
+    @NonNull
+    public ScanResult scan(@NonNull final Path path) throws Exception {
+        final var attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        final var parent = path.toAbsolutePath().getParent();
+        final var directoryLastModified = parent == null ? 0 : Files.getLastModifiedTime(parent).toMillis();
+        final var lastModified = attributes.lastModifiedTime().toMillis();
+        var result = get(path, attributes.size(), lastModified, directoryLastModified);
+        if (result == null) {
+            result = this.engine.scan(path.toFile());
+            put(path, attributes.size(), lastModified, directoryLastModified, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the result of the given file.
+     *
+     * @param path scanned file
+     * @param size size of the file
+     * @param lastModified last modified time of the file, in milliseconds
+     * @param directoryLastModified last modified time of the directory of the file, in milliseconds
+     * @return scan result, <code>null</code> if the file is not in the cache or has been modified
+     */
+    @Nullable
+    public ScanResult get(@NonNull final Path path, final long size, final long lastModified, final long directoryLastModified) {
+        final var entry = this.entries.get(path.toAbsolutePath().toString());
+        ScanResult result = null;
+        if (entry != null && entry.size == size && entry.lastModified == lastModified && entry.directoryLastModified == directoryLastModified) {
+            final var cached = entry.result;
+            result = path.equals(cached.getPath()) ? cached
+                    : new ScanResult(cached.getName(), path, cached.getMovieName(), cached.getMovieYear(), cached.getTVShowName(), cached.getSeason(), cached.getEpisode());
+        }
+        return result;
+    }
+
+    /**
+     * Store the result of the given file.
+     *
+     * @param path scanned file
+     * @param size size of the file
+     * @param lastModified last modified time of the file, in milliseconds
+     * @param directoryLastModified last modified time of the directory of the file, in milliseconds
+     * @param result scan result
+     * @throws IOException if the cache file can not be written
+     */
+    public void put(@NonNull final Path path, final long size, final long lastModified, final long directoryLastModified, @NonNull final ScanResult result) throws IOException {
+        final var absolutePath = path.toAbsolutePath();
+        final var entry = new Entry(size, lastModified, directoryLastModified, result);
+        synchronized (this) {
+            // Same order in the map and in the file: the last record of a path is its entry
+            write(absolutePath.toString(), entry);
+            this.entries.put(absolutePath.toString(), entry);
+            if (this.buffer.size() >= BUFFER_SIZE) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Write the stored results to the cache file.
+     *
+     * @throws IOException if the cache file can not be written
+     */
+    public synchronized void flush() throws IOException {
+        if (this.buffer.size() > 0) {
+            final var bytes = ByteBuffer.wrap(this.buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                this.position += this.channel.write(bytes, this.position);
+            }
+            this.buffer.reset();
+        }
+    }
+
+    /**
+     * Write the stored results and close the cache file.
+     *
+     * @throws IOException if the cache file can not be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private void load() throws IOException {
+        final var fileSize = this.channel.size();
+        var valid = 0L;
+        if (fileSize >= HEADER_SIZE) {
+            final var header = this.channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() == MAGIC && header.getInt() == FORMAT_VERSION && header.getLong() == this.fingerprint) {
+                valid = HEADER_SIZE;
+                final var crc = new CRC32();
+                var windowStart = valid;
+                var window = mapWindow(windowStart, fileSize, 0);
+                while (fileSize - valid >= RECORD_HEADER_SIZE) {
+                    var offset = (int) (valid - windowStart);
+                    if (window.limit() - offset < RECORD_HEADER_SIZE) {
+                        windowStart = valid;
+                        window = mapWindow(windowStart, fileSize, RECORD_HEADER_SIZE);
+                        offset = 0;
+                    }
+                    final var length = window.getInt(offset);
+                    final var checksum = window.getInt(offset + 4);
+                    if (length <= 0 || length > fileSize - valid - RECORD_HEADER_SIZE || length > Integer.MAX_VALUE - RECORD_HEADER_SIZE) {
+                        break;
+                    }
+                    if (window.limit() - offset - RECORD_HEADER_SIZE < length) {
+                        // The record ends after the window: the next window starts at the record
+                        windowStart = valid;
+                        window = mapWindow(windowStart, fileSize, RECORD_HEADER_SIZE + length);
+                        offset = 0;
+                    }
+                    final var bounds = window.duplicate();
+                    bounds.limit(offset + RECORD_HEADER_SIZE + length).position(offset + RECORD_HEADER_SIZE);
+                    final var record = bounds.slice();
+                    crc.reset();
+                    crc.update(record.duplicate());
+                    if ((int) crc.getValue() != checksum || !read(record)) {
+                        break;
+                    }
+                    valid += RECORD_HEADER_SIZE + length;
+                    this.records++;
+                }
+            }
+        }
+
+        if (valid == 0) {
+            // New file, other format or other engine configuration
+            this.channel.truncate(0);
+            final var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(FORMAT_VERSION).putLong(this.fingerprint);
+            header.flip();
+            while (header.hasRemaining()) {
+                this.channel.write(header, HEADER_SIZE - header.remaining());
+            }
+            valid = HEADER_SIZE;
+        } else if (valid < fileSize) {
+            // Drop the incomplete record of an interrupted write
+            this.channel.truncate(valid);
+        }
+        this.position = valid;
+    }
+
+    @NonNull
+    private ByteBuffer mapWindow(final long start, final long fileSize, final int minimum) throws IOException {
+        final var result = this.channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(fileSize - start, Math.max(this.windowSize, minimum)));
+        assert result != null;
+        return result;
+    }
+
+    private void compact() throws IOException {
+        final var temporaryFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        Files.deleteIfExists(temporaryFile);
+        try (var compacted = new PersistentResultCache(temporaryFile, this.engine, this.windowSize)) {
+            for (final Map.Entry<@NonNull String, @NonNull Entry> entry : this.entries.entrySet()) {
+                synchronized (compacted) {
+                    compacted.write(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        this.channel.close();
+        Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.records = this.entries.size();
+        this.position = this.channel.size();
+    }
+
+    private boolean read(@NonNull final ByteBuffer record) {
+        var result = false;
+        try {
+            final var path = readString(record);
+            if (path != null) {
+                final var size = record.getLong();
+                final var lastModified = record.getLong();
+                final var directoryLastModified = record.getLong();
+                final var movieName = readString(record);
+                final var movieYear = readString(record);
+                final var tvShowName = readString(record);
+                final var season = record.getInt();
+                final var episode = record.getInt();
+                final var resultPath = Paths.get(path);
+                final var fileName = resultPath.getFileName();
+                if (fileName != null && !record.hasRemaining()) {
+                    final var name = fileName.toString();
+                    assert name != null;
+                    final var scanResult = new ScanResult(name, resultPath, movieName, movieYear, tvShowName, season, episode);
+                    this.entries.put(path, new Entry(size, lastModified, directoryLastModified, scanResult));
+                    result = true;
+                }
+            }
+        } catch (final BufferUnderflowException | IllegalArgumentException e) {
+            // corrupted record
+        }
+        return result;
+    }
+
+    @Nullable
+    private static String readString(@NonNull final ByteBuffer record) {
+        final var length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void write(@NonNull final String path, @NonNull final Entry entry) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            writeString(out, path);
+            out.writeLong(entry.size);
+            out.writeLong(entry.lastModified);
+            out.writeLong(entry.directoryLastModified);
+            writeString(out, entry.result.getMovieName());
+            writeString(out, entry.result.getMovieYear());
+            writeString(out, entry.result.getTVShowName());
+            out.writeInt(entry.result.getSeason());
+            out.writeInt(entry.result.getEpisode());
+        }
+        final var record = bytes.toByteArray();
+        final var crc = new CRC32();
+        crc.update(record);
+        final var out = new DataOutputStream(this.buffer);
+        out.writeInt(record.length);
+        out.writeInt((int) crc.getValue());
+        out.write(record);
+        this.records++;
+    }
+
+    private static void writeString(@NonNull final DataOutputStream out, @Nullable final String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            final var bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Stored result of a file.
+     */
+    private static final class Entry {
+
+        private final long size;
+        private final long lastModified;
+        private final long directoryLastModified;
+        @NonNull
+        private final ScanResult result;
+
+        Entry(final long size, final long lastModified, final long directoryLastModified, @NonNull final ScanResult result) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.directoryLastModified = directoryLastModified;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package aka.media.jfilenamescanner;
+
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Scan cache.
+ *
+ * Bounded cache of the results of an engine, keyed by the scanned name, for the names seen several times (retries, mirrors of the same release...).
+ * The cache is bounded by a number of entries or by an estimation of the memory used by the entries, the least recently used entries are evicted first.
+ * Entries are split between independent segments, each one locked separately, so that the threads using the cache rarely wait for each other. The least recently used
+ * entry is evicted from the segment of the new entry. A small cache has fewer segments, so that each segment holds at least one entry, and the segments share the maximum
+ * exactly.
+ * The scan of a missing name is done outside of the lock: two threads scanning the same missing name at the same time both scan it.
+ *
+ * @author Charlotte
+ */
+public final class ScanCache {
+
+    private static final int SEGMENTS = 16;
+
+    // Estimated size of a cache entry without its strings: entry of the map, result and strings headers
+    private static final int ENTRY_OVERHEAD = 200;
+
+    // Minimal estimated memory of a segment bounded by memory: a few entries with their strings
+    private static final int SEGMENT_MINIMUM_BYTES = 4 * ENTRY_OVERHEAD;
+
+    @NonNull
+    private final ScannerEngine engine;
+    private final boolean weighted;
+    @NonNull
+    private final Segment @NonNull [] segments;
+    @NonNull
+    private final LongAdder hits = new LongAdder();
+    @NonNull
+    private final LongAdder misses = new LongAdder();
+    @NonNull
+    private final LongAdder evictions = new LongAdder();
+    @NonNull
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    private ScanCache(@NonNull final Builder builder) {
+        this.engine = builder.engine;
+        this.weighted = builder.maximumBytes > 0;
+        final var maximum = this.weighted ? builder.maximumBytes : builder.maximumEntries;
+        // Power of two, at least one entry (a few when bounded by memory) per segment
+        var count = SEGMENTS;
+        while (count > 1 && maximum / count < (this.weighted ? SEGMENT_MINIMUM_BYTES : 1)) {
+            count /= 2;
+        }
+        this.segments = new Segment[count];
+        // The remainder goes to the first segments, so that the segments hold the maximum and no more
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new Segment(maximum / count + (i < maximum % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Create a new builder of a cache of the given engine.
+     *
+     * @param engine engine used to scan the names missing in the cache
+     * @return new builder
+     */
+    @NonNull
+    public static Builder builder(@NonNull final ScannerEngine engine) {
+        return new Builder(engine);
+    }
+
+    /**
+     * Get the result of the given name from the cache, or scan it and store its result.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public ScanResult scan(@NonNull final String name) throws Exception {
+        final var segment = getSegment(name);
+        var result = segment.get(name);
+        if (result == null) {
+            this.misses.increment();
+            result = this.engine.scan(name);
+            segment.put(name, result);
+        } else {
+            this.hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Get the result of the given name if it is in the cache.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan, <code>null</code> if not in the cache
+     */
+    @Nullable
+    public ScanResult getIfPresent(@NonNull final String name) {
+        final var result = getSegment(name).get(name);
+        if (result == null) {
+            this.misses.increment();
+        } else {
+            this.hits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Remove all the entries of the cache, the statistics are kept.
+     */
+    public void invalidateAll() {
+        for (final Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Get the statistics of the cache.
+     *
+     * @return snapshot of the statistics
+     */
+    @NonNull
+    public ScanCacheStats getStats() {
+        var entries = 0L;
+        for (final Segment segment : this.segments) {
+            entries += segment.size();
+        }
+        return new ScanCacheStats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), entries, this.estimatedBytes.get());
+    }
+
+    @NonNull
+    private Segment getSegment(@NonNull final String name) {
+        final var hash = name.hashCode();
+        return this.segments[(hash ^ hash >>> 16) & this.segments.length - 1];
+    }
+
+    private static long estimateBytes(@NonNull final String name, @NonNull final ScanResult result) {
+        // The name is both the key and the name of the result
+        return ENTRY_OVERHEAD + 2L * (name.length() + length(result.getMovieName()) + length(result.getMovieYear()) + length(result.getTVShowName()));
+    }
+
+    private static int length(@Nullable final String str) {
+        return str == null ? 0 : str.length();
+    }
+
+    /**
+     * Segment of the cache: least recently used entries, guarded by the segment itself.
+     */
+    private final class Segment {
+
+        private final long maximum;
+        @NonNull
+        private final LinkedHashMap<@NonNull String, @NonNull ScanResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        Segment(final long maximum) {
+            this.maximum = maximum;
+        }
+
+        @Nullable
+        synchronized ScanResult get(@NonNull final String name) {
+            return this.entries.get(name);
+        }
+
+        synchronized void put(@NonNull final String name, @NonNull final ScanResult result) {
+            final var previous = this.entries.put(name, result);
+            if (previous != null) {
+                remove(name, previous);
+            }
+            add(name, result);
+
+            final var iterator = this.entries.entrySet().iterator();
+            while (this.weight > this.maximum && iterator.hasNext()) {
+                final var eldest = iterator.next();
+                iterator.remove();
+                remove(eldest.getKey(), eldest.getValue());
+                ScanCache.this.evictions.increment();
+            }
+        }
+
+        synchronized void clear() {
+            for (final var entry : this.entries.entrySet()) {
+                remove(entry.getKey(), entry.getValue());
+            }
+            this.entries.clear();
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+        private void add(@NonNull final String name, @NonNull final ScanResult result) {
+            final var bytes = estimateBytes(name, result);
+            this.weight += ScanCache.this.weighted ? bytes : 1;
+            ScanCache.this.estimatedBytes.addAndGet(bytes);
+        }
+
+        private void remove(@NonNull final String name, @NonNull final ScanResult result) {
+            final var bytes = estimateBytes(name, result);
+            this.weight -= ScanCache.this.weighted ? bytes : 1;
+            ScanCache.this.estimatedBytes.addAndGet(-bytes);
+        }
+    }
+
+    /**
+     * Builder of {@link ScanCache}.
+     *
+     * @author Charlotte
+     */
+    public static final class Builder {
+
+        @NonNull
+        private final ScannerEngine engine;
+        private long maximumEntries = 10_000;
+        private long maximumBytes = 0;
+
+        private Builder(@NonNull final ScannerEngine engine) {
+            this.engine = engine;
+        }
+
+        /**
+         * Bound the cache by a number of entries (10 000 by default).
+         *
+         * @param entries maximal number of entries
+         * @return this builder
+         */
+        @NonNull
+        public Builder maximumEntries(final long entries) {
+            this.maximumEntries = entries;
+            this.maximumBytes = 0;
+            return this;
+        }
+
+        /**
+         * Bound the cache by the estimated memory used by its entries instead of their number.
+         *
+         * @param bytes maximal estimated memory, in bytes (at least 800)
+         * @return this builder
+         */
+        @NonNull
+        public Builder maximumBytes(final long bytes) {
+            this.maximumBytes = bytes;
+            return this;
+        }
+
+        /**
+         * Build the cache.
+         *
+         * @return new cache
+         * @throws IllegalArgumentException if the maximal number of entries is not positive or the maximal memory can not hold a few entries
+         */
+        @NonNull
+        public ScanCache build() {
+            if (this.maximumEntries <= 0 || this.maximumBytes < 0) {
+                throw new IllegalArgumentException("Maximal size must be greater than 0.");
+            }
+            if (this.maximumBytes > 0 && this.maximumBytes < SEGMENT_MINIMUM_BYTES) {
+                throw new IllegalArgumentException("Maximal memory must be at least " + SEGMENT_MINIMUM_BYTES + " bytes.");
+            }
+            return new ScanCache(this);
+        }
+    }
+}
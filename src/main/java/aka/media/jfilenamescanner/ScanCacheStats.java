@@ -0,0 +1,95 @@
+package aka.media.jfilenamescanner;
+
+/**
+ * Scan cache statistics.
+ *
+ * Immutable snapshot of the statistics of a {@link ScanCache}.
+ *
+ * @author Charlotte
+ */
+public final class ScanCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long entryCount;
+    private final long estimatedBytes;
+
+    /**
+     * Constructor.
+     *
+     * @param hitCount number of names found in the cache.
+     * @param missCount number of names missing in the cache.
+     * @param evictionCount number of evicted entries.
+     * @param entryCount number of entries.
+     * @param estimatedBytes estimated memory used by the entries.
+     */
+    ScanCacheStats(final long hitCount, final long missCount, final long evictionCount, final long entryCount, final long estimatedBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Get the number of names found in the cache.
+     *
+     * @return number of hits.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Get the number of names missing in the cache.
+     *
+     * @return number of misses.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Get the ratio of names found in the cache.
+     *
+     * @return hit rate, between 0 and 1 (1 if no name has been requested).
+     */
+    public double getHitRate() {
+        final var requests = this.hitCount + this.missCount;
+        return requests == 0 ? 1.0 : (double) this.hitCount / requests;
+    }
+
+    /**
+     * Get the number of entries evicted to respect the size of the cache.
+     *
+     * @return number of evictions.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return number of entries.
+     */
+    public long getEntryCount() {
+        return this.entryCount;
+    }
+
+    /**
+     * Get the estimated memory used by the entries.
+     *
+     * @return estimated memory, in bytes.
+     */
+    public long getEstimatedBytes() {
+        return this.estimatedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanCacheStats [hitCount=" + this.hitCount + ", missCount=" + this.missCount + ", evictionCount=" + this.evictionCount + ", entryCount=" + this.entryCount + ", estimatedBytes="
+                + this.estimatedBytes + "]";
+    }
+}
@@ -0,0 +1,72 @@
+package aka.media.jfilenamescanner;
+
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import aka.media.jfilenamescanner.constants.ChangeType;
+
+/**
+ * Scan change.
+ *
+ * Immutable change of a file of a library watched by a {@link LibraryWatcher}.
+ *
+ * @author Charlotte
+ */
+public final class ScanChange {
+
+    @NonNull
+    private final ChangeType type;
+    @NonNull
+    private final Path path;
+    @NonNull
+    private final ScanResult result;
+
+    /**
+     * Constructor.
+     *
+     * @param type type of change.
+     * @param path path of the file.
+     * @param result scan result of the file.
+     */
+    ScanChange(@NonNull final ChangeType type, @NonNull final Path path, @NonNull final ScanResult result) {
+        this.type = type;
+        this.path = path;
+        this.result = result;
+    }
+
+    /**
+     * Get the type of change.
+     *
+     * @return type of change.
+     */
+    @NonNull
+    public ChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Get the path of the file.
+     *
+     * @return path of the file.
+     */
+    @NonNull
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Get the scan result of the file.
+     *
+     * @return new scan result, or last scan result of a removed file.
+     */
+    @NonNull
+    public ScanResult getResult() {
+        return this.result;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanChange [type=" + this.type + ", path=" + this.path + "]";
+    }
+}
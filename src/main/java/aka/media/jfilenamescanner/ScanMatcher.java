@@ -0,0 +1,58 @@
+package aka.media.jfilenamescanner;
+
+import java.io.File;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+
+/**
+ * Scan matcher.
+ *
+ * Strategy finding a movie or TV show name, registered with {@link ScannerEngine.Builder#movieMatcher(ScanMatcher)} or
+ * {@link ScannerEngine.Builder#tvShowMatcher(ScanMatcher)}.
+ * The engine runs its matchers, built-in and registered ones, from the cheapest to the most expensive and stops as soon as a matcher finds a name with a priority at
+ * least as high as {@link ScannerEngine#getConfidence()}: a cheap matcher with a high priority, like a dictionary of known names, saves the work of all the others.
+ * A matcher is shared by all the scans of the engine and must be thread safe.
+ *
+ * @author Charlotte
+ */
+public interface ScanMatcher {
+
+    /**
+     * Get the name of the matcher.
+     *
+     * @return name of the matcher
+     */
+    @NonNull
+    String getName();
+
+    /**
+     * Get the relative cost of the matcher. The built-in matchers cost from 10 to 40, see {@link aka.media.jfilenamescanner.constants.MovieMatcherType#getCost()} and
+     * {@link aka.media.jfilenamescanner.constants.TVShowMatcherType#getCost()}; a matcher with the same cost as a built-in one runs after it.
+     *
+     * @return cost of the matcher
+     */
+    int getCost();
+
+    /**
+     * Get the priority of the names found by the matcher.
+     *
+     * @return priority
+     */
+    @NonNull
+    Priority getPriority();
+
+    /**
+     * Find the name of the given movie or TV show.
+     *
+     * @param name name of the file
+     * @param file scanned file, <code>null</code> when a name is scanned
+     * @param context context of the current scan, giving access to the standardized and filtered names
+     * @return name found, standardized by the engine, <code>null</code> or empty if not found
+     */
+    @Nullable
+    String match(@NonNull String name, @Nullable File file, @NonNull ScanContext context);
+}
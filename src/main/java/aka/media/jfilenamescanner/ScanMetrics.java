@@ -0,0 +1,301 @@
+package aka.media.jfilenamescanner;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.MovieMatcherType;
+import aka.media.jfilenamescanner.constants.TVShowMatcherType;
+import aka.media.jfilenamescanner.constants.TvShowPattern;
+
+/**
+ * Scan metrics.
+ *
+ * Counters and latency histograms of each matcher of an engine built with {@link ScannerEngine.Builder#metrics(boolean)}: how often each movie matcher, TV show matcher and
+ * episode pattern is run, finds something and has its result selected, how long it takes, how often no matcher finds anything, and the totals of the scans.
+ * The statistics can be read with {@link #getMatchers()} or through JMX once {@link #register(String) registered}. An engine built without metrics has no instance and its
+ * helpers do not read the clock.
+ * The record methods are called by the helpers during a scan. An instance is thread safe.
+ *
+ * @author Charlotte
+ */
+public final class ScanMetrics implements ScanMetricsMXBean {
+
+    /**
+     * Domain of the registered MBeans.
+     */
+    @NonNull
+    public static final String JMX_DOMAIN = "aka.media.jfilenamescanner";
+
+    private static final int HISTOGRAM_SIZE = 64;
+    private static final int TV_SHOW_OFFSET = MovieMatcherType.values().length;
+    private static final int PATTERN_OFFSET = TV_SHOW_OFFSET + TVShowMatcherType.values().length;
+
+    @NonNull
+    private final Counter @NonNull [] counters;
+    @NonNull
+    private final LongAdder scanCount = new LongAdder();
+    @NonNull
+    private final LongAdder totalScanNanos = new LongAdder();
+    @NonNull
+    private final LongAdder movieFallbackCount = new LongAdder();
+    @NonNull
+    private final LongAdder tvShowFallbackCount = new LongAdder();
+    @NonNull
+    private final LongAdder episodeFallbackCount = new LongAdder();
+    @Nullable
+    private ObjectName objectName;
+
+    /**
+     * Constructor.
+     */
+    ScanMetrics() {
+        final var counterList = new ArrayList<@NonNull Counter>();
+        for (final MovieMatcherType type : MovieMatcherType.values()) {
+            counterList.add(new Counter("movie." + type.name()));
+        }
+        for (final TVShowMatcherType type : TVShowMatcherType.values()) {
+            counterList.add(new Counter("tvShow." + type.name()));
+        }
+        for (final TvShowPattern pattern : TvShowPattern.values()) {
+            counterList.add(new Counter("episode." + pattern.name()));
+        }
+        this.counters = counterList.toArray(new Counter[counterList.size()]);
+    }
+
+    /**
+     * Record a run of a movie matcher.
+     *
+     * @param type movie matcher
+     * @param nanos duration of the run, in nanoseconds
+     * @param found <code>true</code> if the matcher found a name
+     */
+    public void recordMatcher(@NonNull final MovieMatcherType type, final long nanos, final boolean found) {
+        this.counters[type.ordinal()].record(nanos, found);
+    }
+
+    /**
+     * Record a run of a TV show matcher.
+     *
+     * @param type TV show matcher
+     * @param nanos duration of the run, in nanoseconds
+     * @param found <code>true</code> if the matcher found a name
+     */
+    public void recordMatcher(@NonNull final TVShowMatcherType type, final long nanos, final boolean found) {
+        this.counters[TV_SHOW_OFFSET + type.ordinal()].record(nanos, found);
+    }
+
+    /**
+     * Record a run of an episode pattern.
+     *
+     * @param pattern episode pattern
+     * @param nanos duration of the run, in nanoseconds
+     * @param found <code>true</code> if the pattern found a season or an episode
+     */
+    public void recordPattern(@NonNull final TvShowPattern pattern, final long nanos, final boolean found) {
+        this.counters[PATTERN_OFFSET + pattern.ordinal()].record(nanos, found);
+    }
+
+    /**
+     * Record that the result of a movie matcher has been selected as the movie name.
+     *
+     * @param type movie matcher
+     */
+    public void recordSelected(@NonNull final MovieMatcherType type) {
+        this.counters[type.ordinal()].selected.increment();
+    }
+
+    /**
+     * Record that the result of a TV show matcher has been selected as the TV show name.
+     *
+     * @param type TV show matcher
+     */
+    public void recordSelected(@NonNull final TVShowMatcherType type) {
+        this.counters[TV_SHOW_OFFSET + type.ordinal()].selected.increment();
+    }
+
+    /**
+     * Record a movie name found by none of the matchers.
+     */
+    public void recordMovieFallback() {
+        this.movieFallbackCount.increment();
+    }
+
+    /**
+     * Record a TV show name found by none of the matchers.
+     */
+    public void recordTvShowFallback() {
+        this.tvShowFallbackCount.increment();
+    }
+
+    /**
+     * Record an episode found by none of the patterns.
+     */
+    public void recordEpisodeFallback() {
+        this.episodeFallbackCount.increment();
+    }
+
+    /**
+     * Record a scan of the engine.
+     *
+     * @param nanos duration of the scan, in nanoseconds
+     */
+    void recordScan(final long nanos) {
+        this.scanCount.increment();
+        this.totalScanNanos.add(nanos);
+    }
+
+    @Override
+    public long getScanCount() {
+        return this.scanCount.sum();
+    }
+
+    @Override
+    public long getTotalScanNanos() {
+        return this.totalScanNanos.sum();
+    }
+
+    @Override
+    public long getMovieFallbackCount() {
+        return this.movieFallbackCount.sum();
+    }
+
+    @Override
+    public long getTvShowFallbackCount() {
+        return this.tvShowFallbackCount.sum();
+    }
+
+    @Override
+    public long getEpisodeFallbackCount() {
+        return this.episodeFallbackCount.sum();
+    }
+
+    @Override
+    @NonNull
+    public List<@NonNull MatcherStats> getMatchers() {
+        final var result = new ArrayList<@NonNull MatcherStats>(this.counters.length);
+        for (final Counter counter : this.counters) {
+            result.add(counter.snapshot());
+        }
+        return result;
+    }
+
+    /**
+     * Get the statistics of the matcher with the given name, see {@link MatcherStats#getName()}.
+     *
+     * @param name name of the matcher, for example <code>movie.YEAR</code> or <code>episode.SxEPattern2</code>
+     * @return statistics of the matcher, <code>null</code> if there is no matcher with this name
+     */
+    @Nullable
+    public MatcherStats getMatcher(@NonNull final String name) {
+        for (final Counter counter : this.counters) {
+            if (counter.name.equals(name)) {
+                return counter.snapshot();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void reset() {
+        for (final Counter counter : this.counters) {
+            counter.reset();
+        }
+        this.scanCount.reset();
+        this.totalScanNanos.reset();
+        this.movieFallbackCount.reset();
+        this.tvShowFallbackCount.reset();
+        this.episodeFallbackCount.reset();
+    }
+
+    /**
+     * Register these metrics in the platform MBean server, as <code>aka.media.jfilenamescanner:type=ScanMetrics,name=&lt;name&gt;</code>.
+     *
+     * @param name name of the engine in the MBean server
+     * @return name of the MBean
+     * @throws JMException if the name is not valid or already registered
+     */
+    @NonNull
+    public synchronized ObjectName register(@NonNull final String name) throws JMException {
+        if (this.objectName != null) {
+            throw new IllegalStateException("Metrics already registered as " + this.objectName + ".");
+        }
+        final var result = new ObjectName(JMX_DOMAIN + ":type=ScanMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, result);
+        this.objectName = result;
+        return result;
+    }
+
+    /**
+     * Unregister these metrics from the platform MBean server, if registered.
+     *
+     * @throws JMException if the MBean can not be unregistered
+     */
+    public synchronized void unregister() throws JMException {
+        final var name = this.objectName;
+        if (name != null) {
+            this.objectName = null;
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+    }
+
+    /**
+     * Counters of one matcher.
+     */
+    private static final class Counter {
+
+        @NonNull
+        private final String name;
+        @NonNull
+        private final LongAdder invocations = new LongAdder();
+        @NonNull
+        private final LongAdder found = new LongAdder();
+        @NonNull
+        private final LongAdder selected = new LongAdder();
+        @NonNull
+        private final LongAdder totalNanos = new LongAdder();
+        @NonNull
+        private final AtomicLongArray histogram = new AtomicLongArray(HISTOGRAM_SIZE);
+
+        Counter(@NonNull final String name) {
+            this.name = name;
+        }
+
+        void record(final long nanos, final boolean isFound) {
+            final var duration = Math.max(0, nanos);
+            this.invocations.increment();
+            if (isFound) {
+                this.found.increment();
+            }
+            this.totalNanos.add(duration);
+            this.histogram.incrementAndGet(duration == 0 ? 0 : 63 - Long.numberOfLeadingZeros(duration));
+        }
+
+        void reset() {
+            this.invocations.reset();
+            this.found.reset();
+            this.selected.reset();
+            this.totalNanos.reset();
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                this.histogram.set(i, 0);
+            }
+        }
+
+        @NonNull
+        MatcherStats snapshot() {
+            final var values = new long[HISTOGRAM_SIZE];
+            for (int i = 0; i < HISTOGRAM_SIZE; i++) {
+                values[i] = this.histogram.get(i);
+            }
+            return new MatcherStats(this.name, this.invocations.sum(), this.found.sum(), this.selected.sum(), this.totalNanos.sum(), values);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package aka.media.jfilenamescanner;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Management interface of {@link ScanMetrics}, see {@link ScanMetrics#register(String)}.
+ *
+ * @author Charlotte
+ */
+public interface ScanMetricsMXBean {
+
+    /**
+     * Get the number of scans of the engine.
+     *
+     * @return number of scans.
+     */
+    long getScanCount();
+
+    /**
+     * Get the total time spent in the scans of the engine.
+     *
+     * @return total time, in nanoseconds.
+     */
+    long getTotalScanNanos();
+
+    /**
+     * Get the number of movie names found by none of the matchers: the whole standardized name is used.
+     *
+     * @return number of fallbacks.
+     */
+    long getMovieFallbackCount();
+
+    /**
+     * Get the number of TV show names found by none of the matchers: the whole standardized name is used.
+     *
+     * @return number of fallbacks.
+     */
+    long getTvShowFallbackCount();
+
+    /**
+     * Get the number of episodes found by none of the patterns: the season and episode regular expressions are used.
+     *
+     * @return number of fallbacks.
+     */
+    long getEpisodeFallbackCount();
+
+    /**
+     * Get the statistics of each movie matcher, TV show matcher and episode pattern.
+     *
+     * @return statistics of the matchers.
+     */
+    @NonNull
+    List<@NonNull MatcherStats> getMatchers();
+
+    /**
+     * Reset all the counters.
+     */
+    void reset();
+}
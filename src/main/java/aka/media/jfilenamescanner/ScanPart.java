@@ -0,0 +1,31 @@
+package aka.media.jfilenamescanner;
+
+/**
+ * Parts of a scan.
+ *
+ * Used by the single value getters of {@link JFileNameScanner} to only compute the part of the {@link ScanResult} they need.
+ *
+ * @author Charlotte
+ */
+enum ScanPart {
+
+    /**
+     * Movie name and year.
+     */
+    MOVIE(),
+
+    /**
+     * Movie year only, without the movie name.
+     */
+    YEAR(),
+
+    /**
+     * TV show name.
+     */
+    TV_SHOW_NAME(),
+
+    /**
+     * Season and episode of the TV show.
+     */
+    EPISODE();
+}
@@ -0,0 +1,157 @@
+package aka.media.jfilenamescanner;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Scan result.
+ *
+ * Immutable result of a single scan of a file or a name: movie name and year, TV show name, season and episode.
+ *
+ * @author Charlotte
+ */
+public final class ScanResult {
+
+    @NonNull
+    private final String name;
+    @Nullable
+    private final Path path;
+    @Nullable
+    private final String movieName;
+    @Nullable
+    private final String movieYear;
+    @Nullable
+    private final String tvShowName;
+    private final int season;
+    private final int episode;
+
+    /**
+     * Constructor.
+     *
+     * @param name scanned name.
+     * @param path path of the scanned file, <code>null</code> if a name was scanned.
+     * @param movieName movie name.
+     * @param movieYear movie year.
+     * @param tvShowName TV show name.
+     * @param season season of the TV show.
+     * @param episode episode of the TV show.
+     */
+    ScanResult(@NonNull final String name, @Nullable final Path path, @Nullable final String movieName, @Nullable final String movieYear, @Nullable final String tvShowName, final int season, final int episode) {
+        this.name = name;
+        this.path = path;
+        this.movieName = movieName;
+        this.movieYear = movieYear;
+        this.tvShowName = tvShowName;
+        this.season = season;
+        this.episode = episode;
+    }
+
+    /**
+     * Get the scanned name.
+     *
+     * @return scanned name.
+     */
+    @NonNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Get the path of the scanned file.
+     *
+     * @return path of the scanned file, <code>null</code> if a name was scanned.
+     */
+    @Nullable
+    public Path getPath() {
+        return this.path;
+    }
+
+    /**
+     * Get the movie name.
+     *
+     * @return movie name.
+     */
+    @Nullable
+    public String getMovieName() {
+        return this.movieName;
+    }
+
+    /**
+     * Get the movie year.
+     *
+     * @return year of the movie.
+     */
+    @Nullable
+    public String getMovieYear() {
+        return this.movieYear;
+    }
+
+    /**
+     * Get the TV show name.
+     *
+     * @return name of the TV show.
+     */
+    @Nullable
+    public String getTVShowName() {
+        return this.tvShowName;
+    }
+
+    /**
+     * Get the TV show year.
+     *
+     * @return year of the TV show.
+     */
+    @Nullable
+    public String getTVShowYear() {
+        return this.movieYear;
+    }
+
+    /**
+     * Get the season of the TV show.
+     *
+     * @return season of the TV show.
+     */
+    public int getSeason() {
+        return this.season;
+    }
+
+    /**
+     * Get the episode of the TV show.
+     *
+     * @return episode of the TV show.
+     */
+    public int getEpisode() {
+        return this.episode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj instanceof ScanResult) {
+            final var result = (ScanResult) obj;
+            return result.name.equals(this.name) && Objects.equals(result.path, this.path) && Objects.equals(result.movieName, this.movieName) && Objects.equals(result.movieYear, this.movieYear)
+                    && Objects.equals(result.tvShowName, this.tvShowName) && result.season == this.season && result.episode == this.episode;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        var hash = 5;
+        hash = 29 * hash + this.name.hashCode();
+        hash = 29 * hash + Objects.hashCode(this.path);
+        hash = 29 * hash + Objects.hashCode(this.movieName);
+        hash = 29 * hash + Objects.hashCode(this.movieYear);
+        hash = 29 * hash + Objects.hashCode(this.tvShowName);
+        hash = 29 * hash + this.season;
+        hash = 29 * hash + this.episode;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanResult [name=" + this.name + ", movieName=" + this.movieName + ", movieYear=" + this.movieYear + ", tvShowName=" + this.tvShowName + ", season=" + this.season + ", episode=" + this.episode + "]";
+    }
+}
@@ -0,0 +1,644 @@
+package aka.media.jfilenamescanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntBinaryOperator;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Scan result store.
+ *
+ * Compact container of the results of a bulk scan, stored by columns instead of one object per result: seasons and episodes in <code>int</code> arrays, years in a
+ * <code>short</code> array, movie and TV show names as ids of a dictionary shared by all the results, and paths and names as UTF-8 bytes of a shared buffer (the name
+ * of a file is read from the end of its path when possible).
+ * The columns of a result are read by index without creating any object, {@link #get(int)} and {@link #iterator()} create the {@link ScanResult}.
+ * {@link #add(ScanResult)} is synchronized so that a store can be the consumer of a {@link LibraryScanner} or a {@link ListScanner}; the other methods must not be
+ * called while results are added.
+ *
+ * @author Charlotte
+ */
+public final class ScanResultStore implements Iterable<@NonNull ScanResult> {
+
+    // "JFNC"
+    private static final int MAGIC = 0x4A464E43;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1;
+    // Bound of the UTF-8 length of a movie or TV show name, far above the length of a file name
+    private static final int MAX_NAME_BYTES = 64 * 1024;
+
+    private int size;
+    private int @NonNull [] starts;
+    // Length of the path, NONE if the result has no path
+    private int @NonNull [] pathLengths;
+    // Length of the name when it ends the path, ~length when it follows the path
+    private int @NonNull [] nameLengths;
+    private int @NonNull [] movieNames;
+    private int @NonNull [] tvShowNames;
+    private int @NonNull [] seasons;
+    private int @NonNull [] episodes;
+    private short @NonNull [] years;
+    private byte @NonNull [] bytes;
+    private int byteCount;
+    @NonNull
+    private final List<@NonNull String> dictionary = new ArrayList<>();
+    @NonNull
+    private final Map<@NonNull String, @NonNull Integer> ids = new HashMap<>();
+
+    /**
+     * Constructor of an empty store.
+     */
+    public ScanResultStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructor of an empty store.
+     *
+     * @param capacity number of results that can be added before the columns grow
+     */
+    public ScanResultStore(final int capacity) {
+        final var initial = Math.max(1, capacity);
+        this.starts = new int[initial];
+        this.pathLengths = new int[initial];
+        this.nameLengths = new int[initial];
+        this.movieNames = new int[initial];
+        this.tvShowNames = new int[initial];
+        this.seasons = new int[initial];
+        this.episodes = new int[initial];
+        this.years = new short[initial];
+        this.bytes = new byte[64 * initial];
+    }
+
+    /**
+     * Add a result at the end of the store.
+     *
+     * @param result scan result
+     * @throws IllegalArgumentException if the movie year of the result is not a number between 0 and 32767
+     * @throws IllegalStateException if the paths and names of the store exceed 2 GB
+     */
+    public synchronized void add(@NonNull final ScanResult result) {
+        final var year = toYear(result.getMovieYear());
+        if (this.size == this.starts.length) {
+            grow(2 * this.size);
+        }
+        final var i = this.size;
+        this.starts[i] = this.byteCount;
+        final var name = result.getName().getBytes(StandardCharsets.UTF_8);
+        final var path = result.getPath();
+        if (path == null) {
+            this.pathLengths[i] = NONE;
+            this.nameLengths[i] = ~name.length;
+            append(name);
+        } else {
+            final var pathBytes = path.toString().getBytes(StandardCharsets.UTF_8);
+            this.pathLengths[i] = pathBytes.length;
+            append(pathBytes);
+            if (endsWith(pathBytes, name)) {
+                this.nameLengths[i] = name.length;
+            } else {
+                this.nameLengths[i] = ~name.length;
+                append(name);
+            }
+        }
+        this.movieNames[i] = toId(result.getMovieName());
+        this.tvShowNames[i] = toId(result.getTVShowName());
+        this.seasons[i] = result.getSeason();
+        this.episodes[i] = result.getEpisode();
+        this.years[i] = year;
+        this.size++;
+    }
+
+    /**
+     * Add all the given results at the end of the store.
+     *
+     * @param results scan results, <code>null</code> results are skipped
+     */
+    public void addAll(@NonNull final Iterable<? extends @Nullable ScanResult> results) {
+        for (final ScanResult result : results) {
+            if (result != null) {
+                add(result);
+            }
+        }
+    }
+
+    /**
+     * Get the number of results.
+     *
+     * @return number of results
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the result at the given index.
+     *
+     * @param index index of the result
+     * @return new result
+     */
+    @NonNull
+    public ScanResult get(final int index) {
+        return new ScanResult(getName(index), getPath(index), getMovieName(index), getMovieYear(index), getTVShowName(index), getSeason(index), getEpisode(index));
+    }
+
+    /**
+     * Get the scanned name of the result at the given index.
+     *
+     * @param index index of the result
+     * @return scanned name
+     */
+    @NonNull
+    public String getName(final int index) {
+        Objects.checkIndex(index, this.size);
+        final var nameLength = this.nameLengths[index];
+        final var pathLength = this.pathLengths[index];
+        final int start;
+        final int length;
+        if (nameLength >= 0) {
+            start = this.starts[index] + pathLength - nameLength;
+            length = nameLength;
+        } else {
+            start = this.starts[index] + Math.max(0, pathLength);
+            length = ~nameLength;
+        }
+        return new String(this.bytes, start, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the path of the result at the given index.
+     *
+     * @param index index of the result
+     * @return path of the scanned file, <code>null</code> if a name was scanned
+     */
+    @Nullable
+    public Path getPath(final int index) {
+        Objects.checkIndex(index, this.size);
+        final var pathLength = this.pathLengths[index];
+        return pathLength == NONE ? null : Paths.get(new String(this.bytes, this.starts[index], pathLength, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the movie name of the result at the given index.
+     *
+     * @param index index of the result
+     * @return movie name, shared by all the results with the same name
+     */
+    @Nullable
+    public String getMovieName(final int index) {
+        Objects.checkIndex(index, this.size);
+        return getDictionaryName(this.movieNames[index]);
+    }
+
+    /**
+     * Get the dictionary id of the movie name of the result at the given index, see {@link #getDictionaryName(int)}.
+     *
+     * @param index index of the result
+     * @return id of the movie name, -1 if there is no movie name
+     */
+    public int getMovieNameId(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.movieNames[index];
+    }
+
+    /**
+     * Get the movie year of the result at the given index.
+     *
+     * @param index index of the result
+     * @return movie year
+     */
+    @Nullable
+    public String getMovieYear(final int index) {
+        final var year = getYear(index);
+        return year < 0 ? null : String.valueOf(year);
+    }
+
+    /**
+     * Get the movie year of the result at the given index as a number.
+     *
+     * @param index index of the result
+     * @return movie year, -1 if there is no year
+     */
+    public int getYear(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.years[index];
+    }
+
+    /**
+     * Get the TV show name of the result at the given index.
+     *
+     * @param index index of the result
+     * @return TV show name, shared by all the results with the same name
+     */
+    @Nullable
+    public String getTVShowName(final int index) {
+        Objects.checkIndex(index, this.size);
+        return getDictionaryName(this.tvShowNames[index]);
+    }
+
+    /**
+     * Get the dictionary id of the TV show name of the result at the given index, see {@link #getDictionaryName(int)}.
+     *
+     * @param index index of the result
+     * @return id of the TV show name, -1 if there is no TV show name
+     */
+    public int getTVShowId(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.tvShowNames[index];
+    }
+
+    /**
+     * Get the season of the result at the given index.
+     *
+     * @param index index of the result
+     * @return season
+     */
+    public int getSeason(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.seasons[index];
+    }
+
+    /**
+     * Get the episode of the result at the given index.
+     *
+     * @param index index of the result
+     * @return episode
+     */
+    public int getEpisode(final int index) {
+        Objects.checkIndex(index, this.size);
+        return this.episodes[index];
+    }
+
+    /**
+     * Get the name of the dictionary with the given id.
+     *
+     * @param id id of the name, see {@link #getMovieNameId(int)} and {@link #getTVShowId(int)}
+     * @return name, <code>null</code> if id is -1
+     */
+    @Nullable
+    public String getDictionaryName(final int id) {
+        return id == NONE ? null : this.dictionary.get(id);
+    }
+
+    /**
+     * Get the number of distinct movie and TV show names.
+     *
+     * @return size of the dictionary
+     */
+    public int getDictionarySize() {
+        return this.dictionary.size();
+    }
+
+    /**
+     * Sort the results by TV show name (results without TV show name last), season and episode. Results with the same values keep their order.
+     * Only the columns are moved, not the paths and names.
+     */
+    public void sortByEpisode() {
+        // Rank of each name of the dictionary in alphabetical order
+        final var sortedIds = new Integer[this.dictionary.size()];
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedIds[i] = Integer.valueOf(i);
+        }
+        Arrays.sort(sortedIds, (a, b) -> this.dictionary.get(a.intValue()).compareTo(this.dictionary.get(b.intValue())));
+        final var ranks = new int[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            ranks[sortedIds[i].intValue()] = i;
+        }
+
+        final var order = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            order[i] = i;
+        }
+        sort(order, (a, b) -> {
+            final var showA = this.tvShowNames[a] == NONE ? Integer.MAX_VALUE : ranks[this.tvShowNames[a]];
+            final var showB = this.tvShowNames[b] == NONE ? Integer.MAX_VALUE : ranks[this.tvShowNames[b]];
+            var result = Integer.compare(showA, showB);
+            if (result == 0) {
+                result = Integer.compare(this.seasons[a], this.seasons[b]);
+            }
+            if (result == 0) {
+                result = Integer.compare(this.episodes[a], this.episodes[b]);
+            }
+            return result;
+        });
+
+        this.starts = permute(this.starts, order);
+        this.pathLengths = permute(this.pathLengths, order);
+        this.nameLengths = permute(this.nameLengths, order);
+        this.movieNames = permute(this.movieNames, order);
+        this.tvShowNames = permute(this.tvShowNames, order);
+        this.seasons = permute(this.seasons, order);
+        this.episodes = permute(this.episodes, order);
+        final var sortedYears = new short[this.years.length];
+        for (int i = 0; i < this.size; i++) {
+            sortedYears[i] = this.years[order[i]];
+        }
+        this.years = sortedYears;
+    }
+
+    /**
+     * Release the unused capacity of the columns.
+     */
+    public synchronized void trimToSize() {
+        grow(this.size);
+        this.bytes = Arrays.copyOf(this.bytes, this.byteCount);
+    }
+
+    /**
+     * Write the store, see {@link #read(Path)}.
+     *
+     * @param file file to write
+     * @throws IOException if the file can not be written
+     */
+    public void write(@NonNull final Path file) throws IOException {
+        try (var output = Files.newOutputStream(file)) {
+            write(output);
+        }
+    }
+
+    /**
+     * Write the store to the given stream, see {@link #read(InputStream)}. The stream is not closed.
+     *
+     * @param output output stream
+     * @throws IOException if the stream can not be written
+     */
+    public void write(@NonNull final OutputStream output) throws IOException {
+        final var out = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(this.size);
+        out.writeInt(this.dictionary.size());
+        out.writeInt(this.byteCount);
+        for (final String name : this.dictionary) {
+            final var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            if (nameBytes.length > MAX_NAME_BYTES) {
+                throw new IOException("Name too long: " + nameBytes.length + " bytes.");
+            }
+            out.writeInt(nameBytes.length);
+            out.write(nameBytes);
+        }
+        final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        for (final int[] column : new int[][] { this.starts, this.pathLengths, this.nameLengths, this.movieNames, this.tvShowNames, this.seasons, this.episodes }) {
+            writeInts(out, column, this.size, buffer);
+        }
+        var i = 0;
+        while (i < this.size) {
+            final var count = Math.min(this.size - i, BUFFER_SIZE / Short.BYTES);
+            buffer.clear();
+            buffer.asShortBuffer().put(this.years, i, count);
+            out.write(buffer.array(), 0, count * Short.BYTES);
+            i += count;
+        }
+        out.write(this.bytes, 0, this.byteCount);
+        out.flush();
+    }
+
+    /**
+     * Read a store written by {@link #write(Path)}.
+     *
+     * @param file file to read
+     * @return store
+     * @throws IOException if the file can not be read or is not a store
+     */
+    @NonNull
+    public static ScanResultStore read(@NonNull final Path file) throws IOException {
+        try (var input = Files.newInputStream(file)) {
+            return read(input);
+        }
+    }
+
+    /**
+     * Read a store written by {@link #write(OutputStream)}. The stream is not closed.
+     *
+     * @param input input stream
+     * @return store
+     * @throws IOException if the stream can not be read or does not hold a store
+     */
+    @NonNull
+    public static ScanResultStore read(@NonNull final InputStream input) throws IOException {
+        final var in = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Not a scan result store.");
+        }
+        final var size = in.readInt();
+        final var dictionarySize = in.readInt();
+        final var byteCount = in.readInt();
+        if (size < 0 || dictionarySize < 0 || byteCount < 0) {
+            throw new IOException("Invalid scan result store header.");
+        }
+        final var result = new ScanResultStore(0);
+        for (int i = 0; i < dictionarySize; i++) {
+            final var length = in.readInt();
+            if (length < 0 || length > MAX_NAME_BYTES) {
+                throw new IOException("Invalid name length at index " + i + ".");
+            }
+            final var nameBytes = new byte[length];
+            in.readFully(nameBytes);
+            result.toId(new String(nameBytes, StandardCharsets.UTF_8));
+        }
+        final var buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        result.starts = readInts(in, size, buffer);
+        result.pathLengths = readInts(in, size, buffer);
+        result.nameLengths = readInts(in, size, buffer);
+        result.movieNames = readInts(in, size, buffer);
+        result.tvShowNames = readInts(in, size, buffer);
+        result.seasons = readInts(in, size, buffer);
+        result.episodes = readInts(in, size, buffer);
+        result.years = new short[size];
+        var i = 0;
+        while (i < size) {
+            final var count = Math.min(size - i, BUFFER_SIZE / Short.BYTES);
+            in.readFully(buffer.array(), 0, count * Short.BYTES);
+            buffer.clear();
+            buffer.asShortBuffer().get(result.years, i, count);
+            i += count;
+        }
+        result.bytes = new byte[byteCount];
+        in.readFully(result.bytes);
+        result.byteCount = byteCount;
+        result.size = size;
+        result.validate();
+        return result;
+    }
+
+    @Override
+    public Iterator<@NonNull ScanResult> iterator() {
+        return new Iterator<>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return this.next < ScanResultStore.this.size;
+            }
+
+            @Override
+            public ScanResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(this.next++);
+            }
+        };
+    }
+
+    private void validate() throws IOException {
+        for (int i = 0; i < this.size; i++) {
+            final var pathLength = Math.max(0, this.pathLengths[i]);
+            final var nameLength = this.nameLengths[i];
+            final long end = (long) this.starts[i] + pathLength + (nameLength < 0 ? ~nameLength : 0);
+            if (this.starts[i] < 0 || end > this.byteCount || nameLength > pathLength || !isId(this.movieNames[i]) || !isId(this.tvShowNames[i])) {
+                throw new IOException("Invalid scan result at index " + i + ".");
+            }
+        }
+    }
+
+    private boolean isId(final int id) {
+        return id >= NONE && id < this.dictionary.size();
+    }
+
+    private int toId(@Nullable final String name) {
+        if (name == null) {
+            return NONE;
+        }
+        var id = this.ids.get(name);
+        if (id == null) {
+            id = Integer.valueOf(this.dictionary.size());
+            this.ids.put(name, id);
+            this.dictionary.add(name);
+        }
+        return id.intValue();
+    }
+
+    private static short toYear(@Nullable final String year) {
+        if (year == null) {
+            return NONE;
+        }
+        try {
+            final var value = Integer.parseInt(year);
+            if (value >= 0 && value <= Short.MAX_VALUE && String.valueOf(value).equals(year)) {
+                return (short) value;
+            }
+        } catch (final NumberFormatException e) {
+            // not a year
+        }
+        throw new IllegalArgumentException("Invalid movie year " + year + ".");
+    }
+
+    private void append(final byte @NonNull [] value) {
+        final var end = (long) this.byteCount + value.length;
+        if (end > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Scan result store is full.");
+        }
+        if (end > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(end, 2L * this.bytes.length)));
+        }
+        System.arraycopy(value, 0, this.bytes, this.byteCount, value.length);
+        this.byteCount = (int) end;
+    }
+
+    private void grow(final int capacity) {
+        final var length = Math.max(1, capacity);
+        this.starts = Arrays.copyOf(this.starts, length);
+        this.pathLengths = Arrays.copyOf(this.pathLengths, length);
+        this.nameLengths = Arrays.copyOf(this.nameLengths, length);
+        this.movieNames = Arrays.copyOf(this.movieNames, length);
+        this.tvShowNames = Arrays.copyOf(this.tvShowNames, length);
+        this.seasons = Arrays.copyOf(this.seasons, length);
+        this.episodes = Arrays.copyOf(this.episodes, length);
+        this.years = Arrays.copyOf(this.years, length);
+    }
+
+    private static boolean endsWith(final byte @NonNull [] path, final byte @NonNull [] name) {
+        final var offset = path.length - name.length;
+        if (offset < 0) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (path[offset + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int @NonNull [] permute(final int @NonNull [] column, final int @NonNull [] order) {
+        final var result = new int[column.length];
+        for (int i = 0; i < this.size; i++) {
+            result[i] = column[order[i]];
+        }
+        return result;
+    }
+
+    static void sort(final int @NonNull [] values, @NonNull final IntBinaryOperator comparator) {
+        // Stable bottom-up merge sort of primitive indexes, without boxing
+        var src = values;
+        var dst = new int[values.length];
+        for (int width = 1; width < values.length; width *= 2) {
+            for (int lo = 0; lo < values.length; lo += 2 * width) {
+                final var middle = Math.min(lo + width, values.length);
+                final var hi = Math.min(lo + 2 * width, values.length);
+                var left = lo;
+                var right = middle;
+                for (int k = lo; k < hi; k++) {
+                    if (left < middle && (right >= hi || comparator.applyAsInt(src[left], src[right]) <= 0)) {
+                        dst[k] = src[left++];
+                    } else {
+                        dst[k] = src[right++];
+                    }
+                }
+            }
+            final var tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+        if (src != values) {
+            System.arraycopy(src, 0, values, 0, values.length);
+        }
+    }
+
+    private static void writeInts(@NonNull final DataOutputStream out, final int @NonNull [] values, final int count, @NonNull final ByteBuffer buffer) throws IOException {
+        var i = 0;
+        while (i < count) {
+            final var chunk = Math.min(count - i, BUFFER_SIZE / Integer.BYTES);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, i, chunk);
+            out.write(buffer.array(), 0, chunk * Integer.BYTES);
+            i += chunk;
+        }
+    }
+
+    private static int @NonNull [] readInts(@NonNull final DataInputStream in, final int count, @NonNull final ByteBuffer buffer) throws IOException {
+        final var result = new int[count];
+        var i = 0;
+        while (i < count) {
+            final var chunk = Math.min(count - i, BUFFER_SIZE / Integer.BYTES);
+            in.readFully(buffer.array(), 0, chunk * Integer.BYTES);
+            buffer.clear();
+            buffer.asIntBuffer().get(result, i, chunk);
+            i += chunk;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,695 @@
+package aka.media.jfilenamescanner;
+
+import java.io.File;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.MovieMatcherType;
+import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.constants.TVShowMatcherType;
+import aka.media.jfilenamescanner.helpers.CommonSequences;
+import aka.media.jfilenamescanner.helpers.EpisodeMatcher;
+import aka.media.jfilenamescanner.helpers.MovieHelper;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+import aka.media.jfilenamescanner.helpers.TVShowEpisodeHelper;
+import aka.media.jfilenamescanner.helpers.TVShowNameHelper;
+import aka.media.jfilenamescanner.utils.NameFilter;
+import aka.media.jfilenamescanner.utils.SeasonXEpisode;
+import aka.media.jfilenamescanner.utils.TextUtils;
+import aka.media.jfilenamescanner.utils.YearClock;
+
+/**
+ * Scanner engine.
+ *
+ * Configured once through a {@link Builder}, an engine precompiles its name filters and can then scan any number of names or files.
+ * An engine is immutable and can be shared between threads, several engines with different configurations can be used in the same JVM.
+ * {@link JFileNameScanner} static methods use {@link #getDefault()}.
+ *
+ * @author Charlotte
+ */
+public final class ScannerEngine {
+
+    /**
+     * Default list of regular expressions removed from names.
+     */
+    @NonNull
+    public static final List<@NonNull String> DEFAULT_NAME_FILTERS = List.of("notv", "readnfo", "repack", "proper$", "nfo$", "extended.cut", "limitededition", "limited", "k-sual", "extended", "uncut$", "n� [0-9][0-9][0-9]", "yestv", "stv", "remastered", "limited", "x264", "bluray", "bd5", "bd9", "hddvd", "hdz", "edition.exclusive", "unrated", "walt disney", "dvdrip", "cinefile", "hdmi", "dvd5", "ac3", "culthd", "dvd9", "remux", "edition.platinum", "frenchhqc", "frenchedit", "wawamania", "h264",
+            "bdrip", "brrip", "hdteam", "hddvdrip", "subhd", "xvid", "divx", "null$", "divx511", "vorbis", "=str=", "www", "ffm", "mp3", "divx5", "dvb", "mpa2", "blubyte", "brmp", "avs", "filmhd", "hd4u", "1080p", "1080i", "720p", "720i", "720", "truefrench", "dts", "french", "vostfr", "1cd", "2cd", "vff", " vo ", " vf ", "hdlight", "hd", " cam$ ", "telesync", " ts ", " tc ", "ntsc", " pal ", "dvd-r", "dvdscr", "scr$", "r1", "r2", "r3", "r4", "r5", "wp", "subforced", "dvd", "vcd", "avchd",
+            " md", "redux", "trailer", "1080p", "720p", "MULTI", "x264", "x265", "bluray", "festival", "subfrench", "french", "truefrench", "dts", "ac3", "uncut", "theatrical cut", "unrated", "limited", "vostfr", "stv", "rip by", "\\s+rip\\s+", "\\s+by\\s+", "ripped by", "ripped", "version longue", "(version longue)");
+
+    /**
+     * Default minimal year of a movie.
+     */
+    public static final int DEFAULT_MIN_YEAR = 1900;
+
+    @NonNull
+    private static final ScannerEngine DEFAULT_ENGINE = builder().build();
+
+    // Maximal number of engines kept by getDefault(List)
+    private static final int NAME_FILTER_ENGINES_SIZE = 16;
+
+    // Engines of the name filters given to getDefault(List), least recently used first, guarded by itself
+    @NonNull
+    private static final Map<@NonNull List<@NonNull String>, @NonNull ScannerEngine> NAME_FILTER_ENGINES = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<@NonNull List<@NonNull String>, @NonNull ScannerEngine> eldest) {
+            return size() > NAME_FILTER_ENGINES_SIZE;
+        }
+    };
+
+    @NonNull
+    private final NameFilter nameFilter;
+    @NonNull
+    private final Set<@NonNull MovieMatcherType> movieMatchers;
+    @NonNull
+    private final Set<@NonNull TVShowMatcherType> tvShowMatchers;
+    @NonNull
+    private final List<@NonNull ScanMatcher> movieScanMatchers;
+    @NonNull
+    private final List<@NonNull ScanMatcher> tvShowScanMatchers;
+    @NonNull
+    private final Priority confidence;
+    private final int minYear;
+    private final int maxYear;
+    private final int commonSequenceSampleSize;
+    @Nullable
+    private final ScanMetrics metrics;
+
+    private ScannerEngine(@NonNull final Builder builder) {
+        this.nameFilter = new NameFilter(builder.nameFilters);
+        this.movieMatchers = Collections.unmodifiableSet(EnumSet.copyOf(builder.movieMatchers));
+        this.tvShowMatchers = Collections.unmodifiableSet(EnumSet.copyOf(builder.tvShowMatchers));
+        this.movieScanMatchers = sortByCost(builder.movieScanMatchers);
+        this.tvShowScanMatchers = sortByCost(builder.tvShowScanMatchers);
+        this.confidence = builder.confidence;
+        this.minYear = builder.minYear;
+        this.maxYear = builder.maxYear;
+        this.commonSequenceSampleSize = builder.commonSequenceSampleSize;
+        this.metrics = builder.metrics ? new ScanMetrics() : null;
+    }
+
+    /**
+     * Get the engine with the default configuration.
+     *
+     * @return default engine
+     */
+    @NonNull
+    public static ScannerEngine getDefault() {
+        return DEFAULT_ENGINE;
+    }
+
+    /**
+     * Get an engine with the default configuration and the given name filters.
+     * The engine is shared by the calls with equal lists, so that the filters are not compiled again for each name.
+     *
+     * @param nameFilters regular expressions to remove from the names, see {@link Builder#nameFilters(List)}
+     * @return engine of the name filters
+     */
+    @NonNull
+    public static ScannerEngine getDefault(@NonNull final List<@NonNull String> nameFilters) {
+        if (nameFilters == DEFAULT_NAME_FILTERS) {
+            return DEFAULT_ENGINE;
+        }
+        synchronized (NAME_FILTER_ENGINES) {
+            var result = NAME_FILTER_ENGINES.get(nameFilters);
+            if (result == null) {
+                result = builder().nameFilters(nameFilters).build();
+                NAME_FILTER_ENGINES.put(result.getNameFilter().getRegexs(), result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Create a new builder initialized with the default configuration.
+     *
+     * @return new builder
+     */
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Scan the given name once and return all the informations found: movie name and year, TV show name, season and episode.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public ScanResult scan(@NonNull final String name) throws Exception {
+        return scan(name, EnumSet.allOf(ScanPart.class));
+    }
+
+    /**
+     * Scan the given name once, see {@link #scan(String)}.
+     *
+     * @param name movie or TV show name.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public ScanResult scan(@NonNull final CharSequence name) throws Exception {
+        // The name of the result is a string: copy it once, the helpers work on this copy
+        return scan(name.toString());
+    }
+
+    /**
+     * Scan the given UTF-8 name once, see {@link #scan(String)}. The bytes that are not valid UTF-8 are read as ISO-8859-1, see
+     * {@link TextUtils#decodeFileName(byte[], int, int)}.
+     *
+     * @param buf buffer holding the name.
+     * @param off index of the first byte of the name.
+     * @param len number of bytes of the name.
+     * @return result of the scan.
+     * @throws Exception if file name is empty
+     */
+    @NonNull
+    public ScanResult scan(final byte @NonNull [] buf, final int off, final int len) throws Exception {
+        return scan(TextUtils.decodeFileName(buf, off, len));
+    }
+
+    /**
+     * Scan the given file once and return all the informations found: movie name and year, TV show name, season and episode.
+     *
+     * @param file movie or TV show file.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public ScanResult scan(@NonNull final File file) throws Exception {
+        return scan(file, EnumSet.allOf(ScanPart.class));
+    }
+
+    /**
+     * Scan the given path of a file list, as written by <code>find -print</code>, once.
+     * A path with a separator is scanned as the file {@link #scan(File)} would, with its season and TV show folders, but without reading its directory: the common
+     * sequence of the other files of the directory is not used. The path of the result is <code>null</code> when the file system can not represent it.
+     * A path without separator is scanned as a name, see {@link #scan(String)}.
+     *
+     * @param path path of the file, relative or absolute.
+     * @return result of the scan.
+     * @throws Exception if file name is null or empty
+     */
+    @NonNull
+    public ScanResult scanPath(@NonNull final String path) throws Exception {
+        if (path.indexOf('/') < 0 && path.indexOf(File.separatorChar) < 0) {
+            return scan(path);
+        }
+        final var file = new File(path);
+        Path resultPath;
+        try {
+            resultPath = file.toPath();
+        } catch (final InvalidPathException e) {
+            // Name not encodable with the charset of the file system
+            resultPath = null;
+        }
+        // Only the name of the file itself: no other episode, no common sequence
+        return scan(file, resultPath, new CommonSequences(List.of(file.getName())), EnumSet.allOf(ScanPart.class));
+    }
+
+    /**
+     * Find the season and episode of the given name without allocation, with the same result as {@link #scan(String)}.
+     *
+     * @param name TV show name.
+     * @return encoded season and episode, see {@link SeasonXEpisode#getSeason(long)} and {@link SeasonXEpisode#getEpisode(long)}.
+     * @throws Exception if name is empty
+     */
+    public long scanEpisode(@NonNull final CharSequence name) throws Exception {
+        if (isBlank(name)) {
+            throw new Exception("File name is null or empty.");
+        }
+        final var start = this.metrics == null ? 0 : System.nanoTime();
+        final var result = EpisodeMatcher.get().match(name, this.metrics);
+        if (this.metrics != null) {
+            this.metrics.recordScan(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Get the compiled regular expressions removed from names.
+     *
+     * @return compiled regular expressions
+     */
+    @NonNull
+    public NameFilter getNameFilter() {
+        return this.nameFilter;
+    }
+
+    /**
+     * Check if the given movie matcher is enabled.
+     *
+     * @param movieMatcher movie matcher
+     * @return <code>true</code> if enabled
+     */
+    public boolean isEnabled(@NonNull final MovieMatcherType movieMatcher) {
+        return this.movieMatchers.contains(movieMatcher);
+    }
+
+    /**
+     * Check if the given TV show matcher is enabled.
+     *
+     * @param tvShowMatcher TV show matcher
+     * @return <code>true</code> if enabled
+     */
+    public boolean isEnabled(@NonNull final TVShowMatcherType tvShowMatcher) {
+        return this.tvShowMatchers.contains(tvShowMatcher);
+    }
+
+    /**
+     * Get the movie matchers registered with {@link Builder#movieMatcher(ScanMatcher)}.
+     *
+     * @return registered movie matchers, from the cheapest to the most expensive
+     */
+    @NonNull
+    public List<@NonNull ScanMatcher> getMovieScanMatchers() {
+        return this.movieScanMatchers;
+    }
+
+    /**
+     * Get the TV show matchers registered with {@link Builder#tvShowMatcher(ScanMatcher)}.
+     *
+     * @return registered TV show matchers, from the cheapest to the most expensive
+     */
+    @NonNull
+    public List<@NonNull ScanMatcher> getTvShowScanMatchers() {
+        return this.tvShowScanMatchers;
+    }
+
+    /**
+     * Get the priority of a name that stops the matchers: no other matcher runs once a name with this priority, or a higher one, is found.
+     *
+     * @return confidence priority
+     */
+    @NonNull
+    public Priority getConfidence() {
+        return this.confidence;
+    }
+
+    /**
+     * Get the minimal year of a movie.
+     *
+     * @return minimal year
+     */
+    public int getMinYear() {
+        return this.minYear;
+    }
+
+    /**
+     * Get the maximal year of a movie.
+     *
+     * @return maximal year, current year if not set.
+     */
+    public int getMaxYear() {
+        final var result = this.maxYear > 0 ? this.maxYear : YearClock.getCurrentYear();
+        return result;
+    }
+
+    /**
+     * Get the maximal number of entries of a directory read by the common sequence matcher, see {@link CommonSequences}.
+     *
+     * @return sample size, 0 if all the entries are read
+     */
+    public int getCommonSequenceSampleSize() {
+        return this.commonSequenceSampleSize;
+    }
+
+    /**
+     * Get the metrics of the matchers of this engine.
+     *
+     * @return metrics, <code>null</code> if the engine has been built without metrics
+     */
+    @Nullable
+    public ScanMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Get the fingerprint of the configuration of this engine: name filters, enabled and registered matchers, confidence, valid years and common sequence sample size.
+     * Two engines with the same fingerprint give the same results, a result stored with a fingerprint must not be used by an engine with another one.
+     * A maximal year left to the current year is fingerprinted as unset, so that the fingerprint does not change at the beginning of each year.
+     *
+     * @return fingerprint of the configuration
+     */
+    public long getFingerprint() {
+        final var sb = new StringBuilder();
+        for (final String regex : this.nameFilter.getRegexs()) {
+            sb.append(regex).append('\n');
+        }
+        sb.append(this.movieMatchers).append('\n').append(this.tvShowMatchers).append('\n').append(this.minYear).append('\n').append(this.maxYear);
+        // Only appended when not default, so that the fingerprint of an engine without registered matchers does not change
+        if (!this.movieScanMatchers.isEmpty() || !this.tvShowScanMatchers.isEmpty() || this.confidence != Priority.HIGH) {
+            sb.append('\n').append(this.confidence);
+            appendScanMatchers(sb, this.movieScanMatchers);
+            appendScanMatchers(sb, this.tvShowScanMatchers);
+        }
+        if (this.commonSequenceSampleSize > 0) {
+            sb.append("\nsample=").append(this.commonSequenceSampleSize);
+        }
+
+        // 64-bit FNV-1a
+        var hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < sb.length(); i++) {
+            hash ^= sb.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    @NonNull
+    ScanResult scan(@NonNull final String name, @NonNull final Set<@NonNull ScanPart> parts) throws Exception {
+        final var start = this.metrics == null ? 0 : System.nanoTime();
+        final var context = new ScanContext(this);
+        String movieName = null;
+        String movieYear = null;
+        if (parts.contains(ScanPart.MOVIE)) {
+            final var movieHelper = new MovieHelper(name, context);
+            movieName = movieHelper.getMovieName();
+            movieYear = movieHelper.getYear();
+        } else if (parts.contains(ScanPart.YEAR)) {
+            movieYear = MovieHelper.getYear(name, context);
+        }
+        String tvShowName = null;
+        if (parts.contains(ScanPart.TV_SHOW_NAME)) {
+            tvShowName = new TVShowNameHelper(name, context).getTvShowName();
+        }
+        var season = -1;
+        var episode = -1;
+        if (parts.contains(ScanPart.EPISODE)) {
+            final var sxe = new TVShowEpisodeHelper(name, context).matchEncodedEpisode();
+            season = SeasonXEpisode.getSeason(sxe);
+            episode = SeasonXEpisode.getEpisode(sxe);
+        }
+
+        if (this.metrics != null) {
+            this.metrics.recordScan(System.nanoTime() - start);
+        }
+        return new ScanResult(name, null, movieName, movieYear, tvShowName, season, episode);
+    }
+
+    @NonNull
+    ScanResult scan(@NonNull final File file, @NonNull final Set<@NonNull ScanPart> parts) throws Exception {
+        return scan(file, null, parts);
+    }
+
+    /**
+     * Scan the given file, computing only the given parts.
+     *
+     * @param file file to scan
+     * @param commonSequences common sequences of the parent directory of the file, <code>null</code> to read them from the directory
+     * @param parts parts to compute, the others are left empty
+     * @return scan result
+     * @throws Exception if file name is empty
+     */
+    @NonNull
+    ScanResult scan(@NonNull final File file, @Nullable final CommonSequences commonSequences, @NonNull final Set<@NonNull ScanPart> parts) throws Exception {
+        return scan(file, file.toPath(), commonSequences, parts);
+    }
+
+    @NonNull
+    private ScanResult scan(@NonNull final File file, @Nullable final Path path, @Nullable final CommonSequences commonSequences, @NonNull final Set<@NonNull ScanPart> parts)
+            throws Exception {
+        final var start = this.metrics == null ? 0 : System.nanoTime();
+        final var context = new ScanContext(this);
+        context.setCommonSequences(commonSequences);
+        String movieName = null;
+        String movieYear = null;
+        if (parts.contains(ScanPart.MOVIE)) {
+            final var movieHelper = new MovieHelper(file, context);
+            movieName = movieHelper.getMovieName();
+            movieYear = movieHelper.getYear();
+        } else if (parts.contains(ScanPart.YEAR)) {
+            movieYear = MovieHelper.getYear(file.getName(), context);
+        }
+        String tvShowName = null;
+        if (parts.contains(ScanPart.TV_SHOW_NAME)) {
+            tvShowName = new TVShowNameHelper(file, context).getTvShowName();
+        }
+        var season = -1;
+        var episode = -1;
+        if (parts.contains(ScanPart.EPISODE)) {
+            final var sxe = new TVShowEpisodeHelper(file, context).matchEncodedEpisode();
+            season = SeasonXEpisode.getSeason(sxe);
+            episode = SeasonXEpisode.getEpisode(sxe);
+        }
+
+        final var name = file.getName();
+        assert name != null;
+        if (this.metrics != null) {
+            this.metrics.recordScan(System.nanoTime() - start);
+        }
+        return new ScanResult(name, path, movieName, movieYear, tvShowName, season, episode);
+    }
+
+    /**
+     * Find the season and episode of the given UTF-8 name without allocation when the name is ASCII, with the same result as {@link #scan(byte[], int, int)}.
+     *
+     * @param buf buffer holding the name.
+     * @param off index of the first byte of the name.
+     * @param len number of bytes of the name.
+     * @return encoded season and episode, see {@link SeasonXEpisode#getSeason(long)} and {@link SeasonXEpisode#getEpisode(long)}.
+     * @throws Exception if name is empty
+     */
+    public long scanEpisode(final byte @NonNull [] buf, final int off, final int len) throws Exception {
+        if (TextUtils.isBlank(buf, off, len)) {
+            throw new Exception("File name is null or empty.");
+        }
+        final var start = this.metrics == null ? 0 : System.nanoTime();
+        final var result = EpisodeMatcher.get().match(buf, off, len, this.metrics);
+        if (this.metrics != null) {
+            this.metrics.recordScan(System.nanoTime() - start);
+        }
+        return result;
+    }
+
+    private static void appendScanMatchers(@NonNull final StringBuilder sb, @NonNull final List<@NonNull ScanMatcher> scanMatchers) {
+        sb.append('\n');
+        for (final ScanMatcher scanMatcher : scanMatchers) {
+            sb.append(scanMatcher.getName()).append(':').append(scanMatcher.getCost()).append(':').append(scanMatcher.getPriority()).append(';');
+        }
+    }
+
+    @NonNull
+    private static List<@NonNull ScanMatcher> sortByCost(@NonNull final List<@NonNull ScanMatcher> scanMatchers) {
+        // stable sort: matchers with the same cost run in the order of registration
+        final var result = new ArrayList<@NonNull ScanMatcher>(scanMatchers);
+        result.sort(Comparator.comparingInt(ScanMatcher::getCost));
+        return Collections.unmodifiableList(result);
+    }
+
+    private static boolean isBlank(@NonNull final CharSequence name) {
+        // Same as name.toString().trim().isEmpty()
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builder of {@link ScannerEngine}.
+     *
+     * @author Charlotte
+     */
+    public static final class Builder {
+
+        @NonNull
+        private final List<@NonNull String> nameFilters = new ArrayList<>(DEFAULT_NAME_FILTERS);
+        @NonNull
+        private final Set<@NonNull MovieMatcherType> movieMatchers = EnumSet.allOf(MovieMatcherType.class);
+        @NonNull
+        private final Set<@NonNull TVShowMatcherType> tvShowMatchers = EnumSet.allOf(TVShowMatcherType.class);
+        @NonNull
+        private final List<@NonNull ScanMatcher> movieScanMatchers = new ArrayList<>();
+        @NonNull
+        private final List<@NonNull ScanMatcher> tvShowScanMatchers = new ArrayList<>();
+        @NonNull
+        private Priority confidence = Priority.HIGH;
+        private int minYear = DEFAULT_MIN_YEAR;
+        private int maxYear = 0;
+        private int commonSequenceSampleSize = 0;
+        private boolean metrics = false;
+
+        private Builder() {
+            // use ScannerEngine.builder()
+        }
+
+        /**
+         * Replace the regular expressions removed from names.
+         *
+         * @param regexs list of regular expressions, in order of priority
+         * @return this builder
+         */
+        @NonNull
+        public Builder nameFilters(@NonNull final List<@NonNull String> regexs) {
+            this.nameFilters.clear();
+            this.nameFilters.addAll(regexs);
+            return this;
+        }
+
+        /**
+         * Add regular expressions removed from names, after the current ones.
+         *
+         * @param regexs regular expressions
+         * @return this builder
+         */
+        @NonNull
+        public Builder addNameFilters(@NonNull final String... regexs) {
+            for (final String regex : regexs) {
+                this.nameFilters.add(regex);
+            }
+            return this;
+        }
+
+        /**
+         * Set the enabled movie matchers.
+         *
+         * @param matchers enabled matchers
+         * @return this builder
+         */
+        @NonNull
+        public Builder movieMatchers(@NonNull final MovieMatcherType... matchers) {
+            this.movieMatchers.clear();
+            for (final MovieMatcherType matcher : matchers) {
+                this.movieMatchers.add(matcher);
+            }
+            return this;
+        }
+
+        /**
+         * Set the enabled TV show matchers.
+         *
+         * @param matchers enabled matchers
+         * @return this builder
+         */
+        @NonNull
+        public Builder tvShowMatchers(@NonNull final TVShowMatcherType... matchers) {
+            this.tvShowMatchers.clear();
+            for (final TVShowMatcherType matcher : matchers) {
+                this.tvShowMatchers.add(matcher);
+            }
+            return this;
+        }
+
+        /**
+         * Register a movie matcher, run with the enabled built-in matchers in order of cost.
+         *
+         * @param matcher movie matcher
+         * @return this builder
+         */
+        @NonNull
+        public Builder movieMatcher(@NonNull final ScanMatcher matcher) {
+            this.movieScanMatchers.add(matcher);
+            return this;
+        }
+
+        /**
+         * Register a TV show matcher, run with the enabled built-in matchers in order of cost.
+         *
+         * @param matcher TV show matcher
+         * @return this builder
+         */
+        @NonNull
+        public Builder tvShowMatcher(@NonNull final ScanMatcher matcher) {
+            this.tvShowScanMatchers.add(matcher);
+            return this;
+        }
+
+        /**
+         * Set the priority of a name that stops the matchers, see {@link ScannerEngine#getConfidence()} (by default {@link Priority#HIGH}).
+         * With a lower priority, fewer matchers run but the first names found are not compared with the names of the more expensive matchers.
+         *
+         * @param priority confidence priority
+         * @return this builder
+         */
+        @NonNull
+        public Builder confidence(@NonNull final Priority priority) {
+            this.confidence = priority;
+            return this;
+        }
+
+        /**
+         * Set the minimal year of a movie.
+         *
+         * @param year minimal year
+         * @return this builder
+         */
+        @NonNull
+        public Builder minYear(final int year) {
+            this.minYear = year;
+            return this;
+        }
+
+        /**
+         * Set the maximal year of a movie, by default the current year.
+         *
+         * @param year maximal year
+         * @return this builder
+         */
+        @NonNull
+        public Builder maxYear(final int year) {
+            this.maxYear = year;
+            return this;
+        }
+
+        /**
+         * Set the maximal number of entries of a directory read by the common sequence matcher (by default 0, all the entries are read).
+         * In a directory with more entries, the common sequence is computed on an evenly spaced sample of the entries: faster on huge directories, but the result
+         * may differ from the one computed on all the entries.
+         *
+         * @param sampleSize maximal number of entries, 0 to read all of them
+         * @return this builder
+         */
+        @NonNull
+        public Builder commonSequenceSampleSize(final int sampleSize) {
+            this.commonSequenceSampleSize = sampleSize;
+            return this;
+        }
+
+        /**
+         * Enable the metrics of the matchers, see {@link ScannerEngine#getMetrics()} (disabled by default).
+         *
+         * @param enabled <code>true</code> to collect the metrics
+         * @return this builder
+         */
+        @NonNull
+        public Builder metrics(final boolean enabled) {
+            this.metrics = enabled;
+            return this;
+        }
+
+        /**
+         * Build the engine.
+         *
+         * @return new engine
+         * @throws IllegalArgumentException if the minimal year is greater than the maximal year or if the common sequence sample size is negative
+         */
+        @NonNull
+        public ScannerEngine build() {
+            if (this.maxYear > 0 && this.minYear > this.maxYear) {
+                throw new IllegalArgumentException("Minimal year " + this.minYear + " is greater than maximal year " + this.maxYear + ".");
+            }
+            if (this.commonSequenceSampleSize < 0) {
+                throw new IllegalArgumentException("Common sequence sample size " + this.commonSequenceSampleSize + " is negative.");
+            }
+            return new ScannerEngine(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package aka.media.jfilenamescanner.constants;
+
+/**
+ * List of changes of a watched library.
+ *
+ * @author Charlotte
+ */
+public enum ChangeType {
+
+    /**
+     * File created, or found when the watch started.
+     */
+    ADDED(),
+
+    /**
+     * File scanned again because its directory changed, with a different result.
+     */
+    UPDATED(),
+
+    /**
+     * File deleted.
+     */
+    REMOVED();
+}
@@ -0,0 +1,34 @@
+package aka.media.jfilenamescanner.constants;
+
+/**
+ * List of delimiters of the records of a file name list.
+ *
+ * @author Charlotte
+ */
+public enum Delimiter {
+
+    /**
+     * One name per line, as written by <code>find -print</code> or <code>ls</code>. A carriage return before the line feed is not part of the name.
+     */
+    NEWLINE((byte) '\n'),
+
+    /**
+     * Names terminated by a NUL byte, as written by <code>find -print0</code>: names may contain line feeds.
+     */
+    NUL((byte) 0);
+
+    private final byte value;
+
+    private Delimiter(final byte value) {
+        this.value = value;
+    }
+
+    /**
+     * Get the byte ending a record.
+     *
+     * @return delimiter byte
+     */
+    public byte getByte() {
+        return this.value;
+    }
+}
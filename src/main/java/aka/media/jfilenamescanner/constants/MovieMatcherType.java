@@ -0,0 +1,54 @@
+package aka.media.jfilenamescanner.constants;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * List of matchers used to find the name of a movie.
+ *
+ * @author Charlotte
+ */
+public enum MovieMatcherType {
+
+    /**
+     * Name before the year of the movie.
+     */
+    YEAR(10, Priority.MEDIUM),
+
+    /**
+     * Name before the first upper case word.
+     */
+    UPPERCASE(20, Priority.LOW),
+
+    /**
+     * Name filtered by the regular expressions.
+     */
+    REGEX(30, Priority.MEDIUM);
+
+    private final int cost;
+    @NonNull
+    private final Priority priority;
+
+    private MovieMatcherType(final int cost, @NonNull final Priority priority) {
+        this.cost = cost;
+        this.priority = priority;
+    }
+
+    /**
+     * Get the relative cost of the matcher: matchers are run from the cheapest to the most expensive, see {@link aka.media.jfilenamescanner.ScanMatcher#getCost()}.
+     *
+     * @return cost
+     */
+    public int getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Get the priority of the names found by the matcher.
+     *
+     * @return priority
+     */
+    @NonNull
+    public Priority getPriority() {
+        return this.priority;
+    }
+}
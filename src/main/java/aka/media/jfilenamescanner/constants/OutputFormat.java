@@ -0,0 +1,24 @@
+package aka.media.jfilenamescanner.constants;
+
+/**
+ * List of output formats of the command line scanner.
+ *
+ * @author Charlotte
+ */
+public enum OutputFormat {
+
+    /**
+     * One JSON object per line.
+     */
+    JSONL(),
+
+    /**
+     * Comma separated values with a header line, fields quoted when needed.
+     */
+    CSV(),
+
+    /**
+     * Tab separated values with a header line, tabs, line feeds and backslashes of the fields escaped with a backslash.
+     */
+    TSV();
+}
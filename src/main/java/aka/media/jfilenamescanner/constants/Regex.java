@@ -1,10 +1,14 @@
 package aka.media.jfilenamescanner.constants;
 
+import java.util.regex.Pattern;
+
 import org.eclipse.jdt.annotation.NonNull;
 
 /**
  * List of used Regex.
  *
+ * Each expression is compiled once, when the enum is loaded, use {@link #getPattern()} instead of compiling {@link #getExpression()} again.
+ *
  * @author Charlotte
  */
 public enum Regex {
@@ -79,6 +83,21 @@ public enum Regex {
      */
     TVSHOWNAMEBYEPISODE("(([sS]\\d++\\?\\d++)|(\\d++x\\d++.?\\d++x\\d++)|(\\d++[eE]\\d\\d)|([sS]\\d++.[eE]\\d++)|(\\d++x\\d++)|(\\d++x\\d++.?\\d++\\?\\d++)|(.\\d{3}.))"),
 
+    /**
+     * Non numerical character.
+     */
+    NON_NUMERICAL("[^0-9]"),
+
+    /**
+     * Non alphanumerical character.
+     */
+    NON_ALPHANUMERICAL("[^a-zA-Z0-9]"),
+
+    /**
+     * Words of letters, accents, hyphens or single quotes separated by spaces.
+     */
+    UTF8_WORDS("^(?:[\\p{L}\\p{Mn}\\p{Pd}\\']+\\s[\\p{L}\\p{Mn}\\p{Pd}\\']+\\s?)+$"),
+
     /**
      * Empty string.
      */
@@ -86,9 +105,13 @@ public enum Regex {
 
     @NonNull
     private String expression;
+    @NonNull
+    private Pattern pattern;
 
     private Regex(@NonNull final String expression) {
         this.expression = expression;
+        final Pattern pat = Pattern.compile(expression);
+        this.pattern = pat;
     }
 
     /**
@@ -100,4 +123,14 @@ public enum Regex {
     public String getExpression() {
         return this.expression;
     }
+
+    /**
+     * Get compiled expression.
+     *
+     * @return pattern
+     */
+    @NonNull
+    public Pattern getPattern() {
+        return this.pattern;
+    }
 }
@@ -0,0 +1,59 @@
+package aka.media.jfilenamescanner.constants;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * List of matchers used to find the name of a TV show.
+ *
+ * @author Charlotte
+ */
+public enum TVShowMatcherType {
+
+    /**
+     * Name of the folder containing the season folder.
+     */
+    FOLDER_NAME(10, Priority.HIGH),
+
+    /**
+     * Name before the season and episode numbers.
+     */
+    EPISODE(20, Priority.MEDIUM),
+
+    /**
+     * Common sequence in the names of the files of the same folder.
+     */
+    COMMON_SEQUENCE(40, Priority.LOW),
+
+    /**
+     * Name filtered by the regular expressions.
+     */
+    REGEX(30, Priority.MEDIUM);
+
+    private final int cost;
+    @NonNull
+    private final Priority priority;
+
+    private TVShowMatcherType(final int cost, @NonNull final Priority priority) {
+        this.cost = cost;
+        this.priority = priority;
+    }
+
+    /**
+     * Get the relative cost of the matcher: matchers are run from the cheapest to the most expensive, see {@link aka.media.jfilenamescanner.ScanMatcher#getCost()}.
+     *
+     * @return cost
+     */
+    public int getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Get the priority of the names found by the matcher.
+     *
+     * @return priority
+     */
+    @NonNull
+    public Priority getPriority() {
+        return this.priority;
+    }
+}
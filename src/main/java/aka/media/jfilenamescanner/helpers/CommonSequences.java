@@ -0,0 +1,194 @@
+package aka.media.jfilenamescanner.helpers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.constants.Regex;
+import aka.media.jfilenamescanner.constants.StringConstants;
+import aka.media.jfilenamescanner.utils.UsualWords;
+import aka.media.jfilenamescanner.utils.UsualWordsIndex;
+
+/**
+ * Class CommonSequences.
+ *
+ * Common sequence of the episode names of one directory, used by the common sequence matcher of {@link TVShowNameHelper}.
+ * The entries of the directory are read and standardized once and indexed by {@link UsualWordsIndex}: the common sequence seen by each file (all the other episodes of
+ * the directory) is then read from the index instead of going through all the episodes again.
+ * For huge directories, a sample size limits the number of entries read: the episodes are then an evenly spaced sample of the entries, sorted by name.
+ * The instances read by {@link #get(Path)} are kept in a bounded cache and read again when the last modified time of the directory changes.
+ * An instance is thread safe.
+ *
+ * @author Charlotte
+ */
+public final class CommonSequences {
+
+    /**
+     * Maximal number of directories in the cache.
+     */
+    private static final int MAX_DIRECTORIES = 256;
+
+    @NonNull
+    private static final Map<@NonNull Path, @NonNull CommonSequences> CACHE = Collections.synchronizedMap(new LinkedHashMap<@NonNull Path, @NonNull CommonSequences>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<@NonNull Path, @NonNull CommonSequences> eldest) {
+            return size() > MAX_DIRECTORIES;
+        }
+    });
+
+    @Nullable
+    private final FileTime lastModifiedTime;
+    private final int sampleSize;
+    // Standardized names of the episodes, by file name
+    @NonNull
+    private final Map<@NonNull String, @NonNull String> episodes = new HashMap<>();
+    @NonNull
+    private final List<@NonNull String> standardizedNames = new ArrayList<>();
+    @NonNull
+    private final Map<@NonNull String, @NonNull String> standardizedWords = new HashMap<>();
+    // Common sequences, by standardized name of the excluded file (null if the file is not an episode)
+    @NonNull
+    private final Map<@Nullable String, @Nullable String> commonSequences = new HashMap<>();
+    @Nullable
+    private UsualWordsIndex index;
+
+    /**
+     * Constructor.
+     *
+     * @param entryNames names of all the entries of a directory
+     */
+    public CommonSequences(@NonNull final Iterable<@NonNull String> entryNames) {
+        this(entryNames, 0);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param entryNames names of all the entries of a directory
+     * @param sampleSize maximal number of entries read, 0 to read all of them
+     */
+    public CommonSequences(@NonNull final Iterable<@NonNull String> entryNames, final int sampleSize) {
+        this.lastModifiedTime = null;
+        this.sampleSize = sampleSize;
+        addAll(entryNames);
+    }
+
+    private CommonSequences(@NonNull final FileTime lastModifiedTime, @NonNull final Path directory, final int sampleSize) throws IOException {
+        this.lastModifiedTime = lastModifiedTime;
+        this.sampleSize = sampleSize;
+        final var entryNames = new ArrayList<@NonNull String>();
+        try (var stream = Files.newDirectoryStream(directory)) {
+            for (final Path entry : stream) {
+                entryNames.add(entry.getFileName().toString());
+            }
+        }
+        addAll(entryNames);
+    }
+
+    /**
+     * Get the common sequences of the given directory, read again only if the directory has been modified since the last call.
+     *
+     * @param directory directory
+     * @return common sequences of the directory
+     * @throws IOException if the directory can not be read
+     */
+    @NonNull
+    public static CommonSequences get(@NonNull final Path directory) throws IOException {
+        return get(directory, 0);
+    }
+
+    /**
+     * Get the common sequences of the given directory, read again only if the directory has been modified since the last call or has been read with another sample size.
+     *
+     * @param directory directory
+     * @param sampleSize maximal number of entries read, 0 to read all of them
+     * @return common sequences of the directory
+     * @throws IOException if the directory can not be read
+     */
+    @NonNull
+    public static CommonSequences get(@NonNull final Path directory, final int sampleSize) throws IOException {
+        // Read the time before the entries so that a modification during the read invalidates the cache
+        final var lastModifiedTime = Files.getLastModifiedTime(directory);
+        var result = CACHE.get(directory);
+        if (result == null || !lastModifiedTime.equals(result.lastModifiedTime) || result.sampleSize != sampleSize) {
+            result = new CommonSequences(lastModifiedTime, directory, sampleSize);
+            CACHE.put(directory, result);
+        }
+        return result;
+    }
+
+    private void addAll(@NonNull final Iterable<@NonNull String> entryNames) {
+        if (this.sampleSize <= 0) {
+            for (final String entryName : entryNames) {
+                add(entryName);
+            }
+        } else {
+            final var names = new ArrayList<@NonNull String>();
+            for (final String entryName : entryNames) {
+                names.add(entryName);
+            }
+            if (names.size() <= this.sampleSize) {
+                names.forEach(this::add);
+            } else {
+                // Sorted so that the sample does not depend on the order of the directory
+                Collections.sort(names);
+                for (int i = 0; i < this.sampleSize; i++) {
+                    add(names.get((int) ((long) i * names.size() / this.sampleSize)));
+                }
+            }
+        }
+    }
+
+    private void add(@NonNull final String entryName) {
+        if (entryName.contains(StringConstants.DOT.getString()) && Regex.TVSHOWNAMEBYEPISODE.getPattern().matcher(entryName).find()) {
+            final var name = UsualWords.standardize(entryName.substring(0, entryName.lastIndexOf(StringConstants.DOT.getString()) + 1));
+            this.episodes.put(entryName, name);
+            this.standardizedNames.add(name);
+        }
+    }
+
+    /**
+     * Get the common sequence of the names of the other episodes of the directory.
+     *
+     * @param fileName name of the scanned file
+     * @return common sequence, not filtered, or <code>null</code> if there are less than two other episodes or no common sequence
+     */
+    @Nullable
+    public synchronized String getCommonSequence(@NonNull final String fileName) {
+        final var excluded = this.episodes.get(fileName);
+        if (this.commonSequences.containsKey(excluded)) {
+            return this.commonSequences.get(excluded);
+        }
+
+        var currentIndex = this.index;
+        if (currentIndex == null) {
+            currentIndex = new UsualWordsIndex(this.standardizedNames, this::standardize);
+            this.index = currentIndex;
+        }
+        final var result = currentIndex.getSmallestUsualWords(excluded);
+        this.commonSequences.put(excluded, result);
+        return result;
+    }
+
+    @NonNull
+    private String standardize(@NonNull final String str) {
+        var result = this.standardizedWords.get(str);
+        if (result == null) {
+            result = UsualWords.standardize(str);
+            this.standardizedWords.put(str, result);
+        }
+        return result;
+    }
+}
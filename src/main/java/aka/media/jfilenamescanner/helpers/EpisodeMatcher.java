@@ -0,0 +1,403 @@
+package aka.media.jfilenamescanner.helpers;
+
+import java.io.File;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.ScanMetrics;
+import aka.media.jfilenamescanner.constants.Regex;
+import aka.media.jfilenamescanner.constants.TvShowPattern;
+import aka.media.jfilenamescanner.utils.SeasonXEpisode;
+import aka.media.jfilenamescanner.utils.TextUtils;
+
+/**
+ * Class EpisodeMatcher.
+ *
+ * Season and episode matching of {@link TVShowEpisodeHelper} without allocation: the matchers of the patterns, the lower case copy of the name and the candidates found by
+ * the patterns are kept between calls, and the result is encoded in a <code>long</code> (see {@link SeasonXEpisode#encode(int, int)}).
+ * The name is read once from left to right: a {@link TvShowPattern} is only run at the positions where its first characters are, so the cost of a name does not grow with
+ * the number of patterns that can not match it.
+ * Only the names with non ASCII characters, or scanned with a default locale that changes the case of ASCII letters, are copied to a new string.
+ * An instance is not thread safe, use {@link #get()} to get the instance of the current thread.
+ *
+ * @author Charlotte
+ */
+public final class EpisodeMatcher {
+
+    @NonNull
+    private static final TvShowPattern @NonNull [] PATTERNS = TvShowPattern.values();
+
+    @NonNull
+    private static final ThreadLocal<@NonNull EpisodeMatcher> INSTANCES = ThreadLocal.withInitial(EpisodeMatcher::new);
+
+    private static final long DEFAULT_EPISODE = SeasonXEpisode.encode(1, 1);
+
+    @NonNull
+    private final Matcher @NonNull [] patternMatchers = new Matcher[PATTERNS.length];
+    @NonNull
+    private final Matcher seasonMatcher = Regex.SEASON.getPattern().matcher("");
+    @NonNull
+    private final Matcher episodeMatcher = Regex.EPISODE.getPattern().matcher("");
+    // Lower case name: parent folder, if any, then file name
+    @NonNull
+    private final StringBuilder buffer = new StringBuilder(256);
+    private int parentEnd;
+    private int fileStart;
+    // First match of each pattern, and the patterns run at least once
+    private final boolean @NonNull [] found = new boolean[PATTERNS.length];
+    private final boolean @NonNull [] tried = new boolean[PATTERNS.length];
+    private final int @NonNull [] patternSeasons = new int[PATTERNS.length];
+    private final int @NonNull [] patternEpisodes = new int[PATTERNS.length];
+    private final long @NonNull [] patternNanos = new long[PATTERNS.length];
+    // Position of the last 'p' of the file name, -1 if not searched yet
+    private int lastP;
+    // Candidates found by the patterns
+    private final int @NonNull [] seasons = new int[PATTERNS.length];
+    private final int @NonNull [] episodes = new int[PATTERNS.length];
+    // Keys of the season and episode counts, in insertion order
+    private final int @NonNull [] seasonKeys = new int[PATTERNS.length];
+    private final int @NonNull [] episodeKeys = new int[PATTERNS.length];
+
+    /**
+     * Constructor.
+     */
+    public EpisodeMatcher() {
+        for (int i = 0; i < PATTERNS.length; i++) {
+            this.patternMatchers[i] = PATTERNS[i].getPattern().matcher("");
+        }
+    }
+
+    /**
+     * Get the instance of the current thread.
+     *
+     * @return episode matcher of the current thread
+     */
+    @NonNull
+    public static EpisodeMatcher get() {
+        return INSTANCES.get();
+    }
+
+    /**
+     * Retrieve season and episode, see {@link TVShowEpisodeHelper#matchEpisode()}.
+     *
+     * @param name TV show name, with its parent folder if any
+     * @param metrics metrics of the engine, <code>null</code> if not collected
+     * @return encoded season and episode, see {@link SeasonXEpisode#getSeason(long)} and {@link SeasonXEpisode#getEpisode(long)}
+     */
+    public long match(@NonNull final CharSequence name, @Nullable final ScanMetrics metrics) {
+        toLowerCase(name);
+        return matchBuffer(metrics);
+    }
+
+    /**
+     * Retrieve season and episode of a name given as UTF-8 bytes, see {@link TextUtils#decodeFileName(byte[], int, int)}: an ASCII name is read without being decoded.
+     *
+     * @param buf buffer holding the name, with its parent folder if any
+     * @param off index of the first byte of the name
+     * @param len number of bytes of the name
+     * @param metrics metrics of the engine, <code>null</code> if not collected
+     * @return encoded season and episode, see {@link SeasonXEpisode#getSeason(long)} and {@link SeasonXEpisode#getEpisode(long)}
+     */
+    public long match(final byte @NonNull [] buf, final int off, final int len, @Nullable final ScanMetrics metrics) {
+        Objects.checkFromIndexSize(off, len, buf.length);
+        var separator = -1;
+        var ascii = isAsciiLowerCase();
+        for (int i = off; ascii && i < off + len; i++) {
+            ascii = buf[i] >= 0;
+            if (buf[i] == File.separatorChar) {
+                separator = i - off;
+            }
+        }
+        if (!ascii) {
+            return match(TextUtils.decodeFileName(buf, off, len), metrics);
+        }
+
+        this.buffer.setLength(0);
+        for (int i = off; i < off + len; i++) {
+            final var chr = (char) buf[i];
+            this.buffer.append(chr >= 'A' && chr <= 'Z' ? (char) (chr + 'a' - 'A') : chr);
+        }
+        this.parentEnd = separator;
+        this.fileStart = separator + 1;
+        return matchBuffer(metrics);
+    }
+
+    private long matchBuffer(@Nullable final ScanMetrics metrics) {
+        // Digits are not changed by the lower case
+        if (!hasDigit(this.buffer)) {
+            // all patterns need digits
+            if (metrics != null) {
+                metrics.recordEpisodeFallback();
+            }
+            return DEFAULT_EPISODE;
+        }
+        final var count = findCandidates(metrics);
+
+        final long result;
+        if (count == 0) {
+            if (metrics != null) {
+                metrics.recordEpisodeFallback();
+            }
+            result = matchSeasonAndEpisode();
+        } else {
+            // Both groups of every pattern are digits: all the candidates are complete matches
+            result = getMostProbable(count);
+        }
+        return result;
+    }
+
+    /**
+     * Find the first match of each pattern in one pass: the positions are read from left to right, a pattern is only tried where it can start and until it matches, so
+     * the matches are the ones {@link Matcher#find()} would give.
+     *
+     * @param metrics metrics of the engine, <code>null</code> if not collected
+     * @return number of candidates, stored in pattern order
+     */
+    private int findCandidates(@Nullable final ScanMetrics metrics) {
+        final var end = this.buffer.length();
+        for (int p = 0; p < PATTERNS.length; p++) {
+            this.found[p] = false;
+            this.tried[p] = false;
+            this.patternNanos[p] = 0;
+            this.patternMatchers[p].reset(this.buffer);
+        }
+        this.lastP = -1;
+        var remaining = PATTERNS.length;
+        for (int i = this.fileStart; i < end && remaining > 0; i++) {
+            for (int p = 0; p < PATTERNS.length; p++) {
+                if (!this.found[p] && canStartAt(PATTERNS[p], i)) {
+                    final var start = metrics == null ? 0 : System.nanoTime();
+                    this.tried[p] = true;
+                    final var matcher = this.patternMatchers[p].region(i, end);
+                    if (matcher.lookingAt()) {
+                        var season = parse(matcher.start(1), matcher.end(1));
+                        final var episode = parse(matcher.start(2), matcher.end(2));
+                        if (episode == 0) {// Absolute number ? season followed by the zeros of the episode
+                            for (int j = matcher.start(2); j < matcher.end(2); j++) {
+                                season *= 10;
+                            }
+                        }
+                        this.patternSeasons[p] = season;
+                        this.patternEpisodes[p] = episode;
+                        this.found[p] = true;
+                        remaining--;
+                    }
+                    if (metrics != null) {
+                        this.patternNanos[p] += System.nanoTime() - start;
+                    }
+                }
+            }
+        }
+
+        var count = 0;
+        for (int p = 0; p < PATTERNS.length; p++) {
+            if (this.found[p]) {
+                this.seasons[count] = this.patternSeasons[p];
+                this.episodes[count] = this.patternEpisodes[p];
+                count++;
+            }
+            // A pattern that could start nowhere has not been run
+            if (metrics != null && this.tried[p]) {
+                metrics.recordPattern(PATTERNS[p], this.patternNanos[p], this.found[p]);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check if the given pattern can match at the given position: the first characters of its match are checked, the pattern itself is only run if they are there.
+     *
+     * @param pattern pattern
+     * @param i position in the buffer
+     * @return <code>false</code> if the pattern can not match at this position
+     */
+    private boolean canStartAt(@NonNull final TvShowPattern pattern, final int i) {
+        final var chr = this.buffer.charAt(i);
+        switch (pattern) {
+            case SxEPattern:
+                // 1x02, 01x02
+                return isDigit(chr) && (charAt(i + 1) == 'x' || isDigit(charAt(i + 1)) && charAt(i + 2) == 'x');
+            case SxEPattern2:
+                // s01e02
+                return chr == 's' && isDigit(charAt(i + 1));
+            case SxEPattern3:
+                // 102 at the start or after a non word character
+                return i == this.fileStart && isDigit(chr) || !isWordCharacter(chr) && isDigit(charAt(i + 1));
+            case SxEPattern4:
+            case SxEPattern5:
+                // season 1 ep 2, season 1 episode 2
+                return chr == 's' && (startsWith(i, "season") || startsWith(i, "saison")) && getLastP() > i;
+            case SxEPattern6:
+                // s01 episode 2
+                return chr == 's' && isDigit(charAt(i + 1)) && getLastP() > i;
+            case SxEPattern7:
+                // 01 002
+                return isDigit(chr) && isDigit(charAt(i + 1)) && charAt(i + 2) == ' ';
+            default:
+                // pattern without known start
+                return true;
+        }
+    }
+
+    private int getLastP() {
+        if (this.lastP < 0) {
+            // The "p" of the last "ep", "episode"...
+            this.lastP = this.fileStart;
+            for (int j = this.buffer.length() - 1; j > this.fileStart; j--) {
+                if (this.buffer.charAt(j) == 'p') {
+                    this.lastP = j;
+                    break;
+                }
+            }
+        }
+        return this.lastP;
+    }
+
+    private char charAt(final int i) {
+        return i < this.buffer.length() ? this.buffer.charAt(i) : '\0';
+    }
+
+    private boolean startsWith(final int i, @NonNull final String prefix) {
+        if (i + prefix.length() > this.buffer.length()) {
+            return false;
+        }
+        for (int j = 0; j < prefix.length(); j++) {
+            if (this.buffer.charAt(i + j) != prefix.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char chr) {
+        return chr >= '0' && chr <= '9';
+    }
+
+    private static boolean isWordCharacter(final char chr) {
+        return chr >= 'a' && chr <= 'z' || chr >= 'A' && chr <= 'Z' || isDigit(chr) || chr == '_';
+    }
+
+    private long matchSeasonAndEpisode() {
+        var season = -1;
+        var episode = -1;
+        if (this.parentEnd < 0) {
+            this.seasonMatcher.reset(this.buffer).region(this.fileStart, this.buffer.length());
+        } else {
+            this.seasonMatcher.reset(this.buffer).region(0, this.parentEnd);
+        }
+        if (this.seasonMatcher.find()) {
+            season = parse(this.seasonMatcher.start(1), this.seasonMatcher.end(1));
+        }
+
+        this.episodeMatcher.reset(this.buffer).region(this.fileStart, this.buffer.length());
+        if (this.episodeMatcher.find()) {
+            final var group = this.episodeMatcher.start(1) < 0 ? 2 : 1;
+            episode = parse(this.episodeMatcher.start(group), this.episodeMatcher.end(group));
+        }
+
+        return season > -1 && episode > -1 ? SeasonXEpisode.encode(season, episode) : DEFAULT_EPISODE;
+    }
+
+    private long getMostProbable(final int count) {
+        var different = false;
+        for (int i = 1; i < count; i++) {
+            different |= this.seasons[i] != this.seasons[0] || this.episodes[i] != this.episodes[0];
+        }
+        if (!different) {
+            return SeasonXEpisode.encode(this.seasons[0], this.episodes[0]);
+        }
+
+        // Each count stays at 1 and a counted key is moved to the end, so the most probable number is the first key: the episode keys are seasons, as they always were
+        var seasonKeyCount = 0;
+        var episodeKeyCount = 0;
+        for (int i = 0; i < count; i++) {
+            final var season = this.seasons[i];
+            seasonKeyCount = remove(this.seasonKeys, seasonKeyCount, season);
+            this.seasonKeys[seasonKeyCount++] = season;
+
+            episodeKeyCount = remove(this.episodeKeys, episodeKeyCount, this.episodes[i]);
+            if (indexOf(this.episodeKeys, episodeKeyCount, season) < 0) {
+                this.episodeKeys[episodeKeyCount++] = season;
+            }
+        }
+        return SeasonXEpisode.encode(this.seasonKeys[0], this.episodeKeys[0]);
+    }
+
+    private static int indexOf(final int @NonNull [] keys, final int count, final int key) {
+        for (int i = 0; i < count; i++) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int remove(final int @NonNull [] keys, final int count, final int key) {
+        final var index = indexOf(keys, count, key);
+        if (index < 0) {
+            return count;
+        }
+        System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+        return count - 1;
+    }
+
+    private int parse(final int start, final int end) {
+        var result = 0;
+        for (int i = start; i < end; i++) {
+            result = result * 10 + this.buffer.charAt(i) - '0';
+        }
+        return result;
+    }
+
+    private static boolean hasDigit(@NonNull final CharSequence name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (isDigit(name.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLowerCase() {
+        final var language = Locale.getDefault().getLanguage();
+        // Those locales have their own lower case of 'I'
+        return !"tr".equals(language) && !"az".equals(language) && !"lt".equals(language);
+    }
+
+    private void toLowerCase(@NonNull final CharSequence name) {
+        var separator = -1;
+        var ascii = true;
+        for (int i = 0; i < name.length(); i++) {
+            final var chr = name.charAt(i);
+            ascii &= chr < 128;
+            if (chr == File.separatorChar) {
+                separator = i;
+            }
+        }
+        ascii &= isAsciiLowerCase();
+
+        this.buffer.setLength(0);
+        if (ascii) {
+            for (int i = 0; i < name.length(); i++) {
+                final var chr = name.charAt(i);
+                this.buffer.append(chr >= 'A' && chr <= 'Z' ? (char) (chr + 'a' - 'A') : chr);
+            }
+            this.parentEnd = separator;
+            this.fileStart = separator + 1;
+        } else {
+            final var str = name.toString();
+            this.parentEnd = -1;
+            if (separator >= 0) {
+                this.buffer.append(str.substring(0, separator).toLowerCase());
+                this.parentEnd = this.buffer.length();
+                this.buffer.append(File.separatorChar);
+            }
+            this.fileStart = this.buffer.length();
+            this.buffer.append(str.substring(separator + 1).toLowerCase());
+        }
+    }
+}
@@ -2,21 +2,24 @@ package aka.media.jfilenamescanner.helpers;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Calendar;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
-import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.ScanMatcher;
+import aka.media.jfilenamescanner.ScanMetrics;
+import aka.media.jfilenamescanner.constants.MovieMatcherType;
 import aka.media.jfilenamescanner.constants.Regex;
 import aka.media.jfilenamescanner.constants.StringConstants;
 import aka.media.jfilenamescanner.utils.NameMatcher;
 import aka.media.jfilenamescanner.utils.TextUtils;
 import aka.media.jfilenamescanner.utils.UsualWords;
+import aka.media.jfilenamescanner.utils.YearCandidate;
+import aka.media.jfilenamescanner.utils.YearExtractor;
 
 /**
  * Class MovieHelper.
@@ -28,12 +31,21 @@ import aka.media.jfilenamescanner.utils.UsualWords;
  */
 public final class MovieHelper {
 
+    // Built-in matchers, from the cheapest to the most expensive
+    private static final MovieMatcherType @NonNull [] TYPES = Arrays.stream(MovieMatcherType.values()).sorted(Comparator.comparingInt(MovieMatcherType::getCost))
+            .toArray(MovieMatcherType[]::new);
+
     @NonNull
     private final String filename;
     @Nullable
-    private String movieYear;
+    private final File mfile;
+    @Nullable
+    private final String movieYear;
+    // Last year of the name, found even when the year matcher does not run
+    @Nullable
+    private final YearCandidate yearCandidate;
     @NonNull
-    private final List<@NonNull String> regexs;
+    private final ScanContext context;
     @Nullable
     private String movieName;
     private @NonNull final String nameWithoutSuffix;
@@ -46,7 +58,18 @@ public final class MovieHelper {
      * @throws Exception if file name is null or empty
      */
     public MovieHelper(@NonNull final File mfile, @NonNull final List<@NonNull String> regexs) throws Exception {
-        this(mfile.getName(), regexs);
+        this(mfile.getName(), new ScanContext(regexs));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param mfile movie file.
+     * @param context context of the current scan.
+     * @throws Exception if file name is null or empty
+     */
+    public MovieHelper(@NonNull final File mfile, @NonNull final ScanContext context) throws Exception {
+        this(mfile.getName(), mfile, context);
     }
 
     /**
@@ -57,10 +80,26 @@ public final class MovieHelper {
      * @throws Exception if file name is null or empty
      */
     public MovieHelper(@Nullable final String name, @NonNull final List<@NonNull String> regexs) throws Exception {
+        this(name, new ScanContext(regexs));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name movie name
+     * @param context context of the current scan
+     * @throws Exception if file name is null or empty
+     */
+    public MovieHelper(@Nullable final String name, @NonNull final ScanContext context) throws Exception {
+        this(name, null, context);
+    }
+
+    private MovieHelper(@Nullable final String name, @Nullable final File mfile, @NonNull final ScanContext context) throws Exception {
         if (name == null || name.trim().isEmpty()) {
             throw new Exception("File name is null or empty.");
         }
         this.filename = name;
+        this.mfile = mfile;
 
         final String temp = FilenameUtils.getBaseName(this.filename);
         if (temp == null || temp.trim().isEmpty()) {
@@ -68,28 +107,85 @@ public final class MovieHelper {
         }
 
         this.nameWithoutSuffix = temp;
-        this.regexs = regexs;
+        this.context = context;
+        // The year does not depend on the matchers that find the name: a registered matcher stopping the loop before the year matcher keeps it
+        this.yearCandidate = context.isEnabled(MovieMatcherType.YEAR) ? YearExtractor.findLast(name, context.getMinYear(), context.getMaxYear()) : null;
+        this.movieYear = this.yearCandidate == null ? null : String.valueOf(this.yearCandidate.getYear());
         parseName();
     }
 
+    /**
+     * Get the year of the given movie name, with the same result as {@link #getYear()} without looking for the movie name.
+     *
+     * @param name movie name
+     * @param context context of the current scan
+     * @return year of the movie
+     * @throws Exception if file name is null or empty
+     */
+    @Nullable
+    public static String getYear(@Nullable final String name, @NonNull final ScanContext context) throws Exception {
+        if (name == null || name.trim().isEmpty()) {
+            throw new Exception("File name is null or empty.");
+        }
+        final String temp = FilenameUtils.getBaseName(name);
+        if (temp == null || temp.trim().isEmpty()) {
+            throw new Exception("File name is null or empty.");
+        }
+
+        String result = null;
+        if (context.isEnabled(MovieMatcherType.YEAR)) {
+            final var metrics = context.getMetrics();
+            final var start = metrics == null ? 0 : System.nanoTime();
+            final var candidate = YearExtractor.findLast(name, context.getMinYear(), context.getMaxYear());
+            if (candidate != null) {
+                result = String.valueOf(candidate.getYear());
+            }
+            if (metrics != null) {
+                metrics.recordMatcher(MovieMatcherType.YEAR, System.nanoTime() - start, result != null);
+            }
+        }
+        return result;
+    }
+
     private void parseName() {
         String result;
         // Get all matcher values
         final var names = new ArrayList<@NonNull NameMatcher>();
-        getMatcherRes(names, getMovieNameByYear(Regex.MOVIENAMEBYYEARW.getExpression()));
-        getMatcherRes(names, getMovieNameByYear(Regex.MOVIENAMEBYYEAR.getExpression()));
-        getMatcherRes(names, getMovieNameByUpperCase());
-        getMatcherRes(names, getMovieNameByRegex());
+        final var metrics = this.context.getMetrics();
+        // Matcher of each name, only when the metrics are collected
+        // null for the registered matchers, they have no metrics
+        final var types = metrics == null ? null : new ArrayList<@Nullable MovieMatcherType>();
+        // Built-in and registered matchers by cost, until a name is found with a high enough priority
+        final var scanMatchers = this.context.getMovieScanMatchers();
+        var builtIn = 0;
+        var registered = 0;
+        var confident = false;
+        while (!confident && (builtIn < TYPES.length || registered < scanMatchers.size())) {
+            if (registered == scanMatchers.size() || builtIn < TYPES.length && TYPES[builtIn].getCost() <= scanMatchers.get(registered).getCost()) {
+                final var type = TYPES[builtIn++];
+                if (this.context.isEnabled(type)) {
+                    confident = runMatcher(type, names, metrics, types);
+                }
+            } else {
+                confident = runScanMatcher(scanMatchers.get(registered++), names, types);
+            }
+        }
         if (names.isEmpty()) {
-            result = UsualWords.standardize(this.nameWithoutSuffix);
+            if (metrics != null) {
+                metrics.recordMovieFallback();
+            }
+            result = this.context.standardize(this.nameWithoutSuffix);
         } else {
             result = UsualWords.matchAllNames(names, false);
+            if (metrics != null && types != null) {
+                recordSelected(metrics, types, names, result);
+            }
             if (result != null) {
                 // remove roman number
-                result = result.replaceAll(Regex.EPISODE_ROMAN.getExpression(), StringConstants.SPACE.getString());
+                result = Regex.EPISODE_ROMAN.getPattern().matcher(result).replaceAll(StringConstants.SPACE.getString());
 
                 // remove number (exemple: Rocky 3 l'oeil du tigre) only if this is not the end of the name
-                result = result.replaceAll(Regex.EPISODE_NUMERICAL.getExpression(), StringConstants.SPACE.getString());
+                result = Regex.EPISODE_NUMERICAL.getPattern().matcher(result).replaceAll(StringConstants.SPACE.getString());
                 if (result.endsWith(" 1") && !result.toLowerCase().endsWith("part 1") && !result.toLowerCase().endsWith("partie 1")) {
                     result = result.substring(0, result.lastIndexOf(" 1"));
                 }
@@ -98,7 +194,7 @@ public final class MovieHelper {
                 }
 
                 // at end, remove "et" unusefull
-                result = result.replaceAll(Regex.ET.getExpression(), StringConstants.SPACE.getString());
+                result = Regex.ET.getPattern().matcher(result).replaceAll(StringConstants.SPACE.getString());
             }
         }
         this.movieName = result;
@@ -124,55 +220,107 @@ public final class MovieHelper {
         return this.movieYear;
     }
 
-    private void getMatcherRes(@NonNull final List<@NonNull NameMatcher> matchResults, @NonNull final NameMatcher nameMatcher) {
-        if (nameMatcher.found()) {
-            matchResults.add(nameMatcher);
+    private boolean runMatcher(@NonNull final MovieMatcherType type, @NonNull final List<@NonNull NameMatcher> names, @Nullable final ScanMetrics metrics,
+            @Nullable final List<@Nullable MovieMatcherType> types) {
+        final var start = metrics == null ? 0 : System.nanoTime();
+        final var count = names.size();
+        switch (type) {
+            case YEAR:
+                // The year matcher used to run two expressions with the same matches, its name still counts twice
+                final var byYear = getMovieNameByYear();
+                getMatcherRes(names, byYear);
+                getMatcherRes(names, byYear);
+                break;
+            case UPPERCASE:
+                getMatcherRes(names, getMovieNameByUpperCase());
+                break;
+            case REGEX:
+                getMatcherRes(names, getMovieNameByRegex());
+                break;
+            default:
+                break;
         }
+        record(metrics, types, names, type, start);
+        return names.size() > count && this.context.isConfident(type.getPriority());
     }
 
-    @NonNull
-    private NameMatcher getMovieNameByYear(@NonNull final String stringPattern) {
-        final NameMatcher nameMatcher = new NameMatcher("Year Matcher", Priority.MEDIUM);
-        String name = null;
-        final Pattern pattern = Pattern.compile(stringPattern);
-        final Matcher matcher = pattern.matcher(this.filename);
-        while (matcher.find()) {
-            int indexGrp = 0;
-            if (matcher.groupCount() > 1) {
-                indexGrp = 1;
+    private boolean runScanMatcher(@NonNull final ScanMatcher scanMatcher, @NonNull final List<@NonNull NameMatcher> names, @Nullable final List<@Nullable MovieMatcherType> types) {
+        final var nameMatcher = new NameMatcher(scanMatcher.getName(), scanMatcher.getPriority());
+        final var match = scanMatcher.match(this.filename, this.mfile, this.context);
+        if (match != null) {
+            nameMatcher.setMatch(this.context.standardize(match));
+        }
+        getMatcherRes(names, nameMatcher);
+        if (types != null) {
+            while (types.size() < names.size()) {
+                types.add(null);
             }
-            final String syear = matcher.group(indexGrp);
-            final int year = Integer.parseInt(trimNonNum(syear));
-            if (year >= 1900 && year <= Calendar.getInstance().get(Calendar.YEAR)) {
-                final int index = this.filename.indexOf(matcher.group(0));
-                name = this.filename.substring(0, index);
-                this.movieYear = String.valueOf(year);
+        }
+        return nameMatcher.found() && this.context.isConfident(nameMatcher.getPriority());
+    }
+
+    private void record(@Nullable final ScanMetrics metrics, @Nullable final List<@Nullable MovieMatcherType> types, @NonNull final List<@NonNull NameMatcher> names, @NonNull final MovieMatcherType type, final long start) {
+        if (metrics != null && types != null) {
+            metrics.recordMatcher(type, System.nanoTime() - start, names.size() > types.size());
+            while (types.size() < names.size()) {
+                types.add(type);
             }
         }
+    }
+
+    private void recordSelected(@NonNull final ScanMetrics metrics, @NonNull final List<@Nullable MovieMatcherType> types, @NonNull final List<@NonNull NameMatcher> names, @Nullable final String result) {
+        if (result != null) {
+            MovieMatcherType previous = null;
+            for (int i = 0; i < names.size(); i++) {
+                // The common words are lower case, the year matcher can give two names
+                final var type = types.get(i);
+                if (type != null && type != previous && result.equalsIgnoreCase(this.context.standardize(names.get(i).getMatch()))) {
+                    metrics.recordSelected(type);
+                    previous = type;
+                }
+            }
+        }
+    }
+
+    private void getMatcherRes(@NonNull final List<@NonNull NameMatcher> matchResults, @NonNull final NameMatcher nameMatcher) {
+        if (nameMatcher.found()) {
+            matchResults.add(nameMatcher);
+        }
+    }
 
-        if (name != null) {
-            name = UsualWords.standardize(name);
-            name = UsualWords.getFilteredName(name, this.regexs);
+    @NonNull
+    private NameMatcher getMovieNameByYear() {
+        final NameMatcher nameMatcher = new NameMatcher("Year Matcher", MovieMatcherType.YEAR.getPriority());
+        final var candidate = this.yearCandidate;
+        if (candidate != null) {
+            final int index = indexOf(this.filename, candidate.getMatchStart(), candidate.getMatchEnd());
+            var name = this.filename.substring(0, index);
+            name = this.context.standardize(name);
+            name = this.context.getFilteredName(name);
             nameMatcher.setMatch(name);
         }
 
         return nameMatcher;
     }
 
-    @Nullable
-    private String trimNonNum(@Nullable final String text) {
-        String result = null;
-        if (text != null) {
-            result = text.replaceAll("[^0-9]", StringConstants.EMPTY.getString());
+    private static int indexOf(@NonNull final String text, final int start, final int end) {
+        // first occurrence of the region [start, end) in the text, without copying the region
+        final var length = end - start;
+        var result = start;
+        for (int i = 0; i < start; i++) {
+            if (text.regionMatches(i, text, start, length)) {
+                result = i;
+                break;
+            }
         }
         return result;
     }
 
     @NonNull
     private NameMatcher getMovieNameByUpperCase() {
-        final var movieMatcher = new NameMatcher("UpperCase Matcher", Priority.LOW);
-        var name = UsualWords.standardize(this.nameWithoutSuffix);
-        final var words = name.split(StringConstants.SPACE.getString());
+        final var movieMatcher = new NameMatcher("UpperCase Matcher", MovieMatcherType.UPPERCASE.getPriority());
+        var name = this.context.standardize(this.nameWithoutSuffix);
+        final var words = TextUtils.split(name, ' ');
         String end = null;
         for (final String word : words) {
             final var mword = word.replace(":", StringConstants.EMPTY.getString());
@@ -184,15 +332,15 @@ public final class MovieHelper {
 
         if (end != null) {
             name = name.substring(0, name.indexOf(end));
-            movieMatcher.setMatch(UsualWords.getFilteredName(name, this.regexs));
+            movieMatcher.setMatch(this.context.getFilteredName(name));
         }
         return movieMatcher;
     }
 
     @NonNull
     private NameMatcher getMovieNameByRegex() {
-        final var movieMatcher = new NameMatcher("Regex Matcher", Priority.MEDIUM);
-        final var name = UsualWords.getFilteredName(UsualWords.standardize(this.nameWithoutSuffix), this.regexs);
+        final var movieMatcher = new NameMatcher("Regex Matcher", MovieMatcherType.REGEX.getPriority());
+        final var name = this.context.getFilteredName(this.context.standardize(this.nameWithoutSuffix));
         movieMatcher.setMatch(name);
         return movieMatcher;
     }
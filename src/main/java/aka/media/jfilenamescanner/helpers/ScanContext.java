@@ -0,0 +1,213 @@
+package aka.media.jfilenamescanner.helpers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import aka.media.jfilenamescanner.ScanMatcher;
+import aka.media.jfilenamescanner.ScanMetrics;
+import aka.media.jfilenamescanner.ScannerEngine;
+import aka.media.jfilenamescanner.constants.MovieMatcherType;
+import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.constants.TVShowMatcherType;
+import aka.media.jfilenamescanner.utils.UsualWords;
+
+/**
+ * Class ScanContext.
+ *
+ * Shared state of one scan: the {@link MovieHelper}, {@link TVShowNameHelper} and {@link TVShowEpisodeHelper} created for the same name use the same context so that a string
+ * standardized or filtered by one strategy is not computed again by the next one.
+ * A context is not thread safe, it must be used by one scan at a time.
+ *
+ * @author Charlotte
+ */
+public final class ScanContext {
+
+    @NonNull
+    private final ScannerEngine engine;
+    @NonNull
+    private final Map<@NonNull String, @NonNull String> standardizedNames = new HashMap<>();
+    @NonNull
+    private final Map<@NonNull String, @NonNull String> filteredNames = new HashMap<>();
+    @Nullable
+    private CommonSequences commonSequences;
+
+    /**
+     * Constructor, with the engine of the given regular expressions, see {@link ScannerEngine#getDefault(List)}.
+     *
+     * @param regexs list of regular expressions to use
+     */
+    public ScanContext(@NonNull final List<@NonNull String> regexs) {
+        this(ScannerEngine.getDefault(regexs));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param engine engine running the scan
+     */
+    public ScanContext(@NonNull final ScannerEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Get the engine running the scan.
+     *
+     * @return engine
+     */
+    @NonNull
+    public ScannerEngine getEngine() {
+        return this.engine;
+    }
+
+    /**
+     * Get the metrics of the engine running the scan.
+     *
+     * @return metrics, <code>null</code> if the engine has been built without metrics
+     */
+    @Nullable
+    public ScanMetrics getMetrics() {
+        return this.engine.getMetrics();
+    }
+
+    /**
+     * Check if the given movie matcher is enabled.
+     *
+     * @param movieMatcher movie matcher
+     * @return <code>true</code> if enabled
+     */
+    public boolean isEnabled(@NonNull final MovieMatcherType movieMatcher) {
+        return this.engine.isEnabled(movieMatcher);
+    }
+
+    /**
+     * Check if the given TV show matcher is enabled.
+     *
+     * @param tvShowMatcher TV show matcher
+     * @return <code>true</code> if enabled
+     */
+    public boolean isEnabled(@NonNull final TVShowMatcherType tvShowMatcher) {
+        return this.engine.isEnabled(tvShowMatcher);
+    }
+
+    /**
+     * Get the movie matchers registered in the engine, see {@link ScannerEngine#getMovieScanMatchers()}.
+     *
+     * @return registered movie matchers, from the cheapest to the most expensive
+     */
+    @NonNull
+    public List<@NonNull ScanMatcher> getMovieScanMatchers() {
+        return this.engine.getMovieScanMatchers();
+    }
+
+    /**
+     * Get the TV show matchers registered in the engine, see {@link ScannerEngine#getTvShowScanMatchers()}.
+     *
+     * @return registered TV show matchers, from the cheapest to the most expensive
+     */
+    @NonNull
+    public List<@NonNull ScanMatcher> getTvShowScanMatchers() {
+        return this.engine.getTvShowScanMatchers();
+    }
+
+    /**
+     * Check if a name with the given priority stops the matchers, see {@link ScannerEngine#getConfidence()}.
+     *
+     * @param priority priority of the name found
+     * @return <code>true</code> if no other matcher must run
+     */
+    public boolean isConfident(@NonNull final Priority priority) {
+        return priority.compareTo(this.engine.getConfidence()) <= 0;
+    }
+
+    /**
+     * Check if the given year is a valid movie year for the engine.
+     *
+     * @param year year to check
+     * @return <code>true</code> if valid
+     */
+    public boolean isValidYear(final int year) {
+        return year >= getMinYear() && year <= getMaxYear();
+    }
+
+    /**
+     * Get the minimal year of a movie for the engine.
+     *
+     * @return minimal year
+     */
+    public int getMinYear() {
+        return this.engine.getMinYear();
+    }
+
+    /**
+     * Get the maximal year of a movie for the engine.
+     *
+     * @return maximal year, current year if not set.
+     */
+    public int getMaxYear() {
+        return this.engine.getMaxYear();
+    }
+
+    /**
+     * Get the maximal number of entries of a directory read by the common sequence matcher, see {@link ScannerEngine#getCommonSequenceSampleSize()}.
+     *
+     * @return sample size, 0 if all the entries are read
+     */
+    public int getCommonSequenceSampleSize() {
+        return this.engine.getCommonSequenceSampleSize();
+    }
+
+    /**
+     * Standardize string, see {@link UsualWords#standardize(String)}.
+     *
+     * @param str string to normalized
+     * @return String normalized
+     */
+    @NonNull
+    public String standardize(@NonNull final String str) {
+        var result = this.standardizedNames.get(str);
+        if (result == null) {
+            result = UsualWords.standardize(str);
+            this.standardizedNames.put(str, result);
+        }
+        return result;
+    }
+
+    /**
+     * Remove all regular expressions of this context from given name, see {@link aka.media.jfilenamescanner.utils.NameFilter#filter(String)}.
+     *
+     * @param mediaName Media name to filtered
+     * @return Cleaned name
+     */
+    @NonNull
+    public String getFilteredName(@NonNull final String mediaName) {
+        var result = this.filteredNames.get(mediaName);
+        if (result == null) {
+            result = this.engine.getNameFilter().filter(mediaName);
+            this.filteredNames.put(mediaName, result);
+        }
+        return result;
+    }
+
+    /**
+     * Get the common sequences of the directory of the scanned file, when its entries are already known.
+     *
+     * @return common sequences of the parent directory, <code>null</code> if the directory has not been listed
+     */
+    @Nullable
+    public CommonSequences getCommonSequences() {
+        return this.commonSequences;
+    }
+
+    /**
+     * Set the common sequences of the directory of the scanned file, so that the directory is not listed again.
+     *
+     * @param commonSequences common sequences of the parent directory, <code>null</code> if the directory has not been listed
+     */
+    public void setCommonSequences(@Nullable final CommonSequences commonSequences) {
+        this.commonSequences = commonSequences;
+    }
+}
@@ -1,17 +1,20 @@
 package aka.media.jfilenamescanner.helpers;
 
 import java.io.File;
-import java.io.FileFilter;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
-import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.ScanMatcher;
+import aka.media.jfilenamescanner.ScanMetrics;
 import aka.media.jfilenamescanner.constants.Regex;
 import aka.media.jfilenamescanner.constants.StringConstants;
+import aka.media.jfilenamescanner.constants.TVShowMatcherType;
 import aka.media.jfilenamescanner.utils.FileUtils;
 import aka.media.jfilenamescanner.utils.NameMatcher;
 import aka.media.jfilenamescanner.utils.TextUtils;
@@ -27,12 +30,16 @@ import aka.media.jfilenamescanner.utils.UsualWords;
  */
 public class TVShowNameHelper {
 
+    // Built-in matchers, from the cheapest to the most expensive
+    private static final TVShowMatcherType @NonNull [] TYPES = Arrays.stream(TVShowMatcherType.values()).sorted(Comparator.comparingInt(TVShowMatcherType::getCost))
+            .toArray(TVShowMatcherType[]::new);
+
     @Nullable
-    private File mfile = null;
+    private final File mfile;
     @NonNull
-    private String filename = StringConstants.EMPTY.getString();
+    private final String filename;
     @NonNull
-    private List<@NonNull String> regexs = new ArrayList<>();
+    private final ScanContext context;
 
     /**
      * Constructor.
@@ -42,12 +49,24 @@ public class TVShowNameHelper {
      * @throws Exception
      */
     public TVShowNameHelper(@NonNull final File mfile, @NonNull final List<@NonNull String> regexs) throws Exception {
+        this(mfile, new ScanContext(regexs));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param mfile TV show file
+     * @param context context of the current scan
+     * @throws Exception
+     */
+    public TVShowNameHelper(@NonNull final File mfile, @NonNull final ScanContext context) throws Exception {
         this.mfile = mfile;
+        this.context = context;
         final var name = mfile.getName();
         if (name == null || name.trim().isEmpty()) {
             throw new Exception("File name is null or empty.");
         }
-        init(name, regexs);
+        this.filename = name;
     }
 
     /**
@@ -57,12 +76,19 @@ public class TVShowNameHelper {
      * @param regexs list of regular expression
      */
     public TVShowNameHelper(@NonNull final String name, @NonNull final List<@NonNull String> regexs) {
-        init(name, regexs);
+        this(name, new ScanContext(regexs));
     }
 
-    private void init(@NonNull final String name, @NonNull final List<@NonNull String> regexList) {
+    /**
+     * Constructor.
+     *
+     * @param name TV show name
+     * @param context context of the current scan
+     */
+    public TVShowNameHelper(@NonNull final String name, @NonNull final ScanContext context) {
+        this.mfile = null;
         this.filename = name;
-        this.regexs = regexList;
+        this.context = context;
     }
 
     /**
@@ -75,19 +101,91 @@ public class TVShowNameHelper {
         String toReturn = null;
         // Get all matcher values
         final var names = new ArrayList<@NonNull NameMatcher>();
-        getMatcherRes(names, matchByFolderName());
-        getMatcherRes(names, matchByEpisode());
-        getMatcherRes(names, matchByCommonSeqFileName());
-        getMatcherRes(names, matchByRegEx());
+        final var metrics = this.context.getMetrics();
+        // Matcher of each name, only when the metrics are collected
+        // null for the registered matchers, they have no metrics
+        final var types = metrics == null ? null : new ArrayList<@Nullable TVShowMatcherType>();
+        // Built-in and registered matchers by cost, until a name is found with a high enough priority:
+        // by default the folder name, the only high priority name, decides and the other matchers do not run
+        final var scanMatchers = this.context.getTvShowScanMatchers();
+        var builtIn = 0;
+        var registered = 0;
+        var confident = false;
+        while (!confident && (builtIn < TYPES.length || registered < scanMatchers.size())) {
+            if (registered == scanMatchers.size() || builtIn < TYPES.length && TYPES[builtIn].getCost() <= scanMatchers.get(registered).getCost()) {
+                final var type = TYPES[builtIn++];
+                if (this.context.isEnabled(type)) {
+                    confident = runMatcher(type, names, metrics, types);
+                }
+            } else {
+                confident = runScanMatcher(scanMatchers.get(registered++), names, types);
+            }
+        }
         if (names.isEmpty()) {
-            final String result = this.filename.substring(0, this.filename.lastIndexOf(StringConstants.DOT.getString()));
-            toReturn = UsualWords.standardize(result);
+            if (metrics != null) {
+                metrics.recordTvShowFallback();
+            }
+            toReturn = this.context.standardize(getNameWithoutExtension());
         } else {
             toReturn = UsualWords.matchAllNames(names, true);
+            if (metrics != null && types != null && toReturn != null) {
+                for (int i = 0; i < names.size(); i++) {
+                    final var type = types.get(i);
+                    if (type != null && toReturn.equals(this.context.standardize(names.get(i).getMatch()))) {
+                        metrics.recordSelected(type);
+                    }
+                }
+            }
         }
         return toReturn;
     }
 
+    private final boolean runMatcher(@NonNull final TVShowMatcherType type, @NonNull final List<@NonNull NameMatcher> names, @Nullable final ScanMetrics metrics,
+            @Nullable final List<@Nullable TVShowMatcherType> types) {
+        final var start = metrics == null ? 0 : System.nanoTime();
+        final var count = names.size();
+        switch (type) {
+            case FOLDER_NAME:
+                getMatcherRes(names, matchByFolderName());
+                break;
+            case EPISODE:
+                getMatcherRes(names, matchByEpisode());
+                break;
+            case COMMON_SEQUENCE:
+                getMatcherRes(names, matchByCommonSeqFileName());
+                break;
+            case REGEX:
+                getMatcherRes(names, matchByRegEx());
+                break;
+            default:
+                break;
+        }
+        record(metrics, types, names, type, start);
+        return names.size() > count && this.context.isConfident(type.getPriority());
+    }
+
+    private final boolean runScanMatcher(@NonNull final ScanMatcher scanMatcher, @NonNull final List<@NonNull NameMatcher> names, @Nullable final List<@Nullable TVShowMatcherType> types) {
+        final var nameMatcher = new NameMatcher(scanMatcher.getName(), scanMatcher.getPriority());
+        final var match = scanMatcher.match(this.filename, this.mfile, this.context);
+        if (match != null) {
+            nameMatcher.setMatch(this.context.standardize(match));
+        }
+        getMatcherRes(names, nameMatcher);
+        if (types != null && names.size() > types.size()) {
+            types.add(null);
+        }
+        return nameMatcher.found() && this.context.isConfident(nameMatcher.getPriority());
+    }
+
+    private final void record(@Nullable final ScanMetrics metrics, @Nullable final List<@Nullable TVShowMatcherType> types, @NonNull final List<@NonNull NameMatcher> names, @NonNull final TVShowMatcherType type, final long start) {
+        if (metrics != null && types != null) {
+            metrics.recordMatcher(type, System.nanoTime() - start, names.size() > types.size());
+            if (names.size() > types.size()) {
+                types.add(type);
+            }
+        }
+    }
+
     private final void getMatcherRes(@NonNull final List<@NonNull NameMatcher> matchResults, @NonNull final NameMatcher tvshowMatcher) {
         if (tvshowMatcher.found()) {
             matchResults.add(tvshowMatcher);
@@ -96,14 +194,13 @@ public class TVShowNameHelper {
 
     @NonNull
     private final NameMatcher matchByFolderName() {
-        final var folderNameMatcher = new NameMatcher("Folder Name Matcher", Priority.HIGH);
+        final var folderNameMatcher = new NameMatcher("Folder Name Matcher", TVShowMatcherType.FOLDER_NAME.getPriority());
         var res = StringConstants.EMPTY.getString();
         final var currentFile = this.mfile;
         if (currentFile != null) {
             final var parentFile = currentFile.getParent();
             if (parentFile != null) {
-                final var pattern = Pattern.compile(Regex.SEASONFOLDERPATTERN.getExpression());
-                final var matcher = pattern.matcher(parentFile.substring(parentFile.lastIndexOf(File.separator) + 1));
+                final var matcher = Regex.SEASONFOLDERPATTERN.getPattern().matcher(parentFile.substring(parentFile.lastIndexOf(File.separator) + 1));
                 if (matcher.find()) {// Parent folder looks like : Season 5,s3,saison 12,...
                     if (currentFile.getParentFile().getParent() != null) {// If parent folder looks like a season folder, parent folder of season folder is probably the TV show name
                         final var current = currentFile.getParentFile().getParentFile();
@@ -114,28 +211,29 @@ public class TVShowNameHelper {
                 }
             }
         }
-        res = UsualWords.getFilteredName(res, this.regexs);
+        res = this.context.getFilteredName(res);
 
-        folderNameMatcher.setMatch(UsualWords.standardize(res));
+        folderNameMatcher.setMatch(this.context.standardize(res));
         return folderNameMatcher;
     }
 
     @NonNull
     private final NameMatcher matchByEpisode() {
-        final var episodeMatcher = new NameMatcher("Episode Matcher", Priority.MEDIUM);
+        final var episodeMatcher = new NameMatcher("Episode Matcher", TVShowMatcherType.EPISODE.getPriority());
         var name = this.filename;
-        final var pattern = Pattern.compile(Regex.TVSHOWNAMEBYEPISODE.getExpression());
-        final var matcher = pattern.matcher(name);
+        final var firstDigitIndex = TextUtils.indexOfDigit(name);
+        final var matcher = Regex.TVSHOWNAMEBYEPISODE.getPattern().matcher(name);
 
-        if (matcher.find()) {// Match episode in fileName
+        // An episode always contains a digit and starts at most one code point before it
+        if (firstDigitIndex >= 0 && matcher.find(firstDigitIndex == 0 ? 0 : Character.offsetByCodePoints(name, firstDigitIndex, -1))) {// Match episode in fileName
             name = name.substring(0, name.indexOf(matcher.group(0)));
         } else {
             name = StringConstants.EMPTY.getString();
         }
 
         if (!TextUtils.isEmpty(name)) {
-            name = UsualWords.getFilteredName(name, this.regexs);
-            episodeMatcher.setMatch(UsualWords.standardize(name));
+            name = this.context.getFilteredName(name);
+            episodeMatcher.setMatch(this.context.standardize(name));
         }
 
         return episodeMatcher;
@@ -143,50 +241,23 @@ public class TVShowNameHelper {
 
     @NonNull
     private final NameMatcher matchByCommonSeqFileName() {
-        final var commonMatcher = new NameMatcher("Common sequence in files matcher", Priority.LOW);
+        final var commonMatcher = new NameMatcher("Common sequence in files matcher", TVShowMatcherType.COMMON_SEQUENCE.getPriority());
         final var currentFile = this.mfile;
         if (currentFile != null) {
+            var commonSequences = this.context.getCommonSequences();
             final var parentFile = currentFile.getParentFile();
-            final var files = parentFile.listFiles((FileFilter) file -> {
-                var result = false;
-                if (file.getName().contains(StringConstants.DOT.getString())) {
-                    if (!currentFile.equals(file)) {
-                        final var name = file.getName();
-                        final var pattern = Pattern.compile(Regex.TVSHOWNAMEBYEPISODE.getExpression());
-                        final var matcher = pattern.matcher(name);
-                        if (matcher.find()) {
-                            result = true;
-                        }
-                    }
+            if (commonSequences == null && parentFile != null) {
+                try {
+                    commonSequences = CommonSequences.get(parentFile.toPath(), this.context.getCommonSequenceSampleSize());
+                } catch (final IOException e) {
+                    // Directory can not be read, no common sequence
                 }
-                return result;
-            });
-
-            if (files != null && files.length > 1) {
-                // Add all words from fileName in list
-                final var names = new ArrayList<@NonNull String>();
-                for (final File f : files) {
-                    final var name = f.getName().substring(0, f.getName().lastIndexOf(StringConstants.DOT.getString()) + 1);
-                    names.add(UsualWords.standardize(name));
-                }
-
-                // Check if list is as small as possible
-                var tvShowNames = UsualWords.getUsualWords(names);
-                if (tvShowNames != null) {
-                    // Get list as small as possible
-                    var tmp = UsualWords.getUsualWords(tvShowNames);
-                    while (tmp != null) {
-                        tmp = UsualWords.getUsualWords(tmp);
-                        if (tmp != null) {
-                            tvShowNames = tmp;
-                        }
-                    }
-
-                    var res = UsualWords.getSmallString(tvShowNames);
-                    if (res != null) {
-                        res = UsualWords.getFilteredName(res, this.regexs);
-                        commonMatcher.setMatch(UsualWords.standardize(res));
-                    }
+            }
+            if (commonSequences != null) {
+                var res = commonSequences.getCommonSequence(this.filename);
+                if (res != null) {
+                    res = this.context.getFilteredName(res);
+                    commonMatcher.setMatch(this.context.standardize(res));
                 }
             }
         }
@@ -196,20 +267,25 @@ public class TVShowNameHelper {
 
     @NonNull
     private final NameMatcher matchByRegEx() {
-        final var tvshowMatcher = new NameMatcher("Regex Matcher", Priority.MEDIUM);
-        var name = this.filename.substring(0, this.filename.lastIndexOf(StringConstants.DOT.getString()));
-        name = UsualWords.getFilteredName(name, this.regexs);
-        tvshowMatcher.setMatch(UsualWords.standardize(name));
+        final var tvshowMatcher = new NameMatcher("Regex Matcher", TVShowMatcherType.REGEX.getPriority());
+        final var name = this.context.getFilteredName(getNameWithoutExtension());
+        tvshowMatcher.setMatch(this.context.standardize(name));
         return tvshowMatcher;
     }
 
+    @NonNull
+    private final String getNameWithoutExtension() {
+        final var index = this.filename.lastIndexOf(StringConstants.DOT.getString());
+        final var result = index < 0 ? this.filename : this.filename.substring(0, index);
+        return result;
+    }
+
     @NonNull
     private final String getTvShowFolderName(@NonNull final File parentFile) {
         var res = StringConstants.EMPTY.getString();
         if (!FileUtils.isRootDir(parentFile)) {
             final var parent = parentFile.getName().substring(parentFile.getName().lastIndexOf(File.separator) + 1);
-            final var pattern = Pattern.compile(Regex.SEASONFOLDERPATTERN.getExpression());
-            final var matcher = pattern.matcher(parent);
+            final var matcher = Regex.SEASONFOLDERPATTERN.getPattern().matcher(parent);
             if (!matcher.find()) {// Check if folderName is not a tvshowName
                 res = parent;
             }
@@ -0,0 +1,94 @@
+package aka.media.jfilenamescanner.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import aka.media.jfilenamescanner.constants.StringConstants;
+
+/**
+ * Class NameFilter.
+ *
+ * Compiled list of regular expressions to remove from a media name.
+ * Each expression is compiled once (identical expressions share their pattern) and they are applied one after the other in the order of the list, as a loop of
+ * <code>replaceAll</code> would: an expression may match a name left by the previous ones, and when two expressions overlap ("hddvd" and "hddvdrip") the first one
+ * of the list wins. All the expressions are also compiled in a single case insensitive alternation, used to return the names that no expression matches after one
+ * pass.
+ * An instance is immutable and can be shared between threads.
+ *
+ * @author Charlotte
+ */
+public final class NameFilter {
+
+    @NonNull
+    private final List<@NonNull String> regexs;
+    @NonNull
+    private final List<@NonNull Pattern> patterns;
+    @NonNull
+    private final Pattern pattern;
+
+    /**
+     * Constructor.
+     *
+     * @param regexs list of regular expressions to remove, in order of priority
+     */
+    public NameFilter(@NonNull final List<@NonNull String> regexs) {
+        this.regexs = List.copyOf(regexs);
+        final var compiled = new HashMap<@NonNull String, @NonNull Pattern>();
+        final var patternList = new ArrayList<@NonNull Pattern>();
+        final var sb = new StringBuilder("(?i)");
+        for (final String regex : this.regexs) {
+            var regexPattern = compiled.get(regex);
+            if (regexPattern == null) {
+                regexPattern = Pattern.compile("(?i)" + regex);
+                compiled.put(regex, regexPattern);
+                if (sb.length() > 4) {
+                    sb.append('|');
+                }
+                sb.append("(?:").append(regex).append(')');
+            }
+            patternList.add(regexPattern);
+        }
+        this.patterns = List.copyOf(patternList);
+        final var expression = sb.toString();
+        assert expression != null;
+        this.pattern = Pattern.compile(expression);
+    }
+
+    /**
+     * Get the regular expressions of this filter.
+     *
+     * @return regular expressions, in order of priority
+     */
+    @NonNull
+    public List<@NonNull String> getRegexs() {
+        return this.regexs;
+    }
+
+    /**
+     * Replace dots and underscores by spaces then remove all regular expressions of this filter from given name.
+     *
+     * @param mediaName Media name to filtered
+     * @return Cleaned media name
+     */
+    @NonNull
+    public String filter(@NonNull final String mediaName) {
+        final var res = mediaName.replace(StringConstants.DOT.getString(), StringConstants.SPACE.getString()).replace(StringConstants.UNDERSCORE.getString(), StringConstants.SPACE.getString());
+        if (this.regexs.isEmpty()) {
+            return res;
+        }
+        if (!this.pattern.matcher(res).find()) {
+            // No expression matches the name, so none of them changes it
+            return res;
+        }
+        var result = res;
+        for (final Pattern regexPattern : this.patterns) {
+            result = regexPattern.matcher(result).replaceAll(StringConstants.EMPTY.getString());
+        }
+        assert result != null;
+        return result;
+    }
+}
@@ -30,6 +30,56 @@ public final class SeasonXEpisode {
         this.episode = episode;
     }
 
+    /**
+     * Encode the given season and episode in a single value, see {@link #getSeason(long)} and {@link #getEpisode(long)}.
+     *
+     * @param season season number.
+     * @param episode episode number.
+     * @return encoded season and episode.
+     */
+    public static long encode(final int season, final int episode) {
+        return (long) season << 32 | episode & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Get the season of an encoded season and episode.
+     *
+     * @param encoded encoded season and episode, see {@link #encode(int, int)}.
+     * @return season.
+     */
+    public static int getSeason(final long encoded) {
+        return (int) (encoded >> 32);
+    }
+
+    /**
+     * Get the episode of an encoded season and episode.
+     *
+     * @param encoded encoded season and episode, see {@link #encode(int, int)}.
+     * @return episode.
+     */
+    public static int getEpisode(final long encoded) {
+        return (int) encoded;
+    }
+
+    /**
+     * Get the season and episode of an encoded value.
+     *
+     * @param encoded encoded season and episode, see {@link #encode(int, int)}.
+     * @return season and episode.
+     */
+    public static SeasonXEpisode decode(final long encoded) {
+        return new SeasonXEpisode(getSeason(encoded), getEpisode(encoded));
+    }
+
+    /**
+     * Encode this season and episode in a single value.
+     *
+     * @return encoded season and episode.
+     */
+    public long encode() {
+        return encode(this.season, this.episode);
+    }
+
     /**
      * Get the season.
      *
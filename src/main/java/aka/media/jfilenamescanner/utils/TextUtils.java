@@ -1,14 +1,17 @@
 package aka.media.jfilenamescanner.utils;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Pattern;
+import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
+import aka.media.jfilenamescanner.constants.Regex;
+
 /**
  * Text utils.
  *
@@ -76,7 +79,7 @@ public final class TextUtils {
     public static String trimNonAlphaNum(final String text) {
         String result = null;
         if (text != null) {
-            result = text.replaceAll("[^a-zA-Z0-9]", "");
+            result = Regex.NON_ALPHANUMERICAL.getPattern().matcher(text).replaceAll("");
         }
         return result;
     }
@@ -177,6 +180,22 @@ public final class TextUtils {
         return true;
     }
 
+    /**
+     * Get the index of the first digit of the given name, as the regular expressions see them ([0-9] only).
+     *
+     * @param name name
+     * @return index of the first digit, -1 if none
+     */
+    public static int indexOfDigit(@NonNull final CharSequence name) {
+        for (int i = 0; i < name.length(); i++) {
+            final var chr = name.charAt(i);
+            if (chr >= '0' && chr <= '9') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Check if string can be stored in database
      *
@@ -206,8 +225,7 @@ public final class TextUtils {
          * $   # end of subject
          * </pre>
          */
-        final var pattern = "^(?:[\\p{L}\\p{Mn}\\p{Pd}\\']+\\s[\\p{L}\\p{Mn}\\p{Pd}\\']+\\s?)+$";
-        return Pattern.compile(pattern).matcher(s).matches();
+        return Regex.UTF8_WORDS.getPattern().matcher(s).matches();
     }
 
     /**
@@ -233,7 +251,9 @@ public final class TextUtils {
      *
      * @param num the UTF-16 string to decode
      * @return the resulting string
+     * @deprecated lossy: the string is encoded with the platform charset then decoded as UTF-8, use {@link #decodeFileName(byte[], int, int)} on the bytes of the name
      */
+    @Deprecated
     @Nullable
     public final static String decode_utf16F4(final @NonNull String num) {
         String stringISO = null;
@@ -246,6 +266,101 @@ public final class TextUtils {
         return stringISO;
     }
 
+    /**
+     * Check if the given UTF-8 name is empty or only made of spaces and control characters, like <code>trim().isEmpty()</code> on the decoded name.
+     *
+     * @param buf buffer holding the name
+     * @param off index of the first byte of the name
+     * @param len number of bytes of the name
+     * @return <code>true</code> if the name is blank
+     * @throws IndexOutOfBoundsException if the slice is not in the buffer
+     */
+    public static boolean isBlank(final byte @NonNull [] buf, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, buf.length);
+        var result = true;
+        for (int i = off; result && i < off + len; i++) {
+            // a byte of a non ASCII character is negative
+            result = buf[i] >= 0 && buf[i] <= ' ';
+        }
+        return result;
+    }
+
+    /**
+     * Decode a file name from UTF-8 bytes, as read from a directory listing or a network message.
+     * Linux file names are bytes and are not always valid UTF-8: each byte that is not part of a valid UTF-8 sequence is decoded as an ISO-8859-1 character
+     * (the usual encoding of the old names) instead of being replaced, so that no character of the name is lost. The result is not a unique key of the bytes: the UTF-8
+     * and the ISO-8859-1 encodings of the same name give the same string.
+     * An ASCII name is not decoded, its bytes are copied once.
+     *
+     * @param buf buffer holding the name
+     * @param off index of the first byte of the name
+     * @param len number of bytes of the name
+     * @return decoded name
+     * @throws IndexOutOfBoundsException if the slice is not in the buffer
+     */
+    @NonNull
+    public static String decodeFileName(final byte @NonNull [] buf, final int off, final int len) {
+        Objects.checkFromIndexSize(off, len, buf.length);
+        final var end = off + len;
+        var i = off;
+        while (i < end && buf[i] >= 0) {
+            i++;
+        }
+        if (i == end) {
+            // ASCII is a subset of ISO-8859-1, which is copied without decoding
+            return new String(buf, off, len, StandardCharsets.ISO_8859_1);
+        }
+
+        // A UTF-8 sequence never gives more chars than bytes
+        final var chars = new char[len];
+        var count = 0;
+        for (int j = off; j < i; j++) {
+            chars[count++] = (char) buf[j];
+        }
+        while (i < end) {
+            final var b = buf[i] & 0xFF;
+            final int length;
+            int codePoint;
+            if (b < 0x80) {
+                length = 1;
+                codePoint = b;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                length = 2;
+                codePoint = b & 0x1F;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                length = 3;
+                codePoint = b & 0x0F;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                length = 4;
+                codePoint = b & 0x07;
+            } else {
+                length = 0;
+                codePoint = b;
+            }
+            var valid = length > 0 && i + length <= end;
+            for (int k = 1; valid && k < length; k++) {
+                final var c = buf[i + k] & 0xFF;
+                valid = c >= 0x80 && c <= 0xBF;
+                codePoint = codePoint << 6 | c & 0x3F;
+            }
+            // No overlong sequence, surrogate or code point above U+10FFFF
+            valid &= length < 3 || codePoint >= (length == 3 ? 0x800 : 0x10000) && codePoint <= 0x10FFFF && (codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE);
+            if (valid) {
+                if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                    chars[count++] = Character.highSurrogate(codePoint);
+                    chars[count++] = Character.lowSurrogate(codePoint);
+                } else {
+                    chars[count++] = (char) codePoint;
+                }
+                i += length;
+            } else {
+                chars[count++] = (char) b;
+                i++;
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
     /**
      * remove all non-numerical values from the given string
      *
@@ -256,9 +371,37 @@ public final class TextUtils {
     public static String trimNonNumerical(@Nullable final String text) {
         String result = null;
         if (text != null) {
-            result = text.replaceAll("[^0-9]", "");
+            result = Regex.NON_NUMERICAL.getPattern().matcher(text).replaceAll("");
         }
         return result;
     }
 
+    /**
+     * Split text around the given separator, without regular expression.
+     * Same result as {@link String#split(String)} with a one character separator: trailing empty strings are removed.
+     *
+     * @param text text to split
+     * @param separator separator character
+     * @return array of strings
+     */
+    @NonNull
+    public static String @NonNull [] split(@NonNull final String text, final char separator) {
+        final var result = new ArrayList<@NonNull String>();
+        var start = 0;
+        var index = text.indexOf(separator);
+        while (index >= 0) {
+            result.add(text.substring(start, index));
+            start = index + 1;
+            index = text.indexOf(separator, start);
+        }
+        if (start == 0) {
+            return new String[] { text };
+        }
+        result.add(text.substring(start));
+        var size = result.size();
+        while (size > 0 && result.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return result.subList(0, size).toArray(new String[size]);
+    }
 }
@@ -4,11 +4,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 
+import aka.media.jfilenamescanner.ScannerEngine;
 import aka.media.jfilenamescanner.constants.Priority;
 import aka.media.jfilenamescanner.constants.Regex;
 import aka.media.jfilenamescanner.constants.StringConstants;
@@ -69,26 +71,34 @@ public abstract class UsualWords {
      */
     @Nullable
     public final static List<@NonNull String> getUsualWords(@NonNull final List<@NonNull String> names) {
-        var common = new ArrayList<@NonNull String>();
-        for (int i = 0; i < names.size(); i++) {
-            for (int j = 0; j < names.size(); j++) {
-                if (i != j) {
-                    final var list1 = List.of(names.get(i).toLowerCase().split(StringConstants.SPACE.getString()));
-                    final var list2 = List.of(names.get(i).toLowerCase().split(StringConstants.SPACE.getString()));
-                    final String res = getCommonList(list1, list2);
-                    if (res.length() > 0) {
-                        common.add(standardize(res));
-                    }
+        return getUsualWords(names, UsualWords::standardize);
+    }
+
+    /**
+     * Get list of common words in list of string separated by space character.
+     *
+     * @param names name List
+     * @param standardizer function used to standardize the common words, see {@link #standardize(String)}
+     * @return List of common words or null if list is as small as possible
+     */
+    @Nullable
+    public final static List<@NonNull String> getUsualWords(@NonNull final List<@NonNull String> names, @NonNull final UnaryOperator<@NonNull String> standardizer) {
+        final var set = new HashSet<@NonNull String>();
+        if (names.size() > 1) {
+            // Each name is compared with itself: its common words are all its words, the lower case name without its leading and trailing spaces
+            for (final String name : names) {
+                final var words = name.toLowerCase().trim();
+                if (words.length() > 0) {
+                    set.add(standardizer.apply(words));
                 }
             }
         }
 
         if (names.size() == 1) {
-            common.add(standardize(names.get(0)));
+            set.add(standardizer.apply(names.get(0)));
         }
 
-        final var set = new HashSet<>(common);
-        common = new ArrayList<>(set);
+        final var common = new ArrayList<@NonNull String>(set);
 
         Collections.sort(names);
         Collections.sort(common);
@@ -100,29 +110,6 @@ public abstract class UsualWords {
         return common;
     }
 
-    /**
-     * Get common words between two string list.
-     *
-     * @param list1 String list
-     * @param list2 String list
-     * @return String with all common words separated by space character or empty string
-     */
-    @NonNull
-    private static final String getCommonList(@NonNull final List<String> list1, @NonNull final List<String> list2) {
-        final var sb = new StringBuilder();
-        for (final String str : list1) {
-            if (list2.contains(str)) {
-                if (sb.length() != 0) {
-                    sb.append(StringConstants.SPACE.getString());
-                }
-                sb.append(str);
-            }
-        }
-
-        final var result = sb.toString().trim();
-        return result;
-    }
-
     /**
      * Standardize string.
      *
@@ -133,9 +120,10 @@ public abstract class UsualWords {
     public static final String standardize(@NonNull final String str) {
         var normalize = str;
         normalize = normalize.replace(StringConstants.DOT.getString(), StringConstants.SPACE.getString()).replace(StringConstants.UNDERSCORE.getString(), StringConstants.SPACE.getString()).replace(StringConstants.DASH.getString(), StringConstants.SPACE.getString()).trim();
-        normalize = normalize.replaceAll(Regex.PUNCTUATION.getExpression(), StringConstants.EMPTY.getString());
-        normalize = normalize.replaceAll(Regex.PUNCTUATION2.getExpression(), StringConstants.EMPTY.getString()).replaceAll(Regex.PUNCTUATION3.getExpression(), StringConstants.EMPTY.getString());
-        normalize = normalize.replaceAll(Regex.DUPLICATE_SPACE_CHARACTER.getExpression(), StringConstants.SPACE.getString());
+        normalize = Regex.PUNCTUATION.getPattern().matcher(normalize).replaceAll(StringConstants.EMPTY.getString());
+        normalize = Regex.PUNCTUATION2.getPattern().matcher(normalize).replaceAll(StringConstants.EMPTY.getString());
+        normalize = Regex.PUNCTUATION3.getPattern().matcher(normalize).replaceAll(StringConstants.EMPTY.getString());
+        normalize = Regex.DUPLICATE_SPACE_CHARACTER.getPattern().matcher(normalize).replaceAll(StringConstants.SPACE.getString());
         final var result = normalize.trim();
         return result;
     }
@@ -159,6 +147,7 @@ public abstract class UsualWords {
 
     /**
      * Replace all regular expression from list in media name by void, no case sensitive.
+     * The list is compiled once, see {@link ScannerEngine#getDefault(List)}.
      *
      * @param mediaName Media name to filtered
      * @param replaceBy List of regular expression
@@ -166,12 +155,18 @@ public abstract class UsualWords {
      */
     @NonNull
     public static final String getFilteredName(@NonNull final String mediaName, @NonNull final List<@NonNull String> replaceBy) {
-        var res = mediaName.replaceAll("\\.", StringConstants.SPACE.getString());
-        res = res.replaceAll(StringConstants.UNDERSCORE.getString(), StringConstants.SPACE.getString());
-        for (final String regex : replaceBy) {
-            res = res.replaceAll("(?i)" + regex, StringConstants.EMPTY.getString());
-        }
+        return getFilteredName(mediaName, ScannerEngine.getDefault(replaceBy).getNameFilter());
+    }
 
-        return res;
+    /**
+     * Replace all regular expression of the filter in media name by void, no case sensitive.
+     *
+     * @param mediaName Media name to filtered
+     * @param nameFilter compiled regular expressions
+     * @return Cleaned movie name by regex
+     */
+    @NonNull
+    public static final String getFilteredName(@NonNull final String mediaName, @NonNull final NameFilter nameFilter) {
+        return nameFilter.filter(mediaName);
     }
 }
@@ -0,0 +1,184 @@
+package aka.media.jfilenamescanner.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Class UsualWordsIndex.
+ *
+ * Smallest usual words of a list of names without one of them, as computed by repeating {@link UsualWords#getUsualWords(List, UnaryOperator)} until the list is as small
+ * as possible then taking {@link UsualWords#getSmallString(List)}.
+ * The usual words of a name only depend on the name itself, its standardized lower case form: each distinct name gets an id and is standardized once, and the result
+ * for any excluded name is read from the number of occurrences of each id and of each usual words, instead of going through all the names again.
+ * When a standardized form is not stable (standardizing it again changes it), the index falls back to the loop on all the names.
+ *
+ * @author Charlotte
+ */
+public final class UsualWordsIndex {
+
+    @NonNull
+    private final List<@NonNull String> names;
+    @NonNull
+    private final UnaryOperator<@NonNull String> standardizer;
+    // Id of each distinct name
+    @NonNull
+    private final Map<@NonNull String, @NonNull Integer> ids = new HashMap<>();
+    // Occurrences of each id
+    private int @NonNull [] counts;
+    // Usual words of each id, null if the name is blank
+    @Nullable
+    private String @NonNull [] usualWords;
+    // Occurrences of each usual words
+    @NonNull
+    private final Map<@NonNull String, @NonNull Integer> usualCounts = new HashMap<>();
+    // true if the usual words of the name are the name itself
+    private boolean @NonNull [] stable;
+    // Number of ids found more than once, number of names that are not their own usual words
+    private int duplicates;
+    private int unstable;
+    private final boolean indexed;
+    // Two smallest usual words, in the order of getSmallString
+    @Nullable
+    private String smallest;
+    @Nullable
+    private String secondSmallest;
+
+    /**
+     * Constructor.
+     *
+     * @param names names
+     * @param standardizer function used to standardize the usual words, see {@link UsualWords#standardize(String)}
+     */
+    public UsualWordsIndex(@NonNull final List<@NonNull String> names, @NonNull final UnaryOperator<@NonNull String> standardizer) {
+        this.names = new ArrayList<>(names);
+        this.standardizer = standardizer;
+        this.counts = new int[16];
+        this.usualWords = new String[16];
+        this.stable = new boolean[16];
+        for (final String name : this.names) {
+            add(name);
+        }
+        this.indexed = index();
+    }
+
+    /**
+     * Get the smallest usual words of the names without the given one.
+     *
+     * @param excluded name removed from the list (one occurrence), <code>null</code> to use all the names
+     * @return smallest usual words, <code>null</code> if there are less than two names or if the names are already as small as possible
+     */
+    @Nullable
+    public String getSmallestUsualWords(@Nullable final String excluded) {
+        final var id = excluded == null ? null : this.ids.get(excluded);
+        if (this.names.size() - (id == null ? 0 : 1) <= 1) {
+            return null;
+        }
+        if (!this.indexed) {
+            return loop(excluded);
+        }
+
+        // Every name is its own usual words, once: the names are as small as possible
+        final var duplicatesLeft = this.duplicates - (id != null && this.counts[id.intValue()] == 2 ? 1 : 0);
+        final var unstableLeft = this.unstable - (id != null && !this.stable[id.intValue()] ? 1 : 0);
+        if (duplicatesLeft == 0 && unstableLeft == 0) {
+            return null;
+        }
+
+        // Otherwise the usual words of the names are the list as small as possible, without the usual words of the excluded name if no other name has them
+        String removed = null;
+        if (id != null) {
+            final var excludedWords = this.usualWords[id.intValue()];
+            if (excludedWords != null && this.usualCounts.get(excludedWords).intValue() == 1) {
+                removed = excludedWords;
+            }
+        }
+        final var result = removed != null && removed.equals(this.smallest) ? this.secondSmallest : this.smallest;
+        return result == null ? null : UsualWords.standardize(result);
+    }
+
+    private void add(@NonNull final String name) {
+        var id = this.ids.get(name);
+        if (id == null) {
+            id = Integer.valueOf(this.ids.size());
+            this.ids.put(name, id);
+            if (id.intValue() == this.counts.length) {
+                final var length = 2 * this.counts.length;
+                this.counts = Arrays.copyOf(this.counts, length);
+                this.usualWords = Arrays.copyOf(this.usualWords, length);
+                this.stable = Arrays.copyOf(this.stable, length);
+            }
+            final var words = name.toLowerCase().trim();
+            if (!words.isEmpty()) {
+                final var standardized = this.standardizer.apply(words);
+                this.usualWords[id.intValue()] = standardized;
+                this.stable[id.intValue()] = standardized.equals(name);
+            }
+        }
+        final var i = id.intValue();
+        this.counts[i]++;
+        if (this.counts[i] == 2) {
+            this.duplicates++;
+        }
+        if (!this.stable[i]) {
+            this.unstable++;
+        }
+        final var words = this.usualWords[i];
+        if (words != null) {
+            this.usualCounts.merge(words, Integer.valueOf(1), (a, b) -> Integer.valueOf(a.intValue() + b.intValue()));
+        }
+    }
+
+    private boolean index() {
+        // The usual words must be their own usual words, alone or with other names, so that the loop stops after the first list
+        for (final String words : this.usualCounts.keySet()) {
+            final var lowerCase = words.toLowerCase().trim();
+            if (lowerCase.isEmpty() || !words.equals(this.standardizer.apply(lowerCase)) || !words.equals(this.standardizer.apply(words))) {
+                return false;
+            }
+            if (this.smallest == null || isSmaller(words, this.smallest)) {
+                this.secondSmallest = this.smallest;
+                this.smallest = words;
+            } else if (this.secondSmallest == null || isSmaller(words, this.secondSmallest)) {
+                this.secondSmallest = words;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSmaller(@NonNull final String s1, @NonNull final String s2) {
+        // Order of getSmallString on a sorted list: shortest first, names of two characters last, then alphabetical order
+        final var length1 = s1.length() == 2 ? Integer.MAX_VALUE : s1.length();
+        final var length2 = s2.length() == 2 ? Integer.MAX_VALUE : s2.length();
+        return length1 < length2 || length1 == length2 && s1.compareTo(s2) < 0;
+    }
+
+    @Nullable
+    private String loop(@Nullable final String excluded) {
+        String result = null;
+        final var list = new ArrayList<@NonNull String>(this.names);
+        if (excluded != null) {
+            list.remove(excluded);
+        }
+        // Check if list is as small as possible
+        var usual = UsualWords.getUsualWords(list, this.standardizer);
+        if (usual != null) {
+            // Get list as small as possible
+            var tmp = UsualWords.getUsualWords(usual, this.standardizer);
+            while (tmp != null) {
+                tmp = UsualWords.getUsualWords(tmp, this.standardizer);
+                if (tmp != null) {
+                    usual = tmp;
+                }
+            }
+            result = UsualWords.getSmallString(usual);
+        }
+        return result;
+    }
+}
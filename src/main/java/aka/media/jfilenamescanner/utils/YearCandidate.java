@@ -0,0 +1,117 @@
+package aka.media.jfilenamescanner.utils;
+
+/**
+ * Year candidate.
+ *
+ * Four digits of a name that may be the year of a movie, found by {@link YearExtractor}, with their position and their context in the name.
+ *
+ * @author Charlotte
+ */
+public final class YearCandidate {
+
+    private final int year;
+    private final int start;
+    private final int matchStart;
+    private final int matchEnd;
+    private final boolean bracketed;
+    private final boolean titleNumber;
+    private final boolean last;
+
+    /**
+     * Constructor.
+     *
+     * @param year year
+     * @param start index of the first digit
+     * @param matchStart index of the first character matched by the year matcher
+     * @param matchEnd index after the last character matched by the year matcher
+     * @param bracketed <code>true</code> if the year is between brackets or parentheses
+     * @param titleNumber <code>true</code> if the year starts the name and another year follows
+     * @param last <code>true</code> if this is the last candidate of the name
+     */
+    YearCandidate(final int year, final int start, final int matchStart, final int matchEnd, final boolean bracketed, final boolean titleNumber, final boolean last) {
+        this.year = year;
+        this.start = start;
+        this.matchStart = matchStart;
+        this.matchEnd = matchEnd;
+        this.bracketed = bracketed;
+        this.titleNumber = titleNumber;
+        this.last = last;
+    }
+
+    /**
+     * Get the year.
+     *
+     * @return year.
+     */
+    public int getYear() {
+        return this.year;
+    }
+
+    /**
+     * Get the index of the first digit of the year in the name.
+     *
+     * @return index of the first digit.
+     */
+    public int getStart() {
+        return this.start;
+    }
+
+    /**
+     * Get the index after the last digit of the year in the name.
+     *
+     * @return index after the last digit.
+     */
+    public int getEnd() {
+        return this.start + 4;
+    }
+
+    /**
+     * Get the index of the first character matched by the year matcher: the separator before the year, if it is not the end of the previous match, or the first digit.
+     *
+     * @return index of the first matched character.
+     */
+    public int getMatchStart() {
+        return this.matchStart;
+    }
+
+    /**
+     * Get the index after the last character matched by the year matcher: the character after the year is part of the match.
+     *
+     * @return index after the last matched character.
+     */
+    public int getMatchEnd() {
+        return this.matchEnd;
+    }
+
+    /**
+     * Check if the year is between brackets, parentheses or braces, as in "Title (1999)".
+     *
+     * @return <code>true</code> if bracketed.
+     */
+    public boolean isBracketed() {
+        return this.bracketed;
+    }
+
+    /**
+     * Check if the year starts the name and is followed by another candidate, as "1917" in "1917 (2019)": it is most likely the title, not the year.
+     *
+     * @return <code>true</code> if the year is a title number.
+     */
+    public boolean isTitleNumber() {
+        return this.titleNumber;
+    }
+
+    /**
+     * Check if this is the last candidate of the name, the one chosen by the year matcher when it is valid.
+     *
+     * @return <code>true</code> if last.
+     */
+    public boolean isLast() {
+        return this.last;
+    }
+
+    @Override
+    public String toString() {
+        return "YearCandidate [year=" + this.year + ", start=" + this.start + ", bracketed=" + this.bracketed + ", titleNumber=" + this.titleNumber + ", last=" + this.last + "]";
+    }
+}
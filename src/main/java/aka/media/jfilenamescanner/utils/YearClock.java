@@ -0,0 +1,67 @@
+package aka.media.jfilenamescanner.utils;
+
+import java.util.Calendar;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Year clock.
+ *
+ * Current year, read from a {@link Calendar} once and kept until the beginning of the next year, instead of creating a calendar for each scan.
+ *
+ * @author Charlotte
+ */
+public final class YearClock {
+
+    private static volatile Year current = new Year(0, 0, 0);
+
+    private YearClock() {
+        // Utility class
+    }
+
+    /**
+     * Get the current year, as given by <code>Calendar.getInstance().get(Calendar.YEAR)</code>.
+     *
+     * @return current year
+     */
+    public static int getCurrentYear() {
+        final var now = System.currentTimeMillis();
+        var year = current;
+        if (now < year.start || now >= year.end) {
+            year = Year.of(now);
+            current = year;
+        }
+        return year.value;
+    }
+
+    /**
+     * Year and its bounds, in milliseconds.
+     */
+    private static final class Year {
+
+        private final int value;
+        private final long start;
+        private final long end;
+
+        Year(final int value, final long start, final long end) {
+            this.value = value;
+            this.start = start;
+            this.end = end;
+        }
+
+        @NonNull
+        static Year of(final long now) {
+            final var calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(now);
+            final var value = calendar.get(Calendar.YEAR);
+            calendar.set(Calendar.DAY_OF_YEAR, 1);
+            calendar.set(Calendar.HOUR_OF_DAY, 0);
+            calendar.set(Calendar.MINUTE, 0);
+            calendar.set(Calendar.SECOND, 0);
+            calendar.set(Calendar.MILLISECOND, 0);
+            final var start = calendar.getTimeInMillis();
+            calendar.add(Calendar.YEAR, 1);
+            return new Year(value, start, calendar.getTimeInMillis());
+        }
+    }
+}
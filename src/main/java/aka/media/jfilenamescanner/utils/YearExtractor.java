@@ -0,0 +1,163 @@
+package aka.media.jfilenamescanner.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Year extractor.
+ *
+ * Find the years of a name in one pass over its characters, without regular expression.
+ * A candidate is made of the last four digits of a sequence of at least four digits followed by another character, the years found by the <code>\D?\d{4}\D</code>
+ * expression of the year matcher: the bounds of this match are kept in {@link YearCandidate#getMatchStart()} and {@link YearCandidate#getMatchEnd()}.
+ *
+ * @author Charlotte
+ */
+public final class YearExtractor {
+
+    // year, index of the first digit, start and end of the match
+    private static final int FIELDS = 4;
+
+    private YearExtractor() {
+        // Utility class
+    }
+
+    /**
+     * Find all the year candidates of the given name.
+     *
+     * @param name name
+     * @return candidates, in the order of the name
+     */
+    @NonNull
+    public static List<@NonNull YearCandidate> findAll(@NonNull final CharSequence name) {
+        return find(name, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the year candidates of the given name between the given years. The context of each candidate ({@link YearCandidate#isLast()},
+     * {@link YearCandidate#isTitleNumber()}) takes all the candidates into account, even the ones out of the bounds.
+     *
+     * @param name name
+     * @param minYear minimal year
+     * @param maxYear maximal year
+     * @return candidates between the bounds, in the order of the name
+     */
+    @NonNull
+    public static List<@NonNull YearCandidate> find(@NonNull final CharSequence name, final int minYear, final int maxYear) {
+        final var raw = scan(name);
+        final var count = raw[0];
+        final var result = new ArrayList<@NonNull YearCandidate>(count);
+        for (int i = 0; i < count; i++) {
+            final var offset = 1 + i * FIELDS;
+            final var year = raw[offset];
+            if (year >= minYear && year <= maxYear) {
+                final var start = raw[offset + 1];
+                final var matchStart = raw[offset + 2];
+                final var matchEnd = raw[offset + 3];
+                final var bracketed = start > 0 && isOpening(name.charAt(start - 1)) && start + 4 < name.length() && isClosing(name.charAt(start + 4));
+                final var titleNumber = i == 0 && count > 1 && startsName(name, start);
+                result.add(new YearCandidate(year, start, matchStart, matchEnd, bracketed, titleNumber, i == count - 1));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the last year candidate of the given name between the given years, the year chosen by the year matcher.
+     *
+     * @param name name
+     * @param minYear minimal year
+     * @param maxYear maximal year
+     * @return last candidate between the bounds, <code>null</code> if none
+     */
+    @Nullable
+    public static YearCandidate findLast(@NonNull final CharSequence name, final int minYear, final int maxYear) {
+        final var candidates = find(name, minYear, maxYear);
+        return candidates.isEmpty() ? null : candidates.get(candidates.size() - 1);
+    }
+
+    /**
+     * Scan the name.
+     *
+     * @return number of candidates followed by the fields of each candidate
+     */
+    private static int @NonNull [] scan(@NonNull final CharSequence name) {
+        var result = new int[1 + 2 * FIELDS];
+        final var length = name.length();
+        // end of the previous match: its characters can not be used again
+        var from = 0;
+        var i = 0;
+        while (i < length) {
+            if (!isDigit(name.charAt(i))) {
+                i++;
+                continue;
+            }
+            final var runStart = i;
+            while (i < length && isDigit(name.charAt(i))) {
+                i++;
+            }
+            if (i - runStart >= 4 && i < length) {
+                final var start = i - 4;
+                var matchStart = start;
+                if (i - runStart == 4 && runStart > 0) {
+                    // the optional separator is a whole code point, and must not have been matched by the previous year
+                    var separator = runStart - 1;
+                    if (separator > 0 && Character.isLowSurrogate(name.charAt(separator)) && Character.isHighSurrogate(name.charAt(separator - 1))) {
+                        separator--;
+                    }
+                    if (separator >= from) {
+                        matchStart = separator;
+                    }
+                }
+                from = i + 1;
+                if (from < length && Character.isHighSurrogate(name.charAt(i)) && Character.isLowSurrogate(name.charAt(from))) {
+                    from++;
+                }
+
+                var year = 0;
+                for (int j = start; j < i; j++) {
+                    year = year * 10 + name.charAt(j) - '0';
+                }
+                final var offset = 1 + result[0] * FIELDS;
+                if (offset + FIELDS > result.length) {
+                    result = Arrays.copyOf(result, 2 * result.length);
+                }
+                result[offset] = year;
+                result[offset + 1] = start;
+                result[offset + 2] = matchStart;
+                result[offset + 3] = from;
+                result[0]++;
+            }
+        }
+        return result;
+    }
+
+    private static boolean startsName(@NonNull final CharSequence name, final int start) {
+        // only separators between the beginning of the file name (after its folders) and the year
+        for (int i = start - 1; i >= 0; i--) {
+            final var c = name.charAt(i);
+            if (c == '/' || c == '\\') {
+                break;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isOpening(final char c) {
+        return c == '(' || c == '[' || c == '{';
+    }
+
+    private static boolean isClosing(final char c) {
+        return c == ')' || c == ']' || c == '}';
+    }
+}
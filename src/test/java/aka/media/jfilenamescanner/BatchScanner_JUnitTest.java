@@ -0,0 +1,143 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+
+/**
+ * JUnitTest for BatchScanner.
+ */
+public class BatchScanner_JUnitTest {
+
+    private static final String[] NAMES = {
+            "Breaking.Bad.S01E02.720p.mkv",
+            "Alpha.Dog.2006.Multi.720p.BluRay.x264.mkv",
+            "Lost 1x05 Walkabout FRENCH DVDRip XviD.avi",
+            "Naruto.Episode.125.VOSTFR.avi" };
+
+    /**
+     * Results are in the input order and equal to the single scans, whatever the parallelism.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestInputOrder() throws Exception {
+        final var names = new ArrayList<String>();
+        for (int i = 0; i < 500; i++) {
+            names.add(NAMES[i % NAMES.length]);
+        }
+        for (final int parallelism : new int[] { 1, 4 }) {
+            try (var batchScanner = new BatchScanner(ScannerEngine.getDefault(), parallelism)) {
+                assertEquals(parallelism, batchScanner.getParallelism());
+                final List<ScanResult> results = batchScanner.scanAll(names);
+                assertEquals(names.size(), results.size());
+                for (int i = 0; i < names.size(); i++) {
+                    final var expected = JFileNameScanner.scan(names.get(i));
+                    final var result = results.get(i);
+                    assertNotNull(result);
+                    assertEquals(expected.toString(), result.toString());
+                }
+            }
+        }
+    }
+
+    /**
+     * Names that can not be scanned give <code>null</code> results at their position.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestEmptyNames() throws Exception {
+        final Iterable<String> names = Arrays.asList(NAMES[0], "", null, NAMES[1]);
+        try (var batchScanner = new BatchScanner(ScannerEngine.getDefault(), 2)) {
+            final var results = batchScanner.scanAll(names);
+            assertEquals(4, results.size());
+            assertEquals(NAMES[0], results.get(0).getName());
+            assertNull(results.get(1));
+            assertNull(results.get(2));
+            assertEquals(NAMES[1], results.get(3).getName());
+        }
+    }
+
+    /**
+     * Scan of files.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestScanPaths() throws Exception {
+        final var directory = Files.createTempDirectory("batch");
+        try {
+            final var paths = new ArrayList<Path>();
+            for (final String name : NAMES) {
+                paths.add(Files.createFile(directory.resolve(name)));
+            }
+            try (var batchScanner = new BatchScanner(ScannerEngine.getDefault(), 2)) {
+                final var results = batchScanner.scanPaths(paths.stream());
+                assertEquals(NAMES.length, results.size());
+                for (int i = 0; i < NAMES.length; i++) {
+                    assertEquals(ScannerEngine.getDefault().scan(paths.get(i).toFile()).toString(), results.get(i).toString());
+                }
+            }
+        } finally {
+            for (final File file : directory.toFile().listFiles()) {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * A failure of the engine other than an empty name is thrown.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void TestEngineFailure() {
+        final var failing = new ScanMatcher() {
+
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public int getCost() {
+                return 1;
+            }
+
+            @Override
+            public Priority getPriority() {
+                return Priority.HIGH;
+            }
+
+            @Override
+            public String match(final String name, final File file, final ScanContext context) {
+                throw new IllegalStateException(name);
+            }
+        };
+        try (var batchScanner = new BatchScanner(ScannerEngine.builder().movieMatcher(failing).build(), 2)) {
+            batchScanner.scanAll(Arrays.asList(NAMES));
+        }
+    }
+
+    /**
+     * Parallelism must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TestInvalidParallelism() {
+        try (var batchScanner = new BatchScanner(ScannerEngine.getDefault(), 0)) {
+            batchScanner.getParallelism();
+        }
+    }
+}
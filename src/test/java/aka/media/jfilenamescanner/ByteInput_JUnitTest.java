@@ -0,0 +1,89 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.helpers.EpisodeMatcher;
+import aka.media.jfilenamescanner.utils.TextUtils;
+
+/**
+ * JUnitTest for the CharSequence and byte inputs.
+ */
+public class ByteInput_JUnitTest {
+
+    /**
+     * Valid UTF-8 is decoded as UTF-8, ASCII included.
+     */
+    @Test
+    public void TestDecodeUtf8() {
+        final String[] names = { "Breaking.Bad.S01E02.720p.mkv", "Amélie.2001.mkv", "Le.Fabuleux.Destin.d'Amélie.Poulain.2001.avi", "千と千尋の神隠し.2001.mkv", "Show.😀.S01E02.mkv", "" };
+        for (final String name : names) {
+            final var bytes = name.getBytes(StandardCharsets.UTF_8);
+            assertEquals(name, TextUtils.decodeFileName(bytes, 0, bytes.length));
+        }
+        final var bytes = "xxAmélie.2001.mkvyy".getBytes(StandardCharsets.UTF_8);
+        assertEquals("Amélie.2001.mkv", TextUtils.decodeFileName(bytes, 2, bytes.length - 4));
+    }
+
+    /**
+     * The bytes that are not valid UTF-8 are read as ISO-8859-1 instead of being replaced.
+     */
+    @Test
+    public void TestDecodeInvalid() {
+        // ISO-8859-1 name
+        var bytes = "Amélie.2001.avi".getBytes(StandardCharsets.ISO_8859_1);
+        assertEquals("Amélie.2001.avi", TextUtils.decodeFileName(bytes, 0, bytes.length));
+        // truncated sequence at the end
+        bytes = new byte[] { 'a', (byte) 0xC3 };
+        assertEquals("aÃ", TextUtils.decodeFileName(bytes, 0, bytes.length));
+        // overlong encoding of '/'
+        bytes = new byte[] { (byte) 0xC0, (byte) 0xAF };
+        assertEquals("À¯", TextUtils.decodeFileName(bytes, 0, bytes.length));
+        // encoded surrogate
+        bytes = new byte[] { (byte) 0xED, (byte) 0xA0, (byte) 0x80 };
+        assertEquals("í\u00A0\u0080", TextUtils.decodeFileName(bytes, 0, bytes.length));
+        // valid sequence after an invalid byte
+        bytes = new byte[] { (byte) 0xE9, (byte) 0xC3, (byte) 0xA9 };
+        assertEquals("éé", TextUtils.decodeFileName(bytes, 0, bytes.length));
+    }
+
+    /**
+     * The CharSequence and byte inputs give the same result as the String input.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestSameResult() throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        final String[] names = { "Breaking.Bad.S01E02.720p.mkv", "The.Wire.2x05.avi", "Lost 412 HDTV.avi", "Série.S02É05.mkv", "Amélie.2001.mkv", "Les.Tuches.2011.FRENCH.720p.mkv",
+                "Show Ep 5 .mkv", "nothing" };
+        for (final String name : names) {
+            final var expected = engine.scan(name);
+            final var bytes = ("--" + name + "--").getBytes(StandardCharsets.UTF_8);
+            final var length = bytes.length - 4;
+            for (final ScanResult result : new ScanResult[] { engine.scan(new StringBuilder(name)), engine.scan(bytes, 2, length), JFileNameScanner.scan(bytes, 2, length) }) {
+                assertEquals(name, expected.getName(), result.getName());
+                assertEquals(name, expected.getMovieName(), result.getMovieName());
+                assertEquals(name, expected.getMovieYear(), result.getMovieYear());
+                assertEquals(name, expected.getTVShowName(), result.getTVShowName());
+                assertEquals(name, expected.getSeason(), result.getSeason());
+                assertEquals(name, expected.getEpisode(), result.getEpisode());
+            }
+            assertEquals(name, engine.scanEpisode(name), engine.scanEpisode(bytes, 2, length));
+            assertEquals(name, engine.scanEpisode(name), EpisodeMatcher.get().match(bytes, 2, length, null));
+        }
+    }
+
+    /**
+     * An empty name is rejected.
+     *
+     * @throws Exception
+     */
+    @Test(expected = Exception.class)
+    public void TestEmptyName() throws Exception {
+        ScannerEngine.getDefault().scanEpisode(new byte[] { 'a', ' ', '\t', 'b' }, 1, 2);
+    }
+}
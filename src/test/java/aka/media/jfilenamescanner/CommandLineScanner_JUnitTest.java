@@ -0,0 +1,161 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * JUnitTest for CommandLineScanner.
+ */
+public class CommandLineScanner_JUnitTest {
+
+    /**
+     * Results are written in the order of the names read from the standard input, whatever the number of threads and the size of the queue.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestOrder() throws Exception {
+        final var input = new StringBuilder();
+        final var expected = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            final var name = i % 2 == 0 ? "Show " + i + ".S01E0" + i % 10 + ".mkv" : "Movie " + i + " (" + (1950 + i % 60) + ").avi";
+            input.append(name).append('\n');
+            expected.add("{\"name\":\"" + name + "\",");
+        }
+        for (final String queue : new String[] { "1", "7", "1000" }) {
+            final var lines = run(input.toString(), "--threads", "4", "--queue", queue);
+            assertEquals(expected.size(), lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                assertTrue(lines.get(i), lines.get(i).startsWith(expected.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Each format writes the fields of the result of the engine, escaped when needed; blank names are skipped.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestFormats() throws Exception {
+        final var input = "Breaking.Bad.S01E02.720p.mkv\n\nThe \"Quoted\", Movie\t1999.avi\n";
+        var lines = run(input, "--format", "jsonl");
+        assertEquals(2, lines.size());
+        final var result = ScannerEngine.getDefault().scan("Breaking.Bad.S01E02.720p.mkv");
+        assertEquals("{\"name\":\"Breaking.Bad.S01E02.720p.mkv\",\"path\":null,\"movieName\":\"" + result.getMovieName() + "\",\"movieYear\":null,\"tvShowName\":null,\"season\":1,\"episode\":2}",
+                lines.get(0));
+        assertTrue(lines.get(1), lines.get(1).startsWith("{\"name\":\"The \\\"Quoted\\\", Movie\\t1999.avi\","));
+
+        lines = run(input, "--format", "CSV");
+        assertEquals(3, lines.size());
+        assertEquals("name,path,movieName,movieYear,tvShowName,season,episode", lines.get(0));
+        assertEquals("Breaking.Bad.S01E02.720p.mkv,," + result.getMovieName() + ",,,1,2", lines.get(1));
+        assertTrue(lines.get(2), lines.get(2).startsWith("\"The \"\"Quoted\"\", Movie\t1999.avi\",,"));
+
+        lines = run(input, "--format", "tsv");
+        assertEquals(3, lines.size());
+        assertEquals("name\tpath\tmovieName\tmovieYear\ttvShowName\tseason\tepisode", lines.get(0));
+        assertTrue(lines.get(2), lines.get(2).startsWith("The \"Quoted\", Movie\\t1999.avi\t\t"));
+    }
+
+    /**
+     * Names are read from the arguments, from NUL terminated standard input and from a directory tree.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestInputs() throws Exception {
+        var lines = run("", "--format", "tsv", "Dexter.S08E01.mkv", "Lost.4x12.avi");
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(1).startsWith("Dexter.S08E01.mkv\t"));
+        assertTrue(lines.get(2).endsWith("\t4\t12"));
+
+        lines = run("Show.S01E02.mkv\0Other\nS02E03.mkv\0", "--null", "--format", "jsonl");
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).startsWith("{\"name\":\"Other\\nS02E03.mkv\","));
+
+        final var root = Files.createTempDirectory("cli");
+        try {
+            Files.createFile(Files.createDirectories(root.resolve("Show").resolve("Season 2")).resolve("Show.S02E05.mkv"));
+            lines = run("", "--root", root.toString(), "--format", "csv");
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(1), lines.get(1).startsWith("Show.S02E05.mkv," + root.resolve("Show").resolve("Season 2").resolve("Show.S02E05.mkv")));
+            assertTrue(lines.get(1), lines.get(1).endsWith(",2,5"));
+        } finally {
+            try (var paths = Files.walk(root)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * The statistics are written on the error output, invalid arguments are rejected.
+     */
+    @Test
+    public void TestStatsAndErrors() {
+        final var out = new ByteArrayOutputStream();
+        final var err = new ByteArrayOutputStream();
+        var status = CommandLineScanner.run(new String[] { "--stats" }, new ByteArrayInputStream("Show.S01E02.mkv\n \n".getBytes(StandardCharsets.UTF_8)), out,
+                new PrintStream(err, true));
+        assertEquals(0, status);
+        final var stats = new String(err.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(stats, stats.startsWith("names: 2, skipped: 1, "));
+        assertTrue(stats, stats.contains("names/s") && stats.contains("p99 <= "));
+
+        for (final String[] args : new String[][] { { "--format", "xml" }, { "--threads", "0" }, { "--queue" }, { "--unknown" } }) {
+            err.reset();
+            status = CommandLineScanner.run(args, new ByteArrayInputStream(new byte[0]), out, new PrintStream(err, true));
+            assertEquals(String.join(" ", args), 2, status);
+            assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8).contains("Usage: "));
+        }
+    }
+
+    /**
+     * Names of the arguments and of the standard input are scanned as paths; a name that can not be scanned is reported and gives the status 1.
+     */
+    @Test
+    public void TestPathsAndFailures() {
+        final var path = "./Shows/Breaking Bad/Season 1/Breaking.Bad.S01E02.mkv";
+        var lines = run(path + "\n", "--format", "tsv", "-", path);
+        assertEquals(3, lines.size());
+        for (final String line : lines.subList(1, 3)) {
+            assertTrue(line, line.startsWith("Breaking.Bad.S01E02.mkv\t" + path + "\t"));
+            assertTrue(line, line.endsWith("\tbreaking bad\t1\t2"));
+        }
+
+        final var out = new ByteArrayOutputStream();
+        final var err = new ByteArrayOutputStream();
+        final var status = CommandLineScanner.run(new String[] { "--stats" }, new ByteArrayInputStream("Show.S01E02.mkv\n/\n \nShow.S01E03.mkv\n".getBytes(StandardCharsets.UTF_8)),
+                out, new PrintStream(err, true));
+        assertEquals(1, status);
+        assertEquals(2, new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n").length);
+        final var errors = new String(err.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(errors, errors.startsWith("Scan of / failed: "));
+        assertTrue(errors, errors.contains("names: 4, skipped: 1, "));
+    }
+
+    private static List<String> run(final String input, final String... args) {
+        final var out = new ByteArrayOutputStream();
+        final var err = new ByteArrayOutputStream();
+        final var status = CommandLineScanner.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out, new PrintStream(err, true));
+        assertEquals(new String(err.toByteArray(), StandardCharsets.UTF_8), 0, status);
+        final var lines = new ArrayList<String>();
+        for (final String line : new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
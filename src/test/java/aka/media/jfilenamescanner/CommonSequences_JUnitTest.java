@@ -0,0 +1,146 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.helpers.CommonSequences;
+import aka.media.jfilenamescanner.utils.UsualWords;
+import aka.media.jfilenamescanner.utils.UsualWordsIndex;
+
+/**
+ * JUnitTest for CommonSequences.
+ */
+public class CommonSequences_JUnitTest {
+
+    private Path directory;
+
+    /**
+     * Create a season directory.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("season");
+        Files.createFile(this.directory.resolve("Foo.S01E01.mkv"));
+        Files.createFile(this.directory.resolve("Foo.S01E02.mkv"));
+        Files.createFile(this.directory.resolve("Foo.S01E03.mkv"));
+    }
+
+    /**
+     * Delete the season directory.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (var paths = Files.walk(this.directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * The common sequence excludes the scanned file.
+     */
+    @Test
+    public void TestExcludeScannedFile() {
+        final var commonSequences = new CommonSequences(List.of("Foo.S01E01.mkv", "Foo.S01E02.mkv", "Foo.S01E03.mkv", "notes.txt"));
+
+        assertEquals("foo s01e02", commonSequences.getCommonSequence("Foo.S01E01.mkv"));
+        assertEquals("foo s01e01", commonSequences.getCommonSequence("Foo.S01E02.mkv"));
+        assertEquals("foo s01e01", commonSequences.getCommonSequence("notes.txt"));
+        assertNull(new CommonSequences(List.of("Foo.S01E01.mkv", "Foo.S01E02.mkv")).getCommonSequence("Foo.S01E01.mkv"));
+    }
+
+    /**
+     * The directory is read again only when it has been modified.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestInvalidation() throws Exception {
+        final var commonSequences = CommonSequences.get(this.directory);
+        assertSame(commonSequences, CommonSequences.get(this.directory));
+        assertEquals("foo s01e02", commonSequences.getCommonSequence("Foo.S01E01.mkv"));
+
+        Files.createFile(this.directory.resolve("F.S01.E4.mkv"));
+        Files.setLastModifiedTime(this.directory, FileTime.fromMillis(Files.getLastModifiedTime(this.directory).toMillis() + 2000));
+        assertEquals("f s01 e4", CommonSequences.get(this.directory).getCommonSequence("Foo.S01E01.mkv"));
+    }
+
+    /**
+     * The index gives the result of the usual words loop for every excluded name, duplicated and already standardized names included.
+     */
+    @Test
+    public void TestIndex() {
+        final var names = new ArrayList<String>();
+        for (int i = 1; i <= 300; i++) {
+            names.add("Foo Bar S01E" + i);
+            if (i % 3 == 0) {
+                // subtitles of the episode
+                names.add("Foo Bar S01E" + i);
+            }
+        }
+        names.add("foo s02e01");
+        names.add("[Team] Foo S02E02");
+        final var index = new UsualWordsIndex(names, UsualWords::standardize);
+        for (final String excluded : new String[] { null, "Foo Bar S01E1", "Foo Bar S01E3", "foo s02e01", "[Team] Foo S02E02", "unknown" }) {
+            assertEquals(excluded, loop(names, excluded), index.getSmallestUsualWords(excluded));
+        }
+
+        final var lowerCase = List.of("foo s01e01", "foo s01e02", "foo s01e03");
+        final var lowerCaseIndex = new UsualWordsIndex(lowerCase, UsualWords::standardize);
+        assertNull(lowerCaseIndex.getSmallestUsualWords("foo s01e01"));
+        assertEquals(loop(lowerCase, null), lowerCaseIndex.getSmallestUsualWords(null));
+        assertNull(new UsualWordsIndex(List.of("Foo S01E01"), UsualWords::standardize).getSmallestUsualWords(null));
+    }
+
+    /**
+     * A sample of a huge directory only reads evenly spaced entries.
+     */
+    @Test
+    public void TestSample() {
+        final var names = new ArrayList<String>();
+        for (int i = 10; i < 1000; i++) {
+            names.add("Foo.S01E" + i + ".mkv");
+        }
+        assertEquals("foo s01e11", new CommonSequences(names).getCommonSequence("Foo.S01E10.mkv"));
+        final var sample = new CommonSequences(names, 10);
+        // Foo.S01E10 is in the sample, Foo.S01E11 is not
+        assertEquals("foo s01e19", sample.getCommonSequence("Foo.S01E10.mkv"));
+        assertEquals("foo s01e10", sample.getCommonSequence("Foo.S01E11.mkv"));
+        assertEquals("foo s01e11", new CommonSequences(names, 2000).getCommonSequence("Foo.S01E10.mkv"));
+    }
+
+    private static String loop(final List<String> names, final String excluded) {
+        final var list = new ArrayList<>(names);
+        list.remove(excluded);
+        String result = null;
+        if (list.size() > 1) {
+            var usual = UsualWords.getUsualWords(list);
+            if (usual != null) {
+                var tmp = UsualWords.getUsualWords(usual);
+                while (tmp != null) {
+                    tmp = UsualWords.getUsualWords(tmp);
+                    if (tmp != null) {
+                        usual = tmp;
+                    }
+                }
+                result = UsualWords.getSmallString(usual);
+            }
+        }
+        return result;
+    }
+}
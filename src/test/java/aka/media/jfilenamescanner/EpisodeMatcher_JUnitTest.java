@@ -0,0 +1,88 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.helpers.EpisodeMatcher;
+import aka.media.jfilenamescanner.helpers.TVShowEpisodeHelper;
+import aka.media.jfilenamescanner.utils.SeasonXEpisode;
+
+/**
+ * JUnitTest for EpisodeMatcher.
+ */
+public class EpisodeMatcher_JUnitTest {
+
+    /**
+     * Season and episode are encoded in a single value, negative values included.
+     */
+    @Test
+    public void TestEncoding() {
+        final var encoded = SeasonXEpisode.encode(3, 12);
+        assertEquals(3, SeasonXEpisode.getSeason(encoded));
+        assertEquals(12, SeasonXEpisode.getEpisode(encoded));
+        assertEquals(new SeasonXEpisode(3, 12), SeasonXEpisode.decode(encoded));
+
+        final var invalid = new SeasonXEpisode().encode();
+        assertEquals(-1, SeasonXEpisode.getSeason(invalid));
+        assertEquals(-1, SeasonXEpisode.getEpisode(invalid));
+    }
+
+    /**
+     * The primitive path gives the same result as the helper.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestSameResult() throws Exception {
+        final String[] names = { "Breaking.Bad.S01E02.720p.mkv", "The.Wire.2x05.avi", "Lost 412 HDTV.avi", "Dexter.s08.e01.mkv", "Show Season 3 Episode 7.avi", "Show.Saison 2 Ep 14.mkv",
+                "Show.S01 Episode 02.mkv", "Show 01 002.mkv", "Show.100.mkv", "Show Ep 5 .mkv", "Les.Tuches.2011.FRENCH.720p.mkv", "nothing", "Show.S01E02.2x03.mkv",
+                "Série.S02É05.mkv", "Show Saison 4" + File.separator + "Show Ep 07 .avi" };
+        for (final String name : names) {
+            final var expected = new TVShowEpisodeHelper(name).matchEpisode();
+            assertEquals(name, expected.encode(), ScannerEngine.getDefault().scanEpisode(name));
+            assertEquals(name, expected.encode(), EpisodeMatcher.get().match(new StringBuilder(name), null));
+        }
+        assertEquals(SeasonXEpisode.encode(4, 12), ScannerEngine.getDefault().scanEpisode("Dr.House.S04E12.mkv"));
+    }
+
+    /**
+     * Each pattern, the absolute numbers and the conflicting matches keep the results of the sequential patterns.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestPatterns() throws Exception {
+        assertEpisode("Breaking.Bad.S01E02.720p.mkv", 1, 2);
+        assertEpisode("The.Wire.2x05.avi", 2, 5);
+        assertEpisode("Lost 412 HDTV.avi", 4, 12);
+        assertEpisode("Dexter.s08.e01.mkv", 8, 1);
+        assertEpisode("Show Season 3 Episode 7.avi", 3, 7);
+        assertEpisode("Show.Saison 2 Ep 14.mkv", 2, 14);
+        assertEpisode("Show.S01 Episode 02.mkv", 1, 2);
+        assertEpisode("Show 01 002.mkv", 0, 0);
+        assertEpisode("Show.100.mkv", 100, 0);
+        assertEpisode("Show Ep 5 .mkv", 1, 1);
+        assertEpisode("Show.S01E02.2x03.mkv", 2, 1);
+        assertEpisode("Show.S02E03.1x04.305.mkv", 1, 1);
+        assertEpisode("nothing", 1, 1);
+    }
+
+    private static void assertEpisode(final String name, final int season, final int episode) throws Exception {
+        final var encoded = ScannerEngine.getDefault().scanEpisode(name);
+        assertEquals(name, season, SeasonXEpisode.getSeason(encoded));
+        assertEquals(name, episode, SeasonXEpisode.getEpisode(encoded));
+    }
+
+    /**
+     * An empty name is refused.
+     *
+     * @throws Exception
+     */
+    @Test(expected = Exception.class)
+    public void TestEmptyName() throws Exception {
+        ScannerEngine.getDefault().scanEpisode(" ");
+    }
+}
@@ -0,0 +1,168 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * JUnitTest for LibraryIndex.
+ */
+public class LibraryIndex_JUnitTest {
+
+    private static final String[] SHOWS = { "Breaking Bad", "Dexter", "The Wire", "Été", "Lost" };
+
+    private static List<ScanResult> getResults(final int count) {
+        final var result = new ArrayList<ScanResult>();
+        for (int i = 0; i < count; i++) {
+            if (i % 4 == 3) {
+                final var year = i % 12 == 3 ? null : String.valueOf(1950 + i % 70);
+                result.add(new ScanResult("Movie " + i % 30 + ".mkv", null, "movie " + i % 30, year, null, -1, -1));
+            } else {
+                final var show = SHOWS[i % SHOWS.length];
+                final var season = 1 + i / 100 % 8;
+                final var episode = 1 + i % 24;
+                final var name = "show" + i % SHOWS.length + ".S0" + season + "E" + episode + ".mkv";
+                result.add(new ScanResult(name, Paths.get("/library/show" + i % SHOWS.length + "/" + name), "movie " + i % 30, null, show, season, episode));
+            }
+        }
+        result.add(new ScanResult("unknown", null, null, null, null, -1, -1));
+        return result;
+    }
+
+    private static LibraryIndex write(final List<ScanResult> results, final Path file) throws IOException {
+        final var store = new ScanResultStore();
+        store.addAll(results);
+        LibraryIndex.write(store, file);
+        return new LibraryIndex(file);
+    }
+
+    /**
+     * Episodes are found by show, season and episode range, in the order of the episodes.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void TestEpisodes() throws IOException {
+        final var results = getResults(2000);
+        final var file = Files.createTempFile("library", ".index");
+        try {
+            final var index = write(results, file);
+            assertEquals(results.size(), index.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(results.get(i), index.get(i));
+            }
+            assertEquals(SHOWS.length, index.getShowCount());
+            assertEquals("Breaking Bad", index.getShowName(0));
+            assertEquals("Été", index.getShowName(SHOWS.length - 1));
+
+            final var order = Comparator.comparingInt(ScanResult::getSeason).thenComparingInt(ScanResult::getEpisode);
+            for (final String show : SHOWS) {
+                final var expected = results.stream().filter(result -> show.equals(result.getTVShowName())).sorted(order).collect(Collectors.toList());
+                assertEquals(expected, index.getEpisodes(show));
+                assertArrayEquals(expected.stream().mapToInt(ScanResult::getSeason).distinct().toArray(), index.getSeasons(show));
+                assertEquals(expected.stream().filter(result -> result.getSeason() == 2).collect(Collectors.toList()), index.getEpisodes(show, 2));
+                assertEquals(expected.stream().filter(result -> result.getSeason() == 3 && result.getEpisode() >= 5 && result.getEpisode() <= 9).collect(Collectors.toList()),
+                        index.getEpisodes(show, 3, 5, 9));
+                for (int episode = 0; episode <= 25; episode++) {
+                    final var number = episode;
+                    assertEquals(expected.stream().anyMatch(result -> result.getSeason() == 4 && result.getEpisode() == number), index.containsEpisode(show, 4, episode));
+                }
+            }
+            assertTrue(index.getEpisodes("Unknown").isEmpty());
+            assertTrue(index.getEpisodes("Dexter", 9).isEmpty());
+            assertEquals(0, index.getSeasons("Breaking").length);
+            assertFalse(index.containsEpisode("Dexter", 9, 1));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Movies are found by name and year range, episodes with a movie name are not movies.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void TestMovies() throws IOException {
+        final var results = getResults(2000);
+        final var file = Files.createTempFile("library", ".index");
+        try {
+            final var index = write(results, file);
+            final var order = Comparator.comparingInt((final ScanResult result) -> result.getMovieYear() == null ? -1 : Integer.parseInt(result.getMovieYear()));
+            for (int i = 0; i < 30; i++) {
+                final var name = "movie " + i;
+                final var expected = results.stream().filter(result -> result.getTVShowName() == null && name.equals(result.getMovieName())).sorted(order)
+                        .collect(Collectors.toList());
+                assertEquals(expected, index.getMovies(name));
+                assertEquals(expected.stream().filter(result -> result.getMovieYear() != null && Integer.parseInt(result.getMovieYear()) >= 1980
+                        && Integer.parseInt(result.getMovieYear()) < 2000).collect(Collectors.toList()), index.getMovies(name, 1980, 1999));
+            }
+            assertEquals(15, index.getMovieNameCount());
+            assertTrue(index.containsMovie("movie 3", -1));
+            assertTrue(index.containsMovie("movie 7", 1957));
+            assertFalse(index.containsMovie("movie 7", 1958));
+            assertFalse(index.containsMovie("movie 2", -1));
+            assertTrue(index.getMovies("unknown").isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * The index of a library scan holds the episodes of the library.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestScan() throws Exception {
+        final var root = Files.createTempDirectory("library");
+        final var show = Files.createDirectories(root.resolve("Breaking Bad").resolve("Season 2"));
+        final var file = Files.createTempFile("library", ".index");
+        try {
+            for (int i = 1; i <= 5; i++) {
+                Files.createFile(show.resolve("Breaking.Bad.S02E0" + i + ".720p.mkv"));
+            }
+            final var scanner = new LibraryScanner(ScannerEngine.getDefault());
+            final var index = scanner.scanToIndex(root, file);
+            assertEquals(5, index.size());
+            final var showName = scanner.scan(root).get(0).getTVShowName();
+            assertEquals(3, index.getEpisodes(showName, 2, 2, 4).size());
+            assertTrue(index.containsEpisode(showName, 2, 5));
+            assertFalse(index.containsEpisode(showName, 2, 6));
+        } finally {
+            try (var files = Files.walk(root)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * A file that is not an index can not be opened.
+     *
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public void TestInvalid() throws IOException {
+        final var file = Files.createTempFile("library", ".index");
+        try {
+            Files.write(file, "not an index, not an index, not an index, not an index, not an index, not an index".getBytes(StandardCharsets.UTF_8));
+            new LibraryIndex(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnitTest for LibraryScanner.
+ */
+public class LibraryScanner_JUnitTest {
+
+    private Path root;
+    private final List<Path> files = new ArrayList<>();
+
+    /**
+     * Create a small library.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.root = Files.createTempDirectory("library");
+        final var season = Files.createDirectories(this.root.resolve("Breaking Bad").resolve("Season 1"));
+        for (int i = 1; i <= 3; i++) {
+            this.files.add(Files.createFile(season.resolve("Breaking.Bad.S01E0" + i + ".720p.mkv")));
+        }
+        this.files.add(Files.createFile(season.resolve("Breaking.Bad.S01E01.720p.srt")));
+        final var movies = Files.createDirectories(this.root.resolve("Movies"));
+        this.files.add(Files.createFile(movies.resolve("Alpha.Dog.2006.Multi.720p.BluRay.x264.mkv")));
+        this.files.sort(Comparator.naturalOrder());
+    }
+
+    /**
+     * Delete the library.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (var paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Every file is scanned once, with the same result as a single scan.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestScanTree() throws Exception {
+        final var results = new LibraryScanner(ScannerEngine.getDefault()).scan(this.root);
+
+        assertEquals(this.files.size(), results.size());
+        for (int i = 0; i < this.files.size(); i++) {
+            final var file = this.files.get(i);
+            final var result = results.get(i);
+            assertEquals(file, result.getPath());
+            assertEquals(ScannerEngine.getDefault().scan(file.toFile()).toString(), result.toString());
+        }
+    }
+
+    /**
+     * Only the files accepted by the filter are scanned.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestFileFilter() throws Exception {
+        final var count = new AtomicInteger();
+        new LibraryScanner(ScannerEngine.getDefault(), path -> path.toString().endsWith(".mkv")).scan(this.root, result -> count.incrementAndGet());
+
+        assertEquals(4, count.get());
+    }
+
+    /**
+     * The root must be a directory.
+     *
+     * @throws Exception
+     */
+    @Test(expected = java.nio.file.NotDirectoryException.class)
+    public void TestRootNotDirectory() throws Exception {
+        new LibraryScanner(ScannerEngine.getDefault()).scan(this.files.get(0));
+    }
+
+    /**
+     * A flat root with more pending directories than the parties of a Phaser (65535) is scanned completely.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestManyDirectories() throws Exception {
+        final var directoryCount = 67000;
+        final var flat = Files.createTempDirectory("flat");
+        try {
+            for (int i = 0; i < directoryCount; i++) {
+                final var directory = Files.createDirectory(flat.resolve("d" + i));
+                if (i % 10 == 0) {
+                    Files.createFile(directory.resolve("Movie." + i + ".mkv"));
+                }
+            }
+            // The threads scanning the directories wait in the filter until the root has been listed, so that almost all its directories are pending at the same time
+            final var release = new CountDownLatch(1);
+            final var waiting = new AtomicInteger();
+            final var scanner = new LibraryScanner(ScannerEngine.getDefault(), path -> {
+                waiting.incrementAndGet();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            });
+            final var count = new AtomicInteger();
+            final var failure = new AtomicReference<Exception>();
+            final var thread = new Thread(() -> {
+                try {
+                    scanner.scan(flat, result -> count.incrementAndGet());
+                } catch (final Exception e) {
+                    failure.set(e);
+                }
+            });
+            thread.start();
+            while (waiting.get() == 0) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(2000);
+            release.countDown();
+            thread.join();
+
+            assertNull(failure.get());
+            assertEquals(directoryCount / 10, count.get());
+        } finally {
+            try (var paths = Files.walk(flat)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.constants.ChangeType;
+
+/**
+ * JUnitTest for LibraryWatcher.
+ */
+public class LibraryWatcher_JUnitTest {
+
+    private static final int EPISODES = 20;
+
+    private Path root;
+    private Path season;
+    private final BlockingQueue<ScanChange> changes = new LinkedBlockingQueue<>();
+    private LibraryWatcher watcher;
+
+    /**
+     * Create a season directory and start watching it.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.root = Files.createTempDirectory("watch");
+        this.season = Files.createDirectories(this.root.resolve("Foo").resolve("Season 1"));
+        for (int i = 1; i <= EPISODES; i++) {
+            Files.createFile(this.season.resolve(String.format("Foo.S01E%02d.mkv", Integer.valueOf(i))));
+        }
+        this.watcher = new LibraryWatcher(ScannerEngine.getDefault(), this.root, path -> true, Duration.ofMillis(100), this.changes::add);
+        this.watcher.start();
+    }
+
+    /**
+     * Stop watching and delete the tree.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        this.watcher.close();
+        try (var paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * All files are added when the watch starts.
+     */
+    @Test
+    public void TestStart() {
+        assertEquals(EPISODES, this.changes.size());
+        for (final ScanChange change : this.changes) {
+            assertEquals(ChangeType.ADDED, change.getType());
+            assertEquals(change.getPath(), change.getResult().getPath());
+        }
+        assertEquals(EPISODES, this.watcher.getScanCount());
+    }
+
+    /**
+     * A new or deleted file does not scan the whole tree again.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestSingleFileChange() throws Exception {
+        this.changes.clear();
+        final var file = Files.createFile(this.season.resolve("Foo.S01E21.mkv"));
+
+        final var added = this.changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(added);
+        assertEquals(ChangeType.ADDED, added.getType());
+        assertEquals(file, added.getPath());
+        assertEquals(1, added.getResult().getSeason());
+        assertEquals(21, added.getResult().getEpisode());
+        assertEquals(EPISODES + 1, this.watcher.getScanCount());
+
+        Files.delete(file);
+        final var removed = this.changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(removed);
+        assertEquals(ChangeType.REMOVED, removed.getType());
+        assertEquals(file, removed.getPath());
+        assertEquals(EPISODES + 1, this.watcher.getScanCount());
+        assertNull(this.changes.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * A renamed directory removes its files and adds them again.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestRenamedDirectory() throws Exception {
+        this.changes.clear();
+        Files.move(this.root.resolve("Foo"), this.root.resolve("Bar"));
+
+        var removed = 0;
+        var added = 0;
+        while (removed + added < 2 * EPISODES) {
+            final var change = this.changes.poll(10, TimeUnit.SECONDS);
+            assertNotNull(change);
+            if (change.getType() == ChangeType.REMOVED) {
+                removed++;
+            } else {
+                assertEquals(ChangeType.ADDED, change.getType());
+                assertEquals("bar", change.getResult().getTVShowName());
+                added++;
+            }
+        }
+        assertEquals(EPISODES, removed);
+        assertEquals(EPISODES, added);
+    }
+}
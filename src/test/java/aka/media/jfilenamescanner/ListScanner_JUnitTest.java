@@ -0,0 +1,178 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.constants.Delimiter;
+
+/**
+ * JUnitTest for ListScanner.
+ */
+public class ListScanner_JUnitTest {
+
+    private Path list;
+
+    /**
+     * Create the list file.
+     *
+     * @throws IOException
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.list = Files.createTempFile("list", ".txt");
+    }
+
+    /**
+     * Delete the list file.
+     *
+     * @throws IOException
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.list);
+    }
+
+    /**
+     * Each line is scanned once with the result of the engine, whatever the windows and chunks it is split in.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestNewLine() throws Exception {
+        final var names = new ArrayList<String>();
+        for (int i = 0; i < 500; i++) {
+            names.add("/media/Show " + i % 7 + "/Saison " + i % 5 + "/Show.S0" + i % 5 + "E" + i % 90 + ".Amélie.mkv");
+            names.add("Movie " + i + " (" + (1950 + i % 60) + ").avi");
+        }
+        final var content = new StringBuilder();
+        for (int i = 0; i < names.size(); i++) {
+            // CRLF and blank lines are accepted, the last name has no line feed
+            content.append(names.get(i)).append(i % 3 == 0 ? "\r\n" : "\n").append(i % 10 == 0 ? "\n" : "");
+        }
+        content.setLength(content.length() - 1);
+        Files.write(this.list, content.toString().getBytes(StandardCharsets.UTF_8));
+
+        final var engine = ScannerEngine.getDefault();
+        final var expected = toLines(engine, names);
+        final int[][] sizes = { { 64, 16 }, { 200, 1 }, { 1 << 20, 512 }, { 1 << 20, 1 << 20 } };
+        for (final int[] size : sizes) {
+            final var results = new ConcurrentLinkedQueue<ScanResult>();
+            try (var scanner = new ListScanner(engine, 3, size[0], size[1])) {
+                final var stats = scanner.scan(this.list, results::add);
+                assertEquals(names.size(), stats.getRecordCount());
+                assertEquals(names.size() / 10, stats.getSkippedCount());
+                assertEquals(Files.size(this.list), stats.getByteCount());
+            }
+            assertEquals(expected, toLines(results));
+        }
+    }
+
+    /**
+     * NUL delimited names may contain line feeds, the delimiter is found without being given.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestNul() throws Exception {
+        final var names = List.of("Show.S01E02.mkv", "Movie\nwith line feed (2001).avi", "Amélie.2001.mkv");
+        Files.write(this.list, (String.join("\0", names) + "\0").getBytes(StandardCharsets.UTF_8));
+
+        final var engine = ScannerEngine.getDefault();
+        try (var scanner = new ListScanner(engine, 2, 40, 4)) {
+            var results = new ConcurrentLinkedQueue<ScanResult>();
+            assertEquals(3, scanner.scan(this.list, results::add).getRecordCount());
+            assertEquals(toLines(engine, names), toLines(results));
+
+            results = new ConcurrentLinkedQueue<>();
+            assertEquals(3, scanner.scan(this.list, Delimiter.NUL, results::add).getRecordCount());
+            assertEquals(toLines(engine, names), toLines(results));
+        }
+    }
+
+    /**
+     * Records are paths: the folders give the TV show name and the year of a movie.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestPaths() throws Exception {
+        Files.write(this.list, "/media/movies/Alien (1979)/Alien.1979.1080p.mkv\n./Shows/Breaking Bad/Season 1/Breaking.Bad.S01E02.mkv\n".getBytes(StandardCharsets.UTF_8));
+        try (var scanner = new ListScanner(ScannerEngine.getDefault(), 2)) {
+            final var results = new ConcurrentLinkedQueue<ScanResult>();
+            assertEquals(2, scanner.scan(this.list, results::add).getRecordCount());
+            for (final ScanResult result : results) {
+                if (result.getName().startsWith("Alien")) {
+                    assertEquals("Alien.1979.1080p.mkv", result.getName());
+                    assertEquals("alien", result.getMovieName());
+                    assertEquals("1979", result.getMovieYear());
+                    assertNull(result.getTVShowName());
+                } else {
+                    assertEquals("Breaking.Bad.S01E02.mkv", result.getName());
+                    assertEquals("breaking bad", result.getTVShowName());
+                    assertEquals(1, result.getSeason());
+                    assertEquals(2, result.getEpisode());
+                }
+            }
+        }
+    }
+
+    /**
+     * A record longer than a window is rejected.
+     *
+     * @throws Exception
+     */
+    @Test(expected = IOException.class)
+    public void TestRecordTooLong() throws Exception {
+        Files.write(this.list, "Short.S01E02.mkv\nA.very.long.name.S01E02.mkv\nEnd.S01E03.mkv\n".getBytes(StandardCharsets.UTF_8));
+        try (var scanner = new ListScanner(ScannerEngine.getDefault(), 1, 20, 8)) {
+            scanner.scan(this.list, result -> {
+                // ignored
+            });
+        }
+    }
+
+    /**
+     * A failure of the sink stops the scan and is thrown.
+     *
+     * @throws Exception
+     */
+    @Test(expected = IllegalStateException.class)
+    public void TestSinkFailure() throws Exception {
+        Files.write(this.list, "Show.S01E02.mkv\nShow.S01E03.mkv\n".getBytes(StandardCharsets.UTF_8));
+        try (var scanner = new ListScanner(ScannerEngine.getDefault(), 2)) {
+            scanner.scan(this.list, result -> {
+                throw new IllegalStateException("sink");
+            });
+        }
+    }
+
+    private static List<String> toLines(final ScannerEngine engine, final List<String> names) throws Exception {
+        final var results = new ArrayList<ScanResult>();
+        for (final String name : names) {
+            results.add(engine.scanPath(name));
+        }
+        return toLines(results);
+    }
+
+    private static List<String> toLines(final Iterable<ScanResult> results) {
+        final var lines = new ArrayList<String>();
+        for (final ScanResult result : results) {
+            lines.add(result.getName() + '|' + result.getMovieName() + '|' + result.getMovieYear() + '|' + result.getTVShowName() + '|' + result.getSeason() + '|' + result.getEpisode());
+        }
+        Collections.sort(lines);
+        return lines;
+    }
+}
@@ -0,0 +1,87 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.utils.NameFilter;
+
+/**
+ * JUnitTest for NameFilter.
+ */
+public class NameFilter_JUnitTest {
+
+    private static final String[] TITLE_WORDS = { "love", "ep", "13", "alien", "the", "dark", "knight", "322", "2007", "pop", "rip", "by", "sub", "true", "(1941)", "s01e02",
+            "1x05", "vo", "vf", "ts", "tc", "pal", "cam", "md" };
+    private static final String[] SEPARATORS = { ".", " ", "_", "-", " - ", "." };
+
+    /**
+     * Filter of the previous versions: one <code>replaceAll</code> per expression, in the order of the list.
+     */
+    @NonNull
+    private static String filterSequentially(@NonNull final String mediaName, @NonNull final List<@NonNull String> regexs) {
+        var res = mediaName.replaceAll("\\.", " ");
+        res = res.replaceAll("_", " ");
+        for (final String regex : regexs) {
+            res = res.replaceAll("(?i)" + regex, "");
+        }
+        return res;
+    }
+
+    /**
+     * Overlapping filters are applied in the order of the list.
+     */
+    @Test
+    public void TestOverlap() {
+        final var filter = new NameFilter(ScannerEngine.DEFAULT_NAME_FILTERS);
+        for (final String name : new String[] { "Love Ep 13 HDDVDRIP BLUBYTE.mkv", "French (1941).HDDVDRIP.SUBHD.mp4", "Movie.DivX511.avi", "Film SUBFRENCH 2007 Pop",
+                "Alien n° 322 (1979)", "proper repack proper", "Title vo vf ts tc pal" }) {
+            assertEquals(name, filterSequentially(name, ScannerEngine.DEFAULT_NAME_FILTERS), filter.filter(name));
+        }
+        assertEquals("Love Ep 13mkv", filter.filter("Love Ep 13 HDDVDRIP BLUBYTE.mkv"));
+    }
+
+    /**
+     * The filter gives the results of the sequential loop on a generated corpus mixing titles and filtered words.
+     */
+    @Test
+    public void TestDifferential() {
+        final var regexs = ScannerEngine.DEFAULT_NAME_FILTERS;
+        final var words = new ArrayList<String>();
+        for (final String regex : regexs) {
+            // Literal expressions, and the regular ones with a sample of what they match
+            words.add(regex.replace("\\s+", " ").replace("$", "").replace("(", "").replace(")", "").replace("[0-9]", "3"));
+        }
+        final var filter = new NameFilter(regexs);
+        final var random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            final var sb = new StringBuilder();
+            final var count = 2 + random.nextInt(8);
+            for (int j = 0; j < count; j++) {
+                if (j > 0) {
+                    sb.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+                }
+                var word = random.nextInt(3) == 0 ? words.get(random.nextInt(words.size())) : TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+                if (random.nextBoolean()) {
+                    word = word.toUpperCase(Locale.ROOT);
+                }
+                sb.append(word);
+                if (random.nextInt(10) == 0) {
+                    // glued words such as "HDDVDRIP" or "SUBFRENCH"
+                    sb.append(words.get(random.nextInt(words.size())));
+                }
+            }
+            if (random.nextBoolean()) {
+                sb.append(".mkv");
+            }
+            final var name = sb.toString();
+            assertEquals(name, filterSequentially(name, regexs), filter.filter(name));
+        }
+    }
+}
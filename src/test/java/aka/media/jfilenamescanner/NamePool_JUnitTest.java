@@ -0,0 +1,103 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.Test;
+
+/**
+ * JUnitTest for NamePool.
+ */
+public class NamePool_JUnitTest {
+
+    /**
+     * Equal names share the first instance, the statistics count the copies replaced.
+     */
+    @Test
+    public void TestIntern() {
+        final var pool = new NamePool();
+        final var first = new String("breaking bad");
+        final var second = new String("breaking bad");
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertSame(first, pool.intern(first));
+        assertNull(pool.intern((String) null));
+
+        final var stats = pool.getStats();
+        assertEquals(3, stats.getLookupCount());
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getEntryCount());
+        assertEquals(2.0 / 3, stats.getHitRate(), 1e-9);
+        // only the second instance has been replaced: header and 12 characters aligned on 16 bytes
+        assertEquals(56, stats.getSavedBytes());
+
+        pool.clear();
+        assertEquals(0, pool.getStats().getEntryCount());
+        assertSame(second, pool.intern(second));
+    }
+
+    /**
+     * A full pool returns the new names as is.
+     */
+    @Test
+    public void TestBounded() {
+        final var pool = new NamePool(1);
+        assertSame("a", pool.intern("a"));
+        final var b = new String("b");
+        assertSame(b, pool.intern(b));
+        assertNotSame(b, pool.intern(new String("b")));
+        assertSame("a", pool.intern(new String("a")));
+        assertEquals(1, pool.getStats().getEntryCount());
+    }
+
+    /**
+     * The results of a batch share their names, the results are unchanged.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestBatch() throws Exception {
+        final var names = new ArrayList<String>();
+        for (int i = 1; i <= 20; i++) {
+            names.add("Breaking.Bad.S01E" + (i < 10 ? "0" : "") + i + ".720p.mkv");
+        }
+        final var pool = new NamePool();
+        final List<ScanResult> results;
+        try (var scanner = new BatchScanner(ScannerEngine.getDefault(), 2)) {
+            results = scanner.scanAll(names, pool);
+        }
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(ScannerEngine.getDefault().scan(names.get(i)), results.get(i));
+            assertSame(results.get(0).getTVShowName(), results.get(i).getTVShowName());
+        }
+        final var stats = pool.getStats();
+        // the TV show name of each episode after the first one is a hit
+        assertTrue(stats.getHitCount() >= 19);
+        assertEquals(stats.getLookupCount() - stats.getHitCount(), stats.getEntryCount());
+        assertTrue(stats.getSavedBytes() > 0);
+
+        final var list = Files.createTempFile("names", ".txt");
+        try {
+            Files.write(list, String.join("\n", names).getBytes(StandardCharsets.UTF_8));
+            final var sink = new ConcurrentLinkedQueue<ScanResult>();
+            try (var scanner = new ListScanner(ScannerEngine.getDefault(), 2)) {
+                final var listStats = scanner.scan(list, sink::add).getNamePoolStats();
+                assertEquals(stats.getHitCount(), listStats.getHitCount());
+                assertEquals(stats.getSavedBytes(), listStats.getSavedBytes());
+            }
+            final var tvShowName = sink.peek().getTVShowName();
+            assertTrue(sink.stream().allMatch(result -> result.getTVShowName() == tvShowName));
+        } finally {
+            Files.delete(list);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.spi.ToolProvider;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.junit.Test;
+
+/**
+ * Check that no regular expression is compiled while parsing a name.
+ *
+ * The compiled classes are disassembled with javap and every call to a method compiling a regular expression is reported, except in the constants (compiled once
+ * when the enums are loaded) and in the NameFilter constructor (compiled once when the engine is built).
+ */
+public class PatternCompile_JUnitTest {
+
+    private static final List<@NonNull String> FORBIDDEN_METHODS = List.of(
+            "java/util/regex/Pattern.compile:",
+            "java/util/regex/Pattern.matches:",
+            "java/lang/String.replaceAll:",
+            "java/lang/String.replaceFirst:",
+            "java/lang/String.matches:",
+            "java/lang/String.split:");
+
+    private static final List<@NonNull String> ALLOWED_METHODS = List.of(
+            "aka.media.jfilenamescanner.utils.NameFilter.<init>");
+
+    /**
+     * No call to Pattern.compile, directly or through String methods, outside of the constants.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestNoPatternCompileOnParse() throws Exception {
+        final var classesDirectory = Paths.get(ScannerEngine.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final List<String> classFiles;
+        try (var paths = Files.walk(classesDirectory)) {
+            classFiles = paths.filter(p -> p.toString().endsWith(".class"))
+                    .filter(p -> !p.getParent().endsWith(Paths.get("jfilenamescanner", "constants")))
+                    .map(Path::toString)
+                    .collect(Collectors.toList());
+        }
+
+        final var javap = ToolProvider.findFirst("javap").orElseThrow();
+        final var output = new StringWriter();
+        final var args = new ArrayList<String>();
+        args.add("-c");
+        args.add("-p");
+        args.addAll(classFiles);
+        try (var writer = new PrintWriter(output)) {
+            javap.run(writer, writer, args.toArray(new String[args.size()]));
+        }
+
+        final var violations = new ArrayList<String>();
+        String currentClass = "";
+        String currentMethod = "";
+        for (final String line : output.toString().split("\\R")) {
+            if (!line.startsWith(" ") && line.endsWith("{") && !line.startsWith("Compiled from")) {
+                final var words = line.substring(0, line.length() - 1).trim().split(" ");
+                currentClass = words[words.length - 1];
+                final var index = currentClass.indexOf('<');
+                if (index > 0) {
+                    currentClass = currentClass.substring(0, index);
+                }
+            } else if (line.startsWith("  ") && !line.startsWith("   ") && line.endsWith(";")) {
+                currentMethod = getMethodName(currentClass, line);
+            } else if (line.contains("// Method") || line.contains("// InterfaceMethod")) {
+                for (final String forbidden : FORBIDDEN_METHODS) {
+                    if (line.contains(forbidden) && !ALLOWED_METHODS.contains(currentClass + "." + currentMethod)) {
+                        violations.add(currentClass + "." + currentMethod + " calls " + forbidden.substring(0, forbidden.length() - 1));
+                    }
+                }
+            }
+        }
+
+        assertTrue("Regular expressions compiled while parsing:\n" + String.join("\n", violations), violations.isEmpty());
+    }
+
+    @NonNull
+    private static String getMethodName(@NonNull final String currentClass, @NonNull final String line) {
+        final var declaration = line.trim();
+        if (declaration.startsWith("static {}")) {
+            return "<clinit>";
+        }
+        final var index = declaration.indexOf('(');
+        if (index < 0) {
+            return declaration;
+        }
+        final var words = declaration.substring(0, index).split(" ");
+        final var name = words[words.length - 1];
+        return name.equals(currentClass) ? "<init>" : name;
+    }
+}
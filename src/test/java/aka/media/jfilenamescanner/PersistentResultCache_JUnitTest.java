@@ -0,0 +1,178 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * JUnitTest for PersistentResultCache.
+ */
+public class PersistentResultCache_JUnitTest {
+
+    private Path root;
+    private Path library;
+    private Path cacheFile;
+
+    /**
+     * Create a small library.
+     *
+     * @throws Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        this.root = Files.createTempDirectory("cache");
+        this.library = Files.createDirectories(this.root.resolve("library").resolve("Foo").resolve("Season 1"));
+        for (int i = 1; i <= 5; i++) {
+            Files.createFile(this.library.resolve("Foo.S01E0" + i + ".mkv"));
+        }
+        this.cacheFile = this.root.resolve("results.cache");
+    }
+
+    /**
+     * Delete the library and the cache.
+     *
+     * @throws Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        try (var paths = Files.walk(this.root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * A file larger than the mapped windows is read window by window, the records crossing the end of a window included.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestWindows() throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        final var files = new ArrayList<Path>();
+        for (int i = 0; i < 200; i++) {
+            files.add(Files.createFile(this.library.resolve("Foo.S01E" + (10 + i) + ".mkv")));
+        }
+        try (var cache = new PersistentResultCache(this.cacheFile, engine)) {
+            for (final Path file : files) {
+                cache.scan(file);
+            }
+        }
+        for (final int windowSize : new int[] { 100, 257, 4096 }) {
+            try (var cache = new PersistentResultCache(this.cacheFile, engine, windowSize)) {
+                assertEquals(200, cache.size());
+                for (final Path file : files) {
+                    final var lastModified = Files.getLastModifiedTime(file).toMillis();
+                    assertEquals(engine.scan(file.toFile()), cache.get(file, 0, lastModified, Files.getLastModifiedTime(this.library).toMillis()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Results stored by a scan are found after a restart.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestWarmRestart() throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        final List<ScanResult> cold;
+        try (var cache = new PersistentResultCache(this.cacheFile, engine)) {
+            cold = new LibraryScanner(engine, path -> true, cache).scan(this.root.resolve("library"));
+            assertEquals(5, cache.size());
+        }
+
+        try (var cache = new PersistentResultCache(this.cacheFile, engine)) {
+            assertEquals(5, cache.size());
+            final var file = this.library.resolve("Foo.S01E01.mkv");
+            assertNotNull(cache.get(file, 0, Files.getLastModifiedTime(file).toMillis(), Files.getLastModifiedTime(this.library).toMillis()));
+            assertEquals(cold, new LibraryScanner(engine, path -> true, cache).scan(this.root.resolve("library")));
+            assertEquals(engine.scan(file.toFile()), cache.scan(file));
+        }
+    }
+
+    /**
+     * A modified file or directory is not found in the cache.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestModifiedFile() throws Exception {
+        final var file = this.library.resolve("Foo.S01E01.mkv");
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            cache.scan(file);
+            final var lastModified = Files.getLastModifiedTime(file).toMillis();
+            final var directoryLastModified = Files.getLastModifiedTime(this.library).toMillis();
+            assertNotNull(cache.get(file, 0, lastModified, directoryLastModified));
+            assertNull(cache.get(file, 1, lastModified, directoryLastModified));
+            assertNull(cache.get(file, 0, lastModified + 1, directoryLastModified));
+            assertNull(cache.get(file, 0, lastModified, directoryLastModified + 1));
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified + 2000));
+            assertNull(cache.get(file, 0, Files.getLastModifiedTime(file).toMillis(), directoryLastModified));
+        }
+    }
+
+    /**
+     * An engine with another configuration does not use the results.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestOtherEngine() throws Exception {
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            cache.scan(this.library.resolve("Foo.S01E01.mkv"));
+        }
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.builder().addNameFilters("foo").build())) {
+            assertEquals(0, cache.size());
+        }
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            assertEquals(0, cache.size());
+        }
+    }
+
+    /**
+     * An interrupted write only loses the last record.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestTornWrite() throws Exception {
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            cache.scan(this.library.resolve("Foo.S01E01.mkv"));
+            cache.scan(this.library.resolve("Foo.S01E02.mkv"));
+        }
+        final var size = Files.size(this.cacheFile);
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            cache.scan(this.library.resolve("Foo.S01E03.mkv"));
+        }
+        // Cut the last record in the middle
+        final var length = Files.size(this.cacheFile);
+        try (var channel = FileChannel.open(this.cacheFile, StandardOpenOption.WRITE)) {
+            channel.truncate(size + (length - size) / 2);
+        }
+
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            assertEquals(2, cache.size());
+            cache.scan(this.library.resolve("Foo.S01E04.mkv"));
+        }
+        // The record of the fourth episode replaced the one of the third, they have the same length
+        assertEquals(length, Files.size(this.cacheFile));
+        try (var cache = new PersistentResultCache(this.cacheFile, ScannerEngine.getDefault())) {
+            assertEquals(3, cache.size());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+/**
+ * JUnitTest for ScanCache.
+ */
+public class ScanCache_JUnitTest {
+
+    /**
+     * A cached name is not scanned again.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestHitAndMiss() throws Exception {
+        final var cache = ScanCache.builder(ScannerEngine.getDefault()).build();
+        final var name = "Breaking.Bad.S01E02.720p.mkv";
+
+        assertNull(cache.getIfPresent(name));
+        final var result = cache.scan(name);
+        assertEquals(ScannerEngine.getDefault().scan(name), result);
+        assertSame(result, cache.scan(name));
+
+        final var stats = cache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(1, stats.getEntryCount());
+        assertTrue(stats.getEstimatedBytes() > 0);
+        assertEquals(1.0 / 3, stats.getHitRate(), 0.0001);
+
+        cache.invalidateAll();
+        assertEquals(0, cache.getStats().getEntryCount());
+        assertEquals(0, cache.getStats().getEstimatedBytes());
+    }
+
+    /**
+     * The least recently used entries are evicted.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestEviction() throws Exception {
+        final var cache = ScanCache.builder(ScannerEngine.getDefault()).maximumEntries(64).build();
+        for (int i = 0; i < 1000; i++) {
+            cache.scan("Show.S01E" + i + ".mkv");
+        }
+
+        final var stats = cache.getStats();
+        assertTrue(stats.getEntryCount() <= 64);
+        assertEquals(1000, stats.getEntryCount() + stats.getEvictionCount());
+        assertNotNull(cache.getIfPresent("Show.S01E999.mkv"));
+        assertNull(cache.getIfPresent("Show.S01E0.mkv"));
+    }
+
+    /**
+     * The cache can be bounded by memory.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestMaximumBytes() throws Exception {
+        final var cache = ScanCache.builder(ScannerEngine.getDefault()).maximumBytes(64 * 1024).build();
+        for (int i = 0; i < 2000; i++) {
+            cache.scan("Some.Long.Movie.Name." + i + ".1080p.BluRay.x264.mkv");
+        }
+
+        final var stats = cache.getStats();
+        assertTrue(stats.getEstimatedBytes() <= 64 * 1024);
+        assertTrue(stats.getEvictionCount() > 0);
+    }
+
+    /**
+     * The cache can be used by several threads.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestConcurrentAccess() throws Exception {
+        final var cache = ScanCache.builder(ScannerEngine.getDefault()).maximumEntries(100).build();
+        final var executor = Executors.newFixedThreadPool(4);
+        try {
+            final var tasks = new ArrayList<Callable<Void>>();
+            for (int t = 0; t < 4; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        final var name = "Show.S01E" + i % 150 + ".mkv";
+                        assertEquals(i % 150, cache.scan(name).getEpisode());
+                    }
+                    return null;
+                });
+            }
+            for (final var future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final var stats = cache.getStats();
+        assertEquals(2000, stats.getHitCount() + stats.getMissCount());
+        assertTrue(stats.getEntryCount() <= 100 + 16);
+    }
+
+    /**
+     * A small cache holds its maximum and no more, and keeps the last entry.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestSmallCache() throws Exception {
+        for (int maximum = 1; maximum <= 20; maximum++) {
+            final var cache = ScanCache.builder(ScannerEngine.getDefault()).maximumEntries(maximum).build();
+            for (int i = 0; i < 100; i++) {
+                cache.scan("Show.S01E" + i + ".mkv");
+                assertNotNull(cache.getIfPresent("Show.S01E" + i + ".mkv"));
+            }
+            assertTrue(cache.getStats().getEntryCount() <= maximum);
+        }
+        for (final long maximum : new long[] { 800, 1000, 3199, 3200, 12800 }) {
+            final var cache = ScanCache.builder(ScannerEngine.getDefault()).maximumBytes(maximum).build();
+            for (int i = 0; i < 100; i++) {
+                cache.scan("Show.S01E" + i + ".mkv");
+                assertNotNull(cache.getIfPresent("Show.S01E" + i + ".mkv"));
+            }
+            final var stats = cache.getStats();
+            assertTrue(stats.getEntryCount() > 0);
+            assertTrue(stats.getEstimatedBytes() <= maximum);
+        }
+    }
+
+    /**
+     * A memory bound too small for a few entries is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TestInvalidBytes() {
+        ScanCache.builder(ScannerEngine.getDefault()).maximumBytes(799).build();
+    }
+
+    /**
+     * The size of the cache must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TestInvalidSize() {
+        ScanCache.builder(ScannerEngine.getDefault()).maximumEntries(0).build();
+    }
+}
@@ -0,0 +1,167 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.constants.MovieMatcherType;
+import aka.media.jfilenamescanner.constants.Priority;
+import aka.media.jfilenamescanner.helpers.ScanContext;
+
+/**
+ * JUnitTest for ScanMatcher.
+ */
+public class ScanMatcher_JUnitTest {
+
+    /**
+     * A cheap dictionary matcher with a high priority decides the TV show name, the built-in matchers do not run.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestShortCircuit() throws Exception {
+        final var dictionary = new DictionaryMatcher("dictionary", 5, Priority.HIGH, Map.of("breaking.bad", "Breaking Bad"));
+        final var engine = ScannerEngine.builder().tvShowMatcher(dictionary).metrics(true).build();
+        final var metrics = engine.getMetrics();
+        assertNotNull(metrics);
+
+        assertEquals("Breaking Bad", engine.scan("Breaking.Bad.S01E02.720p.mkv").getTVShowName());
+        final var episode = metrics.getMatcher("tvShow.EPISODE");
+        assertNotNull(episode);
+        assertEquals(0, episode.getInvocationCount());
+
+        // no match: the built-in matchers give the usual result
+        final var name = "Dexter.S08E01.mkv";
+        assertEquals(ScannerEngine.getDefault().scan(name), engine.scan(name));
+        assertEquals(1, metrics.getMatcher("tvShow.EPISODE").getInvocationCount());
+        assertEquals(2, dictionary.calls.size());
+    }
+
+    /**
+     * A registered matcher stopping the loop before the year matcher does not hide the year of the movie.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestYearShortCircuit() throws Exception {
+        final var calls = new ArrayList<String>();
+        final var dictionary = new DictionaryMatcher("dictionary", 5, Priority.HIGH, Map.of("alien", "Alien"), calls);
+        final var engine = ScannerEngine.builder().movieMatcher(dictionary).build();
+        final var result = engine.scan("Alien.1979.1080p.mkv");
+        assertEquals(List.of("dictionary"), calls);
+        assertEquals("Alien", result.getMovieName());
+        assertEquals("1979", result.getMovieYear());
+        assertEquals(ScannerEngine.getDefault().scan("Alien.1979.1080p.mkv").getMovieYear(), result.getMovieYear());
+        assertEquals("1979", engine.scan(new File("Movies" + File.separator + "Alien.1979.1080p.mkv")).getMovieYear());
+    }
+
+    /**
+     * Built-in and registered matchers run in order of cost, until a name reaches the confidence priority.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestCostOrder() throws Exception {
+        final var calls = new ArrayList<String>();
+        final var expensive = new DictionaryMatcher("expensive", 100, Priority.HIGH, Map.of(), calls);
+        final var cheap = new DictionaryMatcher("cheap", 1, Priority.LOW, Map.of(), calls);
+        final var medium = new DictionaryMatcher("medium", 15, Priority.MEDIUM, Map.of("dexter", "Dexter Morgan"), calls);
+        var engine = ScannerEngine.builder().movieMatcher(expensive).movieMatcher(medium).movieMatcher(cheap).build();
+        engine.scan("Dexter.S08E01.mkv");
+        assertEquals(List.of("cheap", "medium", "expensive"), calls);
+
+        calls.clear();
+        engine = ScannerEngine.builder().movieMatcher(expensive).movieMatcher(medium).movieMatcher(cheap).confidence(Priority.MEDIUM).build();
+        // the year matcher, cost 10, is the first to find a medium priority name
+        assertEquals(ScannerEngine.builder().movieMatchers(MovieMatcherType.YEAR).build().scan("Les.Tuches.2011.FRENCH.720p.mkv").getMovieName(),
+                engine.scan("Les.Tuches.2011.FRENCH.720p.mkv").getMovieName());
+        assertEquals(List.of("cheap"), calls);
+
+        calls.clear();
+        assertEquals("Dexter Morgan", engine.scan("Dexter.S08E01.mkv").getMovieName());
+        assertEquals(List.of("cheap", "medium"), calls);
+    }
+
+    /**
+     * Registered matchers change the fingerprint, the default engine keeps its results and fingerprint.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestDefault() throws Exception {
+        final var engine = ScannerEngine.builder().build();
+        assertEquals(ScannerEngine.getDefault().getFingerprint(), engine.getFingerprint());
+        assertEquals(Priority.HIGH, engine.getConfidence());
+        assertEquals(0, engine.getMovieScanMatchers().size() + engine.getTvShowScanMatchers().size());
+        final var file = new File("Breaking Bad" + File.separator + "Season 1" + File.separator + "Breaking.Bad.S01E02.720p.mkv");
+        assertEquals("breaking bad", engine.scan(file).getTVShowName());
+
+        assertNotEquals(engine.getFingerprint(), ScannerEngine.builder().confidence(Priority.LOW).build().getFingerprint());
+        assertNotEquals(engine.getFingerprint(), ScannerEngine.builder().tvShowMatcher(new DictionaryMatcher("dictionary", 5, Priority.HIGH, Map.of())).build().getFingerprint());
+    }
+
+    /**
+     * Matcher finding the names of a dictionary in the lower case file name.
+     */
+    private static final class DictionaryMatcher implements ScanMatcher {
+
+        @NonNull
+        private final String name;
+        private final int cost;
+        @NonNull
+        private final Priority priority;
+        @NonNull
+        private final Map<String, String> names;
+        @NonNull
+        private final List<String> calls;
+
+        DictionaryMatcher(@NonNull final String name, final int cost, @NonNull final Priority priority, @NonNull final Map<String, String> names) {
+            this(name, cost, priority, names, new ArrayList<>());
+        }
+
+        DictionaryMatcher(@NonNull final String name, final int cost, @NonNull final Priority priority, @NonNull final Map<String, String> names, @NonNull final List<String> calls) {
+            this.name = name;
+            this.cost = cost;
+            this.priority = priority;
+            this.names = names;
+            this.calls = calls;
+        }
+
+        @Override
+        public String getName() {
+            return this.name;
+        }
+
+        @Override
+        public int getCost() {
+            return this.cost;
+        }
+
+        @Override
+        public Priority getPriority() {
+            return this.priority;
+        }
+
+        @Override
+        @Nullable
+        public String match(@NonNull final String fileName, @Nullable final File file, @NonNull final ScanContext context) {
+            this.calls.add(this.name);
+            final var lowerCase = fileName.toLowerCase();
+            for (final Map.Entry<String, String> entry : this.names.entrySet()) {
+                if (lowerCase.startsWith(entry.getKey())) {
+                    return entry.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Test;
+
+/**
+ * JUnitTest for ScanMetrics.
+ */
+public class ScanMetrics_JUnitTest {
+
+    /**
+     * Metrics are disabled by default.
+     */
+    @Test
+    public void TestDisabled() {
+        assertNull(ScannerEngine.getDefault().getMetrics());
+        assertNull(ScannerEngine.builder().build().getMetrics());
+    }
+
+    /**
+     * Each matcher and pattern is counted, the results are unchanged.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestCounters() throws Exception {
+        final var engine = ScannerEngine.builder().metrics(true).build();
+        final var metrics = engine.getMetrics();
+        assertNotNull(metrics);
+
+        final var name = "Breaking.Bad.S01E02.720p.mkv";
+        assertEquals(ScannerEngine.getDefault().scan(name), engine.scan(name));
+        engine.scan("Les.Tuches.2011.FRENCH.720p.mkv");
+        engine.scan("nothing");
+
+        assertEquals(3, metrics.getScanCount());
+        assertTrue(metrics.getTotalScanNanos() > 0);
+        assertEquals(1, metrics.getEpisodeFallbackCount());
+
+        final var year = metrics.getMatcher("movie.YEAR");
+        assertNotNull(year);
+        assertEquals(3, year.getInvocationCount());
+        assertEquals(1, year.getFoundCount());
+        assertEquals(1, year.getSelectedCount());
+        assertEquals(3, sum(year.getLatencyHistogram()));
+        assertTrue(year.getLatencyPercentile(100) >= year.getMeanNanos());
+
+        final var episode = metrics.getMatcher("tvShow.EPISODE");
+        assertNotNull(episode);
+        assertEquals(3, episode.getInvocationCount());
+        assertEquals(2, episode.getFoundCount());
+
+        // Only run on the name with a "s" followed by a digit
+        final var pattern = metrics.getMatcher("episode.SxEPattern2");
+        assertNotNull(pattern);
+        assertEquals(1, pattern.getInvocationCount());
+        assertEquals(1, pattern.getFoundCount());
+        assertEquals(1.0, pattern.getHitRate(), 0.0);
+        engine.scan("Show.S01.Part.2.mkv");
+        assertEquals(2, metrics.getMatcher("episode.SxEPattern2").getInvocationCount());
+        assertEquals(1, metrics.getMatcher("episode.SxEPattern2").getFoundCount());
+
+        assertNull(metrics.getMatcher("unknown"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getScanCount());
+        assertEquals(0, metrics.getMatchers().stream().mapToLong(MatcherStats::getInvocationCount).sum());
+    }
+
+    /**
+     * Metrics are readable through JMX.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestJmx() throws Exception {
+        final var engine = ScannerEngine.builder().metrics(true).build();
+        final var metrics = engine.getMetrics();
+        assertNotNull(metrics);
+        final var objectName = metrics.register("ScanMetrics_JUnitTest");
+        try {
+            engine.scan("The.Wire.2x05.avi");
+            final var server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(Long.valueOf(1), server.getAttribute(objectName, "ScanCount"));
+            final var matchers = (CompositeData[]) server.getAttribute(objectName, "Matchers");
+            assertEquals(metrics.getMatchers().size(), matchers.length);
+            assertEquals("movie.YEAR", matchers[0].get("name"));
+            assertEquals(Long.valueOf(1), matchers[0].get("invocationCount"));
+        } finally {
+            metrics.unregister();
+        }
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(objectName));
+    }
+
+    private static long sum(final long[] values) {
+        var result = 0L;
+        for (final long value : values) {
+            result += value;
+        }
+        return result;
+    }
+}
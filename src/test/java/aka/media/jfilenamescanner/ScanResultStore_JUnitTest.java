@@ -0,0 +1,192 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * JUnitTest for ScanResultStore.
+ */
+public class ScanResultStore_JUnitTest {
+
+    private static final String[] SHOWS = { "Breaking Bad", "Dexter", "The Wire", "Fringe", "Lost" };
+
+    private static List<ScanResult> getResults(final int count) {
+        final var result = new ArrayList<ScanResult>();
+        for (int i = 0; i < count; i++) {
+            if (i % 4 == 3) {
+                final var name = "Movie " + i % 50 + " (" + (1950 + i % 70) + ").mkv";
+                result.add(new ScanResult(name, null, "Movie " + i % 50, String.valueOf(1950 + i % 70), null, -1, -1));
+            } else {
+                final var show = SHOWS[i % SHOWS.length];
+                final var season = 1 + i / 100 % 8;
+                final var episode = 1 + i % 24;
+                final var name = show.replace(' ', '.') + ".S0" + season + "E" + episode + ".720p.mkv";
+                result.add(new ScanResult(name, Paths.get("/library/tv/" + show + "/Season " + season + "/" + name), null, null, show, season, episode));
+            }
+        }
+        // name that is not the end of its path, unicode name
+        result.add(new ScanResult("Amélie (2001)", Paths.get("/library/movies/amelie.mkv"), "Amélie", "2001", null, -1, -1));
+        return result;
+    }
+
+    private static byte[] exportWithNameLength(final int length) throws IOException {
+        final var store = new ScanResultStore();
+        store.addAll(getResults(10));
+        final var output = new ByteArrayOutputStream();
+        store.write(output);
+        final var bytes = output.toByteArray();
+        // the length of the first name follows the header of 5 ints
+        ByteBuffer.wrap(bytes).putInt(5 * Integer.BYTES, length);
+        return bytes;
+    }
+
+    /**
+     * The results of the store are the added results, names are shared.
+     */
+    @Test
+    public void TestAdd() {
+        final var results = getResults(1000);
+        final var store = new ScanResultStore();
+        store.addAll(results);
+        assertEquals(results.size(), store.size());
+        var i = 0;
+        for (final ScanResult result : store) {
+            assertEquals(results.get(i), result);
+            assertEquals(results.get(i).getSeason(), store.getSeason(i));
+            i++;
+        }
+        assertEquals(results.size(), i);
+        assertEquals(SHOWS.length + 26, store.getDictionarySize());
+        assertSame(store.getTVShowName(0), store.getTVShowName(5));
+        assertEquals(-1, store.getYear(0));
+        assertEquals(1953, store.getYear(3));
+        assertNull(store.getPath(3));
+        assertEquals("Amélie (2001)", store.getName(results.size() - 1));
+        assertEquals(Paths.get("/library/movies/amelie.mkv"), store.getPath(results.size() - 1));
+
+        store.trimToSize();
+        assertEquals(results.get(42), store.get(42));
+    }
+
+    /**
+     * A year that is not a number can not be stored.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TestInvalidYear() {
+        new ScanResultStore().add(new ScanResult("name", null, "name", "19xx", null, -1, -1));
+    }
+
+    /**
+     * The results are sorted by TV show, season and episode, movies last in their order.
+     */
+    @Test
+    public void TestSort() {
+        final var results = getResults(1000);
+        final var store = new ScanResultStore();
+        store.addAll(results);
+        store.sortByEpisode();
+
+        final var expected = new ArrayList<>(results);
+        expected.sort(Comparator.comparing(ScanResult::getTVShowName, Comparator.nullsLast(Comparator.<String> naturalOrder())).thenComparingInt(ScanResult::getSeason)
+                .thenComparingInt(ScanResult::getEpisode));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), store.get(i));
+        }
+    }
+
+    /**
+     * An exported store is imported with the same results.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void TestExport() throws IOException {
+        final var results = getResults(50000);
+        final var store = new ScanResultStore();
+        store.addAll(results);
+        final var file = Files.createTempFile("results", ".jfnc");
+        try {
+            store.write(file);
+            final var imported = ScanResultStore.read(file);
+            assertEquals(store.size(), imported.size());
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(results.get(i), imported.get(i));
+            }
+        } finally {
+            Files.delete(file);
+        }
+
+        final var output = new ByteArrayOutputStream();
+        new ScanResultStore().write(output);
+        assertEquals(0, ScanResultStore.read(new ByteArrayInputStream(output.toByteArray())).size());
+    }
+
+    /**
+     * A truncated export can not be imported.
+     *
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public void TestTruncated() throws IOException {
+        final var store = new ScanResultStore();
+        store.addAll(getResults(10));
+        final var output = new ByteArrayOutputStream();
+        store.write(output);
+        final var bytes = output.toByteArray();
+        ScanResultStore.read(new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+    }
+
+    /**
+     * An export with a negative name length in its dictionary can not be imported.
+     *
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public void TestNegativeNameLength() throws IOException {
+        ScanResultStore.read(new ByteArrayInputStream(exportWithNameLength(-1)));
+    }
+
+    /**
+     * An export with a huge name length in its dictionary can not be imported, the name is not allocated.
+     *
+     * @throws IOException
+     */
+    @Test(expected = IOException.class)
+    public void TestHugeNameLength() throws IOException {
+        ScanResultStore.read(new ByteArrayInputStream(exportWithNameLength(Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Bytes per entry measured by JOL: a list of results with one object per result (result, strings and path) against the store.
+     */
+    @Test
+    public void TestFootprint() {
+        final var count = 20000;
+        final var results = new ArrayList<>(getResults(count));
+        results.trimToSize();
+        final var store = new ScanResultStore(results.size());
+        store.addAll(results);
+        store.trimToSize();
+
+        final var objectBytes = (double) GraphLayout.parseInstance(results).totalSize() / results.size();
+        final var storeBytes = (double) GraphLayout.parseInstance(store).totalSize() / store.size();
+        // the names of a store are shared, the ones of the results are not: at least 3 times smaller
+        assertTrue(String.format("ScanResultStore: %.1f bytes per entry, List<ScanResult>: %.1f bytes per entry", Double.valueOf(storeBytes), Double.valueOf(objectBytes)),
+                storeBytes * 3 < objectBytes);
+    }
+}
@@ -0,0 +1,142 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.constants.Regex;
+import aka.media.jfilenamescanner.constants.TVShowMatcherType;
+import aka.media.jfilenamescanner.utils.UsualWords;
+import aka.media.jfilenamescanner.utils.YearClock;
+
+/**
+ * JUnitTest for ScannerEngine.
+ */
+public class ScannerEngine_JUnitTest {
+
+    /**
+     * Engines with different configurations can be used side by side.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestSeveralEngines() throws Exception {
+        final var name = "Alpha.Dog.2006.Multi.720p.BluRay.x264";
+        final var defaultEngine = ScannerEngine.getDefault();
+        final var oldMoviesEngine = ScannerEngine.builder().maxYear(2000).build();
+
+        assertEquals("2006", defaultEngine.scan(name).getMovieYear());
+        assertNull(oldMoviesEngine.scan(name).getMovieYear());
+        assertEquals("2006", defaultEngine.scan(name).getMovieYear());
+    }
+
+    /**
+     * Custom name filters.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestCustomNameFilters() throws Exception {
+        final var name = "Some Movie keepme.mkv";
+        final var engine = ScannerEngine.builder().addNameFilters("keepme").build();
+
+        assertEquals("Some Movie keepme", ScannerEngine.getDefault().scan(name).getMovieName());
+        assertEquals("Some Movie", engine.scan(name).getMovieName());
+    }
+
+    /**
+     * The engines of the name filter lists are shared by equal lists.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestDefaultWithNameFilters() throws Exception {
+        assertSame(ScannerEngine.getDefault(), ScannerEngine.getDefault(ScannerEngine.DEFAULT_NAME_FILTERS));
+        final var nameFilters = new ArrayList<>(List.of("keepme", "x264"));
+        final var engine = ScannerEngine.getDefault(nameFilters);
+        assertSame(engine, ScannerEngine.getDefault(List.of("keepme", "x264")));
+        nameFilters.add("other");
+        assertEquals(List.of("keepme", "x264"), engine.getNameFilter().getRegexs());
+        assertNotSame(engine, ScannerEngine.getDefault(nameFilters));
+
+        final var name = "Some Movie keepme.x264.mkv";
+        assertEquals(ScannerEngine.builder().nameFilters(List.of("keepme", "x264")).build().scan(name), engine.scan(name));
+        assertEquals("Some Movie   mkv", UsualWords.getFilteredName(name, List.of("keepme", "x264")));
+    }
+
+    /**
+     * Scan result holds all values.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestScanResult() throws Exception {
+        final var name = "Breaking.Bad.S01E02.720p.mkv";
+        final var result = JFileNameScanner.scan(name);
+
+        assertEquals(name, result.getName());
+        assertEquals(JFileNameScanner.getMovieName(name), result.getMovieName());
+        assertEquals(JFileNameScanner.getMovieYear(name), result.getMovieYear());
+        assertEquals(JFileNameScanner.getTVShowName(name), result.getTVShowName());
+        assertEquals(1, result.getSeason());
+        assertEquals(2, result.getEpisode());
+    }
+
+    /**
+     * A file without parent folder is scanned as its name.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestFileWithoutParent() throws Exception {
+        final var engine = ScannerEngine.getDefault();
+        final var result = engine.scan(new File("Breaking.Bad.S01E02.720p.mkv"));
+        assertEquals(1, result.getSeason());
+        assertEquals(2, result.getEpisode());
+        assertEquals(engine.scan("Breaking.Bad.S01E02.720p.mkv").getMovieName(), result.getMovieName());
+    }
+
+    /**
+     * An unset maximal year is fingerprinted as unset, not as the current year.
+     */
+    @Test
+    public void TestFingerprintMaxYear() {
+        final var currentYear = YearClock.getCurrentYear();
+        assertEquals(currentYear, ScannerEngine.getDefault().getMaxYear());
+        assertNotEquals(ScannerEngine.getDefault().getFingerprint(), ScannerEngine.builder().maxYear(currentYear).build().getFingerprint());
+        assertEquals(ScannerEngine.builder().maxYear(2030).build().getFingerprint(), ScannerEngine.builder().maxYear(2030).build().getFingerprint());
+    }
+
+    /**
+     * The episode of the TV show name is searched from the code point before the first digit, with the match of a search from the beginning.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestEpisodeAfterSupplementaryCharacter() throws Exception {
+        final var engine = ScannerEngine.builder().tvShowMatchers(TVShowMatcherType.EPISODE).build();
+        for (final String name : new String[] { "Show\uD83D\uDE00123.mkv", "Show \uD83D\uDE00S01E02.mkv", "Show.S01E02.mkv", "Show.\uD83D\uDE00Part.205.mkv" }) {
+            final var matcher = Regex.TVSHOWNAMEBYEPISODE.getPattern().matcher(name);
+            assertTrue(name, matcher.find());
+            final var expected = UsualWords.standardize(engine.getNameFilter().filter(name.substring(0, name.indexOf(matcher.group(0)))));
+            assertEquals(name, expected, engine.scan(name).getTVShowName());
+        }
+    }
+
+    /**
+     * Invalid year bounds.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void TestInvalidYears() {
+        ScannerEngine.builder().minYear(2000).maxYear(1999).build();
+    }
+}
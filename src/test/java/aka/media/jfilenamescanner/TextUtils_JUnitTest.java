@@ -0,0 +1,25 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.utils.TextUtils;
+
+/**
+ * JUnitTest for TextUtils.
+ */
+public class TextUtils_JUnitTest {
+
+    /**
+     * The first digit is found as the regular expressions see them, the other Unicode digits are ignored.
+     */
+    @Test
+    public void TestIndexOfDigit() {
+        assertEquals(13, TextUtils.indexOfDigit("Dr. House - S01E02 [720p] (2004).mkv"));
+        assertEquals(0, TextUtils.indexOfDigit("24.S01E02.mkv"));
+        assertEquals(-1, TextUtils.indexOfDigit("The Matrix"));
+        assertEquals(-1, TextUtils.indexOfDigit("Show ١٢"));
+        assertEquals(-1, TextUtils.indexOfDigit(""));
+    }
+}
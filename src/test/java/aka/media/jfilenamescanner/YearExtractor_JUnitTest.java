@@ -0,0 +1,95 @@
+package aka.media.jfilenamescanner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Calendar;
+
+import org.junit.Test;
+
+import aka.media.jfilenamescanner.utils.YearClock;
+import aka.media.jfilenamescanner.utils.YearExtractor;
+
+/**
+ * JUnitTest for YearExtractor.
+ */
+public class YearExtractor_JUnitTest {
+
+    /**
+     * Every candidate is found with its position and context.
+     */
+    @Test
+    public void TestCandidates() {
+        var candidates = YearExtractor.findAll("1917 (2019).mkv");
+        assertEquals(2, candidates.size());
+        assertEquals(1917, candidates.get(0).getYear());
+        assertEquals(0, candidates.get(0).getStart());
+        assertTrue(candidates.get(0).isTitleNumber());
+        assertFalse(candidates.get(0).isBracketed());
+        assertFalse(candidates.get(0).isLast());
+        assertEquals(2019, candidates.get(1).getYear());
+        assertEquals(6, candidates.get(1).getStart());
+        assertEquals(10, candidates.get(1).getEnd());
+        assertTrue(candidates.get(1).isBracketed());
+        assertFalse(candidates.get(1).isTitleNumber());
+        assertTrue(candidates.get(1).isLast());
+
+        // a year alone is not a title number, even at the beginning of the name
+        candidates = YearExtractor.findAll("Movies/2012.mkv");
+        assertEquals(1, candidates.size());
+        assertFalse(candidates.get(0).isTitleNumber());
+        assertTrue(YearExtractor.findAll("Movies/2001.A.Space.Odyssey.1968.mkv").get(0).isTitleNumber());
+
+        // last four digits of a longer number, nothing at the end of the name
+        candidates = YearExtractor.findAll("Show.20190.x");
+        assertEquals(1, candidates.size());
+        assertEquals(190, candidates.get(0).getYear());
+        assertEquals(6, candidates.get(0).getStart());
+        assertTrue(YearExtractor.findAll("Title 1999").isEmpty());
+        assertTrue(YearExtractor.findAll("Title 199.mkv").isEmpty());
+    }
+
+    /**
+     * The bounds filter the candidates but not their context, the last valid candidate wins.
+     */
+    @Test
+    public void TestBounds() {
+        final var candidates = YearExtractor.find("Blade Runner 2049 (2017) 1080p.mkv", 1900, 2030);
+        assertEquals(1, candidates.size());
+        assertEquals(2017, candidates.get(0).getYear());
+        assertFalse(candidates.get(0).isLast());
+        assertEquals(2017, YearExtractor.findLast("Blade Runner 2049 (2017) 1080p.mkv", 1900, 2030).getYear());
+        assertNull(YearExtractor.findLast("Movie 3000.mkv", 1900, 2030));
+    }
+
+    /**
+     * The year matcher keeps its matches: the separator before the year is part of the match unless the previous match used it.
+     */
+    @Test
+    public void TestMatchBounds() {
+        var candidate = YearExtractor.findLast("Movie (1999).mkv", 0, 9999);
+        assertEquals(6, candidate.getMatchStart());
+        assertEquals(12, candidate.getMatchEnd());
+        candidate = YearExtractor.findLast("1999.2000.mkv", 0, 9999);
+        assertEquals(5, candidate.getMatchStart());
+        assertEquals(10, candidate.getMatchEnd());
+    }
+
+    /**
+     * The year only scan gives the year of the full scan.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void TestYearOnly() throws Exception {
+        final String[] names = { "Les.Tuches.2011.FRENCH.720p.mkv", "1917 (2019).mkv", "2001.A.Space.Odyssey.1968.mkv", "Blade Runner 2049 (2017).mkv", "Breaking.Bad.S01E02.mkv",
+                "Movie 3000.avi", "Folder 1999" + java.io.File.separator + "Movie.avi" };
+        for (final String name : names) {
+            assertEquals(name, ScannerEngine.getDefault().scan(name).getMovieYear(), JFileNameScanner.getMovieYear(name));
+        }
+        assertEquals(Calendar.getInstance().get(Calendar.YEAR), YearClock.getCurrentYear());
+        assertEquals(YearClock.getCurrentYear(), ScannerEngine.getDefault().getMaxYear());
+    }
+}